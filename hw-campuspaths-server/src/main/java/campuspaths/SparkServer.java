@@ -13,6 +13,8 @@ package campuspaths;
 
 import campuspaths.utils.CORSFilter;
 import com.google.gson.Gson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import pathfinder.CampusMap;
 import pathfinder.datastructures.Path;
 import pathfinder.datastructures.Point;
@@ -43,6 +45,9 @@ public class SparkServer {
 
         map = new CampusMap();
 
+        Logger logger = LoggerFactory.getLogger("CampusPaths Server");
+        logger.info("Campus graph loaded\n{}", map.graphStats());
+
         // Endpoint which returns a JSON representation of a mapping of short names
         // to long names of the buildings
         Spark.get("/buildings", new Route() {
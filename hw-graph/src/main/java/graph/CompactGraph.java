@@ -0,0 +1,548 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * CompactGraph is an immutable snapshot of a Graph in compressed sparse row form. Every node
+ * is assigned a dense int id from 0 to nodeCount() - 1, and every edge is assigned a dense int
+ * index from 0 to edgeCount() - 1 such that the outgoing edges of a node with id i are exactly
+ * the edges with indices from edgeStart(i) inclusive to edgeEnd(i) exclusive. Behavior of
+ * CompactGraph is unspecified when either node or edge label types are mutable.
+ *
+ * CompactGraph describes the same nodes and edges as the Graph it was made from, so it can be
+ * described by [[n1 - n1_a (L1_a), n1_b (L1_b), ...], [n2 - n2_a (L2_a), n2_b (L2_b), ...], ...]
+ * as well, but traversals are meant to run on ids and edge indices rather than on Edge objects.
+ *
+ * The outgoing edges of a node are in no particular order, unless the CompactGraph was made by
+ * sortedOf or Graph.freeze(Comparator), in which case they are in a canonical order kept in the
+ * edge indices themselves. Traversals that must visit edges in that order, such as a search that
+ * breaks ties by destination and label, can then walk edgeStart(i) to edgeEnd(i) without sorting.
+ *
+ * @param <N> the type of nodes
+ * @param <E> the type of edge labels
+ */
+public final class CompactGraph<N, E> implements Iterable<N> {
+    public static final boolean DEBUG = false;
+
+    private final NodeDictionary<N> nodeIds;
+    private final int[] offsets;
+    private final int[] targets;
+    private final Object[] labels;
+    private final Comparator<? super Graph.Edge<N, E>> edgeOrder;
+
+    // Abstraction Function:
+    // nodeIds maps nodes to ids and back, and n = nodeIds.size().
+    // The outgoing edges of the node with id i are, for each index k from
+    // offsets[i] to offsets[i+1]-1, node(i) - node(targets[k]) (labels[k]).
+    // If edgeOrder is not null, those edges are in the order edgeOrder gives
+    //
+    // Rep Invariant:
+    // nodeIds != null && offsets != null && targets != null && labels != null &&
+    // labels doesn't contain null labels &&
+    // offsets.length == n + 1 && offsets[0] == 0 &&
+    // offsets[n] == targets.length && offsets is non-decreasing &&
+    // targets.length == labels.length && 0 <= targets[k] < n for all k &&
+    // if edgeOrder != null, the edges of each node are non-decreasing by edgeOrder
+
+    /**
+     * Checks that the rep is maintained
+     */
+    private void checkRep() {
+        assert nodeIds != null;
+        assert offsets != null;
+        assert targets != null;
+        assert labels != null;
+
+        if (DEBUG) {
+            int n = nodeIds.size();
+
+            assert offsets.length == n + 1;
+            assert offsets[0] == 0;
+            assert offsets[n] == targets.length;
+            assert targets.length == labels.length;
+
+            for (int i = 0; i < n; i++) {
+                assert offsets[i] <= offsets[i + 1];
+            }
+
+            for (int k = 0; k < targets.length; k++) {
+                assert labels[k] != null;
+                assert 0 <= targets[k] && targets[k] < n;
+            }
+
+            if (edgeOrder != null) {
+                for (int i = 0; i < n; i++) {
+                    for (int k = offsets[i] + 1; k < offsets[i + 1]; k++) {
+                        assert edgeOrder.compare(edgeAt(i, k - 1), edgeAt(i, k)) <= 0;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param graph the graph to take a snapshot of
+     * @throws NullPointerException if graph == null
+     * @spec.effects Constructs a new CompactGraph with the same nodes and edges as graph
+     */
+    CompactGraph(Graph<N, E> graph) {
+        this(graph, null);
+    }
+
+    /**
+     * @param graph the graph to take a snapshot of
+     * @param edgeOrder the order to put the outgoing edges of each node in, or null to keep
+     * the order graph gives them in
+     * @throws NullPointerException if graph == null
+     * @spec.requires graph is not modified during the call
+     * @spec.effects Constructs a new CompactGraph with the same nodes and edges as graph
+     */
+    CompactGraph(GraphView<N, E> graph, Comparator<? super Graph.Edge<N, E>> edgeOrder) {
+        if (graph == null) {
+            throw new NullPointerException();
+        }
+
+        if (graph instanceof Graph) {
+            // Ids are shared with graph so that working arrays built for one can be used with the
+            // other. Only a Graph's dictionary holds exactly its nodes; other views, such as a
+            // FilteredGraph, may return one that also holds nodes they exclude
+            nodeIds = new NodeDictionary<>(graph.nodeIds());
+        } else {
+            nodeIds = new NodeDictionary<>(0);
+
+            // Inv: nodeIds contains all nodes of graph from 0 to i-1
+            for (N node : graph) {
+                nodeIds.add(node);
+            }
+        }
+
+        int n = nodeIds.size();
+        offsets = new int[n + 1];
+        List<Graph.Edge<N, E>> edgeList = new ArrayList<>();
+
+        // Inv: edgeList contains the outgoing edges of all nodes with ids from 0 to i-1 in
+        // order, and offsets[j+1] is the size of edgeList after adding the edges of node j
+        for (int i = 0; i < n; i++) {
+            int start = edgeList.size();
+            edgeList.addAll(graph.outgoingEdges(nodeIds.getNode(i)));
+
+            if (edgeOrder != null) {
+                edgeList.subList(start, edgeList.size()).sort(edgeOrder);
+            }
+
+            offsets[i + 1] = edgeList.size();
+        }
+
+        targets = new int[edgeList.size()];
+        labels = new Object[edgeList.size()];
+        this.edgeOrder = edgeOrder;
+
+        // Inv: targets and labels hold the dst id and label of all edges from 0 to k-1
+        for (int k = 0; k < edgeList.size(); k++) {
+            targets[k] = nodeIds.getId(edgeList.get(k).getDst());
+            labels[k] = edgeList.get(k).getLabel();
+        }
+
+        checkRep();
+    }
+
+    /**
+     * @param nodeIds the ids of the nodes
+     * @param offsets the outgoing edges of the node with id i are the edges from offsets[i]
+     * to offsets[i+1]-1
+     * @param targets the dst id of each edge
+     * @param labels the label of each edge
+     * @param edgeOrder the order the edges of each node are in, or null if they are in no
+     * particular order
+     * @spec.requires the arguments satisfy the rep invariant, and aren't used by the caller afterwards
+     * @spec.effects Constructs a new CompactGraph that takes ownership of the arguments
+     */
+    CompactGraph(NodeDictionary<N> nodeIds, int[] offsets, int[] targets, Object[] labels,
+                 Comparator<? super Graph.Edge<N, E>> edgeOrder) {
+        this.nodeIds = nodeIds;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.labels = labels;
+        this.edgeOrder = edgeOrder;
+        checkRep();
+    }
+
+    /**
+     * Sorts the edges of one node in the arrays of a snapshot
+     *
+     * @param nodeIds the ids of the nodes of the snapshot
+     * @param src the id of the node whose edges are sorted
+     * @param start the index of the first edge of src
+     * @param end the index one past the last edge of src
+     * @param targets the dst ids of the edges
+     * @param labels the labels of the edges
+     * @param edgeOrder the order to sort the edges in
+     * @spec.modifies targets, labels
+     * @spec.effects the edges from start to end-1 are ordered by edgeOrder
+     */
+    @SuppressWarnings("unchecked")
+    static <N, E> void sortEdges(NodeDictionary<N> nodeIds, int src, int start, int end,
+                                 int[] targets, Object[] labels,
+                                 Comparator<? super Graph.Edge<N, E>> edgeOrder) {
+        List<Graph.Edge<N, E>> edges = new ArrayList<>(end - start);
+        N node = nodeIds.getNode(src);
+
+        // Inv: edges contains the edges of src from start to k-1
+        for (int k = start; k < end; k++) {
+            edges.add(new Graph.Edge<>((E) labels[k], node, nodeIds.getNode(targets[k])));
+        }
+
+        edges.sort(edgeOrder);
+
+        // Inv: targets and labels hold the sorted edges from start to start+i-1
+        for (int i = 0; i < edges.size(); i++) {
+            targets[start + i] = nodeIds.getId(edges.get(i).getDst());
+            labels[start + i] = edges.get(i).getLabel();
+        }
+    }
+
+    /**
+     * Returns a snapshot of graph in which the outgoing edges of each node are sorted by edgeOrder
+     *
+     * @param graph the graph to take a snapshot of
+     * @param edgeOrder the order to put the outgoing edges of each node in
+     * @param <N> the type of nodes
+     * @param <E> the type of edge labels
+     * @return a CompactGraph with the same nodes and edges as graph, in which edgeStart(i) to
+     * edgeEnd(i) are the outgoing edges of the node with id i in the order edgeOrder gives.
+     * Later changes to graph are not reflected in the snapshot.
+     * @throws NullPointerException if graph == null || edgeOrder == null
+     * @spec.requires graph is not modified during the call
+     */
+    public static <N, E> CompactGraph<N, E> sortedOf(GraphView<N, E> graph,
+                                                     Comparator<? super Graph.Edge<N, E>> edgeOrder) {
+        if (edgeOrder == null) {
+            throw new NullPointerException();
+        }
+
+        return new CompactGraph<>(graph, edgeOrder);
+    }
+
+    /**
+     * Returns the number of nodes in this
+     *
+     * @return the number of nodes in this
+     */
+    public int nodeCount() {
+        return nodeIds.size();
+    }
+
+    /**
+     * Returns the dictionary of ids of the nodes in this
+     *
+     * @return the read-only ids of the nodes in this, which are the ids the nodes had
+     * in the Graph this was made from at the time it was frozen
+     */
+    public NodeDictionary<N> nodeIds() {
+        return nodeIds;
+    }
+
+    /**
+     * Returns the number of edges in this
+     *
+     * @return the number of edges in this
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the id of nodeData
+     *
+     * @param nodeData the node whose id is to be received
+     * @return the id of nodeData, or -1 if nodeData is not in this
+     * @throws NullPointerException if nodeData == null
+     */
+    public int getId(N nodeData) {
+        return nodeIds.getId(nodeData);
+    }
+
+    /**
+     * Returns the node with id
+     *
+     * @param id the id of the node to be received
+     * @return the node with id
+     * @throws IndexOutOfBoundsException if id &lt; 0 || id &gt;= nodeCount()
+     */
+    public N getNode(int id) {
+        checkId(id);
+
+        return nodeIds.getNode(id);
+    }
+
+    /**
+     * Returns whether nodeData is present in this
+     *
+     * @param nodeData the data of the node to check if present in this
+     * @return true if and only if nodeData is present in this
+     * @throws NullPointerException if nodeData == null
+     */
+    public boolean containsNode(N nodeData) {
+        return getId(nodeData) != -1;
+    }
+
+    /**
+     * Returns the index of the first outgoing edge of the node with id
+     *
+     * @param id the id of the node whose outgoing edges are to be traversed
+     * @return the index of the first outgoing edge of the node with id
+     * @throws IndexOutOfBoundsException if id &lt; 0 || id &gt;= nodeCount()
+     */
+    public int edgeStart(int id) {
+        checkId(id);
+
+        return offsets[id];
+    }
+
+    /**
+     * Returns the index one past the last outgoing edge of the node with id
+     *
+     * @param id the id of the node whose outgoing edges are to be traversed
+     * @return the index one past the last outgoing edge of the node with id
+     * @throws IndexOutOfBoundsException if id &lt; 0 || id &gt;= nodeCount()
+     */
+    public int edgeEnd(int id) {
+        checkId(id);
+
+        return offsets[id + 1];
+    }
+
+    /**
+     * Returns the number of outgoing edges of the node with id
+     *
+     * @param id the id of the node whose outgoing edges are to be counted
+     * @return edgeEnd(id) - edgeStart(id)
+     * @throws IndexOutOfBoundsException if id &lt; 0 || id &gt;= nodeCount()
+     */
+    public int outDegree(int id) {
+        checkId(id);
+
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * Returns the id of the destination node of the edge with index
+     *
+     * @param edge the index of the edge
+     * @return the id of dst where edge is src - dst (L)
+     * @throws IndexOutOfBoundsException if edge &lt; 0 || edge &gt;= edgeCount()
+     */
+    public int edgeTarget(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Returns the label of the edge with index
+     *
+     * @param edge the index of the edge
+     * @return L where edge is src - dst (L)
+     * @throws IndexOutOfBoundsException if edge &lt; 0 || edge &gt;= edgeCount()
+     */
+    @SuppressWarnings("unchecked")
+    public E edgeLabel(int edge) {
+        return (E) labels[edge];
+    }
+
+    /**
+     * Returns the order of the outgoing edges of each node
+     *
+     * @return the order the outgoing edges of each node are sorted in by edge index, or null
+     * if they are in no particular order
+     */
+    public Comparator<? super Graph.Edge<N, E>> edgeOrder() {
+        return edgeOrder;
+    }
+
+    /**
+     * Returns statistics of this, with an estimate of the bytes retained by each of its arrays
+     *
+     * @return the node, edge and label counts, degree histograms and estimated bytes of this
+     */
+    public GraphStats stats() {
+        checkRep();
+
+        Map<String, Long> bytes = new LinkedHashMap<>();
+        bytes.put("offsets", GraphStats.arrayBytes(offsets.length));
+        bytes.put("targets", GraphStats.arrayBytes(targets.length));
+        bytes.put("labels", GraphStats.arrayBytes(labels.length));
+        bytes.put("node ids", nodeIds.estimatedBytes());
+
+        return new GraphStats(this, bytes);
+    }
+
+    /**
+     * Returns a new cursor over the outgoing edges of this. A single cursor can be reset
+     * to each node of a traversal in turn, so traversals allocate nothing per node.
+     *
+     * @return a new cursor that is not positioned at any node
+     */
+    public EdgeCursor cursor() {
+        return new EdgeCursor();
+    }
+
+    /**
+     * Returns the outgoing edges of nodeData as Edge objects
+     *
+     * @param nodeData the node to which to find the edges pointing from
+     * @return all edges nodeData - ni (Li) where i is arbitrary, in edge index order
+     * @throws NullPointerException if nodeData == null
+     */
+    public List<Graph.Edge<N, E>> getOutgoingEdges(N nodeData) {
+        int id = getId(nodeData);
+
+        List<Graph.Edge<N, E>> edges = new ArrayList<>();
+
+        if (id != -1) {
+            // Inv: edges contains the outgoing edges of nodeData from offsets[id] to k-1
+            for (int k = offsets[id]; k < offsets[id + 1]; k++) {
+                edges.add(new Graph.Edge<>(edgeLabel(k), nodeData, getNode(targets[k])));
+            }
+        }
+
+        return edges;
+    }
+
+    /**
+     * Returns an iterator of the nodes contained in this
+     *
+     * @return an iterator of the nodes contained in this in id order
+     */
+    @Override
+    public Iterator<N> iterator() {
+        return new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < nodeIds.size();
+            }
+
+            @Override
+            public N next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return nodeIds.getNode(next++);
+            }
+        };
+    }
+
+    /**
+     * EdgeCursor is a reusable mutable position within the outgoing edges of one node of
+     * the enclosing CompactGraph. After reset(id), each call to next() that returns true
+     * moves the cursor to the next outgoing edge of the node with id, whose index, target id,
+     * and label can then be read without allocation.
+     */
+    public final class EdgeCursor {
+        private int edge;
+        private int end;
+
+        // Abstraction Function:
+        // The cursor is at the edge with index edge, and the edges still to be
+        // visited are those with indices from edge+1 to end-1
+        //
+        // Rep Invariant:
+        // -1 <= edge && edge <= end && end <= edgeCount()
+
+        /**
+         * @spec.effects Constructs a new EdgeCursor that is not positioned at any node
+         */
+        private EdgeCursor() {
+            edge = 0;
+            end = 0;
+        }
+
+        /**
+         * Positions this before the first outgoing edge of the node with id
+         *
+         * @param id the id of the node whose outgoing edges are to be visited
+         * @return this
+         * @throws IndexOutOfBoundsException if id &lt; 0 || id &gt;= nodeCount()
+         * @spec.modifies this
+         */
+        public EdgeCursor reset(int id) {
+            checkId(id);
+
+            edge = offsets[id] - 1;
+            end = offsets[id + 1];
+
+            return this;
+        }
+
+        /**
+         * Advances this to the next outgoing edge
+         *
+         * @return true if and only if there was another outgoing edge to move to
+         * @spec.modifies this
+         */
+        public boolean next() {
+            if (edge + 1 >= end) {
+                edge = end;
+                return false;
+            }
+
+            edge++;
+
+            return true;
+        }
+
+        /**
+         * Returns the index of the current edge
+         *
+         * @return the index of the edge this is at
+         * @spec.requires the last call to next() returned true
+         */
+        public int edge() {
+            return edge;
+        }
+
+        /**
+         * Returns the id of the destination of the current edge
+         *
+         * @return edgeTarget(edge())
+         * @spec.requires the last call to next() returned true
+         */
+        public int target() {
+            return targets[edge];
+        }
+
+        /**
+         * Returns the label of the current edge
+         *
+         * @return edgeLabel(edge())
+         * @spec.requires the last call to next() returned true
+         */
+        public E label() {
+            return edgeLabel(edge);
+        }
+    }
+
+    /**
+     * Returns the edge with index as an Edge object
+     *
+     * @param src the id of the source node of the edge
+     * @param edge the index of the edge
+     * @return node(src) - node(targets[edge]) (labels[edge])
+     */
+    private Graph.Edge<N, E> edgeAt(int src, int edge) {
+        return new Graph.Edge<>(edgeLabel(edge), nodeIds.getNode(src), nodeIds.getNode(targets[edge]));
+    }
+
+    /**
+     * Checks that id is the id of a node in this
+     *
+     * @param id the id to check
+     * @throws IndexOutOfBoundsException if id &lt; 0 || id &gt;= nodeCount()
+     */
+    private void checkId(int id) {
+        if (id < 0 || id >= nodeIds.size()) {
+            throw new IndexOutOfBoundsException("No node with id " + id);
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package graph;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * ConcurrentGraph is a thread-safe MutableGraph for read-mostly sharing between threads. It has
+ * the same abstract value and specifications as Graph, and in addition any number of threads can
+ * read and modify it at the same time.
+ *
+ * Reads never lock: the outgoing and incoming edges of each node are kept in an immutable set
+ * that writers replace with an updated copy, so a reader iterating over the edges of a node
+ * sees a consistent snapshot of that node's edges. Writes lock one of a fixed number of lock
+ * stripes for each node they change the edges of: a change to an edge src - dst holds the
+ * stripes of both src and dst while it updates the outgoing edges, the incoming edges and the
+ * label index, and removing or adding a node holds the stripe of that node, so the three
+ * structures always agree once a write completes. Writes to nodes in different stripes proceed
+ * in parallel. A reader running concurrently with addEdge may still observe the new edge among
+ * the outgoing edges of src before it observes it among the incoming edges of dst or the edges
+ * with its label. Iteration over the nodes and over the edges with a label is weakly
+ * consistent.
+ *
+ * @param <N> the type of nodes
+ * @param <E> the type of edge labels
+ */
+public class ConcurrentGraph<N, E> implements MutableGraph<N, E> {
+    public static final boolean DEBUG = false;
+
+    // The number of lock stripes, a power of two
+    private static final int STRIPES = 64;
+
+    private final ConcurrentMap<N, Set<Graph.Edge<N, E>>> graph;
+    private final ConcurrentMap<N, Set<Graph.Edge<N, E>>> reverseGraph;
+    private final ConcurrentMap<E, Set<Graph.Edge<N, E>>> labelIndex;
+    private final Object[] locks;
+
+    // Abstraction Function:
+    // graph maps each node to its outgoing edges, reverseGraph maps each
+    // node to its incoming edges, and labelIndex maps each label to the
+    // edges with that label
+    //
+    // Rep Invariant:
+    // graph != null && reverseGraph != null && labelIndex != null &&
+    // locks != null && locks.length == STRIPES &&
+    // graph doesn't contain null nodes &&
+    // graph doesn't contain null collections of outgoing edges &&
+    // the collections of edges in graph and reverseGraph are unmodifiable,
+    // those in labelIndex are concurrent and not empty, and none contain null edges &&
+    // no edges with same src and dst nodes have duplicate labels &&
+    // every node in graph is in reverseGraph &&
+    // an edge src - dst is only added or removed while holding locks[stripe(src)]
+    // and locks[stripe(dst)], or while holding the stripe of a removed src or dst &&
+    // when no modification is in progress, an edge src - dst (L) is in graph.get(src)
+    // if and only if it is in reverseGraph.get(dst) and in labelIndex.get(L)
+
+    /**
+     * Checks that the rep is maintained. The consistency of the indexes is only checked
+     * when DEBUG is set, which requires that no other thread modifies this meanwhile.
+     */
+    private void checkRep() {
+        assert graph != null;
+        assert reverseGraph != null;
+        assert labelIndex != null;
+        assert locks != null && locks.length == STRIPES;
+
+        if (DEBUG) {
+            for (Set<Graph.Edge<N, E>> edges : labelIndex.values()) {
+                assert !edges.isEmpty();
+            }
+
+            for (N node : graph.keySet()) {
+                assert node != null;
+                assert reverseGraph.containsKey(node);
+
+                for (Graph.Edge<N, E> edge : graph.get(node)) {
+                    assert edge != null;
+                    assert reverseGraph.get(edge.getDst()).contains(edge);
+                    assert labelIndex.get(edge.getLabel()).contains(edge);
+                }
+            }
+        }
+    }
+
+    /**
+     * @spec.effects Constructs a new ConcurrentGraph, []
+     */
+    public ConcurrentGraph() {
+        graph = new ConcurrentHashMap<>();
+        reverseGraph = new ConcurrentHashMap<>();
+        labelIndex = new ConcurrentHashMap<>();
+        locks = new Object[STRIPES];
+
+        // Inv: locks from 0 to i-1 are distinct objects
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+
+        checkRep();
+    }
+
+    /**
+     * @param other the graph whose nodes and edges to copy
+     * @throws NullPointerException if other == null
+     * @spec.effects Constructs a new ConcurrentGraph with the same nodes and edges as other
+     */
+    public ConcurrentGraph(GraphView<N, E> other) {
+        this();
+
+        // Inv: this contains all nodes of other from 0 to i-1
+        for (N node : other) {
+            addNode(node);
+        }
+
+        // Inv: this contains the outgoing edges of all nodes of other from 0 to i-1
+        for (N node : other) {
+            // Inv: this contains all outgoing edges of node from 0 to j-1
+            for (Graph.Edge<N, E> edge : other.outgoingEdges(node)) {
+                addEdge(edge.getLabel(), edge.getSrc(), edge.getDst());
+            }
+        }
+
+        checkRep();
+    }
+
+    @Override
+    public boolean addNode(N nodeData) {
+        checkRep();
+
+        if (nodeData == null || graph.containsKey(nodeData)) {
+            return false;
+        }
+
+        boolean result;
+
+        // Holds the stripe of nodeData so that a concurrent removeNode can't drop the incoming
+        // edge set between the two puts
+        synchronized (locks[stripe(nodeData)]) {
+            // The incoming edge set is published first so that a node visible in graph
+            // always has one
+            reverseGraph.putIfAbsent(nodeData, Collections.emptySet());
+            result = graph.putIfAbsent(nodeData, Collections.emptySet()) == null;
+        }
+
+        checkRep();
+
+        return result;
+    }
+
+    @Override
+    public boolean addEdge(E label, N src, N dst) {
+        checkRep();
+
+        if (label == null || src == null || dst == null) {
+            return false;
+        }
+
+        Graph.Edge<N, E> edge = new Graph.Edge<>(label, src, dst);
+
+        // Checks that both nodes exist under their stripes, so neither can be removed before
+        // the edge is in all three structures
+        boolean result = underLocks(src, dst, () -> {
+            if (!graph.containsKey(src) || !graph.containsKey(dst) || graph.get(src).contains(edge)) {
+                return false;
+            }
+
+            graph.computeIfPresent(src, (node, edges) -> with(edges, edge));
+            reverseGraph.computeIfPresent(dst, (node, edges) -> with(edges, edge));
+            indexLabel(edge);
+
+            return true;
+        });
+
+        checkRep();
+
+        return result;
+    }
+
+    @Override
+    public boolean removeEdge(E label, N src, N dst) {
+        checkRep();
+
+        if (label == null || src == null || dst == null) {
+            throw new NullPointerException();
+        }
+
+        boolean result = deleteEdge(new Graph.Edge<>(label, src, dst));
+
+        checkRep();
+
+        return result;
+    }
+
+    @Override
+    public boolean removeNode(N nodeData) {
+        checkRep();
+
+        if (nodeData == null) {
+            throw new NullPointerException();
+        }
+
+        // Every change to an edge from or to nodeData holds its stripe, so while this holds it
+        // the edges of nodeData can't change, and once nodeData is out of graph no other
+        // thread can add an edge from or to it
+        synchronized (locks[stripe(nodeData)]) {
+            Set<Graph.Edge<N, E>> outgoingEdges = graph.remove(nodeData);
+
+            if (outgoingEdges == null) {
+                return false;
+            }
+
+            // Inv: no outgoing edge of nodeData from 0 to i-1 is in the indexes of their dst
+            for (Graph.Edge<N, E> edge : outgoingEdges) {
+                reverseGraph.computeIfPresent(edge.getDst(), (node, edges) -> without(edges, edge));
+                unindexLabel(edge);
+            }
+
+            Set<Graph.Edge<N, E>> incomingEdges = reverseGraph.remove(nodeData);
+
+            // Inv: no incoming edge of nodeData from 0 to i-1 is in this
+            for (Graph.Edge<N, E> edge : incomingEdges) {
+                graph.computeIfPresent(edge.getSrc(), (node, edges) -> without(edges, edge));
+                unindexLabel(edge);
+            }
+        }
+
+        checkRep();
+
+        return true;
+    }
+
+    @Override
+    public boolean replaceEdgeLabel(E oldLabel, E newLabel, N src, N dst) {
+        checkRep();
+
+        if (oldLabel == null || newLabel == null || src == null || dst == null) {
+            throw new NullPointerException();
+        }
+
+        Graph.Edge<N, E> oldEdge = new Graph.Edge<>(oldLabel, src, dst);
+        Graph.Edge<N, E> newEdge = new Graph.Edge<>(newLabel, src, dst);
+
+        // Swaps the edges in each structure under the stripes of src and dst
+        boolean result = underLocks(src, dst, () -> {
+            Set<Graph.Edge<N, E>> outgoingEdges = graph.get(src);
+
+            if (outgoingEdges == null || !outgoingEdges.contains(oldEdge) || outgoingEdges.contains(newEdge)) {
+                return false;
+            }
+
+            graph.computeIfPresent(src, (node, edges) -> with(without(edges, oldEdge), newEdge));
+            reverseGraph.computeIfPresent(dst, (node, edges) -> with(without(edges, oldEdge), newEdge));
+            unindexLabel(oldEdge);
+            indexLabel(newEdge);
+
+            return true;
+        });
+
+        checkRep();
+
+        return result;
+    }
+
+    /**
+     * Removes edge from this and its indexes
+     *
+     * @param edge the edge to remove
+     * @return true if and only if this thread removed edge from the outgoing edges of its src
+     * @spec.modifies this
+     */
+    private boolean deleteEdge(Graph.Edge<N, E> edge) {
+        return underLocks(edge.getSrc(), edge.getDst(), () -> {
+            Set<Graph.Edge<N, E>> outgoingEdges = graph.get(edge.getSrc());
+
+            if (outgoingEdges == null || !outgoingEdges.contains(edge)) {
+                return false;
+            }
+
+            graph.computeIfPresent(edge.getSrc(), (node, edges) -> without(edges, edge));
+            reverseGraph.computeIfPresent(edge.getDst(), (node, edges) -> without(edges, edge));
+            unindexLabel(edge);
+
+            return true;
+        });
+    }
+
+    /**
+     * Runs update while holding the stripes of src and dst, taken in stripe order so that
+     * two writers never wait on each other
+     *
+     * @param src the src of the edge to change
+     * @param dst the dst of the edge to change
+     * @param update the change to make
+     * @return the result of update
+     */
+    private boolean underLocks(N src, N dst, BooleanSupplier update) {
+        int first = stripe(src);
+        int second = stripe(dst);
+
+        synchronized (locks[Math.min(first, second)]) {
+            synchronized (locks[Math.max(first, second)]) {
+                return update.getAsBoolean();
+            }
+        }
+    }
+
+    /**
+     * Returns the lock stripe of nodeData
+     *
+     * @param nodeData the node whose stripe is to be received
+     * @return the index in locks of the lock guarding the edges of nodeData
+     */
+    private static int stripe(Object nodeData) {
+        int hash = nodeData.hashCode();
+
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    /**
+     * Adds edge to the edges with its label in the label index
+     *
+     * @param edge the edge to add
+     * @spec.modifies labelIndex
+     */
+    private void indexLabel(Graph.Edge<N, E> edge) {
+        // Adds inside compute so that a concurrent unindexLabel can't drop the set meanwhile
+        labelIndex.compute(edge.getLabel(), (l, edges) -> {
+            Set<Graph.Edge<N, E>> result = edges == null ? ConcurrentHashMap.newKeySet() : edges;
+            result.add(edge);
+
+            return result;
+        });
+    }
+
+    /**
+     * Removes edge from the edges with its label in the label index, dropping the label once
+     * it has no edges
+     *
+     * @param edge the edge to remove
+     * @spec.modifies labelIndex
+     */
+    private void unindexLabel(Graph.Edge<N, E> edge) {
+        labelIndex.computeIfPresent(edge.getLabel(), (l, edges) -> {
+            edges.remove(edge);
+
+            return edges.isEmpty() ? null : edges;
+        });
+    }
+
+    /**
+     * Returns an unmodifiable copy of edges with edge added
+     *
+     * @param edges the edges to copy
+     * @param edge the edge to add
+     * @return an unmodifiable set of all of edges and edge
+     */
+    private static <N, E> Set<Graph.Edge<N, E>> with(Set<Graph.Edge<N, E>> edges, Graph.Edge<N, E> edge) {
+        Set<Graph.Edge<N, E>> copy = new HashSet<>(edges);
+        copy.add(edge);
+
+        return Collections.unmodifiableSet(copy);
+    }
+
+    /**
+     * Returns an unmodifiable copy of edges without edge
+     *
+     * @param edges the edges to copy
+     * @param edge the edge to leave out
+     * @return an unmodifiable set of all of edges except edge
+     */
+    private static <N, E> Set<Graph.Edge<N, E>> without(Set<Graph.Edge<N, E>> edges, Graph.Edge<N, E> edge) {
+        Set<Graph.Edge<N, E>> copy = new HashSet<>(edges);
+        copy.remove(edge);
+
+        return Collections.unmodifiableSet(copy);
+    }
+
+    @Override
+    public List<Graph.Edge<N, E>> getEdgesByLabel(E label) {
+        checkRep();
+
+        if (label == null) {
+            throw new NullPointerException();
+        }
+
+        return new ArrayList<>(labelIndex.getOrDefault(label, Collections.emptySet()));
+    }
+
+    @Override
+    public Collection<Graph.Edge<N, E>> outgoingEdges(N nodeData) {
+        checkRep();
+
+        if (nodeData == null) {
+            throw new NullPointerException();
+        }
+
+        return graph.getOrDefault(nodeData, Collections.emptySet());
+    }
+
+    @Override
+    public Collection<Graph.Edge<N, E>> incomingEdges(N nodeData) {
+        checkRep();
+
+        if (nodeData == null) {
+            throw new NullPointerException();
+        }
+
+        return reverseGraph.getOrDefault(nodeData, Collections.emptySet());
+    }
+
+    @Override
+    public boolean containsNode(N nodeData) {
+        checkRep();
+
+        if (nodeData == null) {
+            throw new NullPointerException();
+        }
+
+        return graph.containsKey(nodeData);
+    }
+
+    /**
+     * Returns a weakly consistent iterator of the nodes contained in the graph
+     *
+     * @return an iterator of a read-only view of the nodes contained in the graph in no
+     * particular order, which reflects some, all, or none of the nodes added during iteration
+     */
+    @Override
+    public Iterator<N> iterator() {
+        checkRep();
+
+        return Collections.unmodifiableSet(graph.keySet()).iterator();
+    }
+}
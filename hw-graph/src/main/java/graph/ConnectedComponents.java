@@ -0,0 +1,316 @@
+package graph;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * ConnectedComponents is a mutable partition of the nodes of a graph into its weakly connected
+ * components, which are the sets of nodes connected to each other by edges in either direction.
+ * Two nodes in different components have no path between them, so a search between them can be
+ * ruled out in near-constant time before it starts. In a graph where every edge has a reverse
+ * edge, such as the Marvel graph, two nodes in the same component always have a path between them.
+ *
+ * The components are found once with a lock-free union-find whose work is divided among the
+ * threads of the common fork-join pool, and are then kept up to date by calling addNode and
+ * addEdge for the nodes and edges added to the graph afterwards. Removals can't be applied
+ * incrementally; a graph that had nodes or edges removed needs new ConnectedComponents.
+ * Queries can run concurrently with each other and with addEdge, but not with addNode.
+ *
+ * The component id of a node is the least id, in nodeIds(), of the nodes in its component.
+ *
+ * @param <N> the type of nodes
+ */
+public class ConnectedComponents<N> {
+    public static final boolean DEBUG = false;
+
+    private final NodeDictionary<N> nodeIds;
+    private volatile AtomicIntegerArray parent;
+    private final AtomicInteger componentCount;
+
+    // Abstraction Function:
+    // Nodes with ids i and j are in the same component if and only if
+    // following parent from i and from j reaches the same root r, where
+    // parent[r] == r, and r is the component id of both.
+    // componentCount is the number of roots
+    //
+    // Rep Invariant:
+    // nodeIds != null && parent != null && componentCount != null &&
+    // parent.length() >= nodeIds.size() &&
+    // parent[i] <= i for all 0 <= i < nodeIds.size()
+
+    /**
+     * Checks that the rep is maintained
+     */
+    private void checkRep() {
+        assert nodeIds != null;
+        assert parent != null;
+        assert componentCount != null;
+        assert parent.length() >= nodeIds.size();
+
+        if (DEBUG) {
+            int roots = 0;
+
+            for (int i = 0; i < nodeIds.size(); i++) {
+                assert parent.get(i) <= i;
+
+                if (parent.get(i) == i) {
+                    roots++;
+                }
+            }
+
+            assert roots == componentCount.get();
+        }
+    }
+
+    /**
+     * @param graph the graph whose components are to be found
+     * @throws NullPointerException if graph == null
+     * @spec.requires graph is not modified during the call
+     * @spec.effects Constructs a new ConnectedComponents of the nodes and edges of graph
+     */
+    public ConnectedComponents(GraphView<N, ?> graph) {
+        if (graph == null) {
+            throw new NullPointerException();
+        }
+
+        nodeIds = new NodeDictionary<>(0);
+
+        // Inv: nodeIds contains all nodes of graph from 0 to i-1
+        for (N node : graph) {
+            nodeIds.add(node);
+        }
+
+        int n = nodeIds.size();
+        parent = new AtomicIntegerArray(Math.max(n, 16));
+        componentCount = new AtomicInteger(n);
+
+        // Inv: every node from 0 to i-1 is its own root
+        for (int i = 0; i < n; i++) {
+            parent.set(i, i);
+        }
+
+        // Each thread takes a range of src ids; union is lock-free, so no edge is
+        // buffered or merged afterwards
+        IntStream.range(0, n).parallel().forEach(src -> {
+            // Inv: src has been joined with the dst of all outgoing edges from 0 to j-1
+            for (Graph.Edge<N, ?> edge : graph.outgoingEdges(nodeIds.getNode(src))) {
+                union(src, nodeIds.getId(edge.getDst()));
+            }
+        });
+
+        checkRep();
+    }
+
+    /**
+     * @param graph the compact graph whose components are to be found
+     * @throws NullPointerException if graph == null
+     * @spec.effects Constructs a new ConnectedComponents of the nodes and edges of graph, in
+     * which the nodes have the ids they have in graph
+     */
+    public ConnectedComponents(CompactGraph<N, ?> graph) {
+        if (graph == null) {
+            throw new NullPointerException();
+        }
+
+        nodeIds = new NodeDictionary<>(graph.nodeIds());
+
+        int n = nodeIds.size();
+        parent = new AtomicIntegerArray(Math.max(n, 16));
+        componentCount = new AtomicInteger(n);
+
+        // Inv: every node from 0 to i-1 is its own root
+        for (int i = 0; i < n; i++) {
+            parent.set(i, i);
+        }
+
+        // The edges are already on ids, so no node is looked up
+        IntStream.range(0, n).parallel().forEach(src -> {
+            int end = graph.edgeEnd(src);
+
+            // Inv: src has been joined with the dst of all outgoing edges from edgeStart(src) to k-1
+            for (int k = graph.edgeStart(src); k < end; k++) {
+                union(src, graph.edgeTarget(k));
+            }
+        });
+
+        checkRep();
+    }
+
+    /**
+     * Adds nodeData as a component of its own, for a node added to the graph after this was made
+     *
+     * @param nodeData the node to add
+     * @return true if and only if nodeData was not already in this
+     * @throws NullPointerException if nodeData == null
+     * @spec.modifies this
+     */
+    public synchronized boolean addNode(N nodeData) {
+        checkRep();
+
+        if (nodeData == null) {
+            throw new NullPointerException();
+        }
+
+        if (nodeIds.getId(nodeData) != -1) {
+            return false;
+        }
+
+        int id = nodeIds.add(nodeData);
+
+        if (id >= parent.length()) {
+            AtomicIntegerArray grown = new AtomicIntegerArray(parent.length() * 2);
+
+            // Inv: grown holds the parents of the nodes with ids from 0 to i-1
+            for (int i = 0; i < id; i++) {
+                grown.set(i, parent.get(i));
+            }
+
+            parent = grown;
+        }
+
+        parent.set(id, id);
+        componentCount.incrementAndGet();
+
+        checkRep();
+
+        return true;
+    }
+
+    /**
+     * Joins the components of src and dst, for an edge added to the graph after this was made
+     *
+     * @param src the source node of the edge
+     * @param dst the destination node of the edge
+     * @return true if and only if src and dst were in different components
+     * @throws NullPointerException if src == null || dst == null
+     * @throws IllegalArgumentException if src or dst is not in this
+     * @spec.modifies this
+     */
+    public synchronized boolean addEdge(N src, N dst) {
+        checkRep();
+
+        boolean result = union(idOf(src), idOf(dst));
+
+        checkRep();
+
+        return result;
+    }
+
+    /**
+     * Returns whether a and b are in the same component
+     *
+     * @param a a node
+     * @param b another node
+     * @return true if and only if a and b are connected by edges in either direction
+     * @throws NullPointerException if a == null || b == null
+     * @throws IllegalArgumentException if a or b is not in this
+     */
+    public boolean connected(N a, N b) {
+        return find(idOf(a)) == find(idOf(b));
+    }
+
+    /**
+     * Returns the component id of nodeData
+     *
+     * @param nodeData the node whose component is to be received
+     * @return the least id in nodeIds() of the nodes in the component of nodeData
+     * @throws NullPointerException if nodeData == null
+     * @throws IllegalArgumentException if nodeData is not in this
+     */
+    public int componentOf(N nodeData) {
+        return find(idOf(nodeData));
+    }
+
+    /**
+     * Returns the number of components
+     *
+     * @return the number of components of the nodes in this
+     */
+    public int componentCount() {
+        return componentCount.get();
+    }
+
+    /**
+     * Returns the dictionary of ids of the nodes in this
+     *
+     * @return a read-only view of the ids of the nodes in this, in which component ids are
+     * node ids
+     */
+    public NodeDictionary<N> nodeIds() {
+        return nodeIds;
+    }
+
+    /**
+     * Returns the id of nodeData
+     *
+     * @param nodeData the node whose id is to be received
+     * @return the id of nodeData in nodeIds
+     * @throws NullPointerException if nodeData == null
+     * @throws IllegalArgumentException if nodeData is not in this
+     */
+    private int idOf(N nodeData) {
+        int id = nodeIds.getId(nodeData);
+
+        if (id == -1) {
+            throw new IllegalArgumentException("Node is not in the components: " + nodeData);
+        }
+
+        return id;
+    }
+
+    /**
+     * Returns the root of the node with id, halving the path to it along the way
+     *
+     * @param id the id of a node
+     * @return the id of the root of the component of the node with id
+     */
+    private int find(int id) {
+        AtomicIntegerArray parent = this.parent;
+
+        // Inv: id is on the path from the original id to its root
+        while (parent.get(id) != id) {
+            int next = parent.get(id);
+            int grandparent = parent.get(next);
+
+            // Losing this race only means another thread already shortened the path
+            parent.compareAndSet(id, next, grandparent);
+            id = next;
+        }
+
+        return id;
+    }
+
+    /**
+     * Joins the components of the nodes with ids a and b. Safe to call from several threads
+     * at once.
+     *
+     * @param a the id of a node
+     * @param b the id of another node
+     * @return true if and only if this call joined two different components
+     * @spec.modifies this
+     */
+    private boolean union(int a, int b) {
+        AtomicIntegerArray parent = this.parent;
+
+        // Inv: the components of a and b have not been joined by this call
+        while (true) {
+            int rootA = find(a);
+            int rootB = find(b);
+
+            if (rootA == rootB) {
+                return false;
+            }
+
+            // Linking the larger root under the smaller keeps parent[i] <= i, so no cycle
+            // can form, and fails if another thread has given the larger root a parent
+            int larger = Math.max(rootA, rootB);
+            int smaller = Math.min(rootA, rootB);
+
+            if (parent.compareAndSet(larger, larger, smaller)) {
+                componentCount.decrementAndGet();
+                return true;
+            }
+        }
+    }
+}
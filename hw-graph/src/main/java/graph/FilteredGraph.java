@@ -0,0 +1,308 @@
+package graph;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * FilteredGraph is a read-only view of the part of another GraphView selected by a node predicate
+ * and a label predicate. Its nodes are the nodes of the underlying graph that pass the node
+ * predicate, and its edges are the edges of the underlying graph whose src and dst both pass the
+ * node predicate and whose label passes the label predicate. Nothing is copied: the predicates are
+ * applied as the view is read, so the view reflects later changes to the underlying graph.
+ *
+ * A precomputed set of nodes, such as a BitSet indexed by the ids of the underlying graph's
+ * nodeIds(), can be used as the node predicate. The predicates should be cheap and must be
+ * consistent, since they may be tested many times for the same node or label.
+ *
+ * nodeIds() returns the underlying graph's dictionary, which also holds the nodes this view
+ * excludes. Its ids can size and index per-node arrays, but it must not be used as the set or
+ * count of nodes of this view; iterate this view, or use containsNode, instead.
+ *
+ * @param <N> the type of nodes
+ * @param <E> the type of edge labels
+ */
+public class FilteredGraph<N, E> implements GraphView<N, E> {
+    private final GraphView<N, E> graph;
+    private final Predicate<? super N> nodeFilter;
+    private final Predicate<? super E> labelFilter;
+
+    // Abstraction Function:
+    // The nodes are the nodes n of graph such that nodeFilter.test(n), and the
+    // edges are the edges src - dst (L) of graph such that nodeFilter.test(src)
+    // && nodeFilter.test(dst) && labelFilter.test(L)
+    //
+    // Rep Invariant:
+    // graph != null && nodeFilter != null && labelFilter != null
+
+    /**
+     * Checks that the rep is maintained
+     */
+    private void checkRep() {
+        assert graph != null;
+        assert nodeFilter != null;
+        assert labelFilter != null;
+    }
+
+    /**
+     * @param graph the graph to view
+     * @param nodeFilter the predicate that selects the nodes to keep
+     * @param labelFilter the predicate that selects the labels of edges to keep
+     * @throws NullPointerException if any argument is null
+     * @spec.effects Constructs a new FilteredGraph of graph
+     */
+    public FilteredGraph(GraphView<N, E> graph, Predicate<? super N> nodeFilter,
+                         Predicate<? super E> labelFilter) {
+        if (graph == null || nodeFilter == null || labelFilter == null) {
+            throw new NullPointerException();
+        }
+
+        this.graph = graph;
+        this.nodeFilter = nodeFilter;
+        this.labelFilter = labelFilter;
+        checkRep();
+    }
+
+    /**
+     * Returns the subgraph of graph induced by the nodes that pass nodeFilter
+     *
+     * @param graph the graph to view
+     * @param nodeFilter the predicate that selects the nodes to keep
+     * @param <N> the type of nodes
+     * @param <E> the type of edge labels
+     * @return a view of the nodes of graph that pass nodeFilter and all edges between them
+     * @throws NullPointerException if graph == null || nodeFilter == null
+     */
+    public static <N, E> FilteredGraph<N, E> ofNodes(GraphView<N, E> graph, Predicate<? super N> nodeFilter) {
+        return new FilteredGraph<>(graph, nodeFilter, label -> true);
+    }
+
+    /**
+     * Returns the view of graph that keeps only the edges whose labels pass labelFilter
+     *
+     * @param graph the graph to view
+     * @param labelFilter the predicate that selects the labels of edges to keep
+     * @param <N> the type of nodes
+     * @param <E> the type of edge labels
+     * @return a view of all nodes of graph and the edges whose labels pass labelFilter
+     * @throws NullPointerException if graph == null || labelFilter == null
+     */
+    public static <N, E> FilteredGraph<N, E> ofLabels(GraphView<N, E> graph, Predicate<? super E> labelFilter) {
+        return new FilteredGraph<>(graph, node -> true, labelFilter);
+    }
+
+    @Override
+    public List<Graph.Edge<N, E>> getEdgesByLabel(E label) {
+        checkRep();
+
+        if (label == null) {
+            throw new NullPointerException();
+        }
+
+        List<Graph.Edge<N, E>> edges = new ArrayList<>();
+
+        if (labelFilter.test(label)) {
+            // Inv: edges contains the kept edges with label from 0 to i-1
+            for (Graph.Edge<N, E> edge : graph.getEdgesByLabel(label)) {
+                if (nodeFilter.test(edge.getSrc()) && nodeFilter.test(edge.getDst())) {
+                    edges.add(edge);
+                }
+            }
+        }
+
+        return edges;
+    }
+
+    @Override
+    public Collection<Graph.Edge<N, E>> outgoingEdges(N nodeData) {
+        checkRep();
+
+        if (nodeData == null) {
+            throw new NullPointerException();
+        }
+
+        if (!nodeFilter.test(nodeData)) {
+            return Collections.emptySet();
+        }
+
+        return new EdgeView(graph.outgoingEdges(nodeData), true);
+    }
+
+    @Override
+    public Collection<Graph.Edge<N, E>> incomingEdges(N nodeData) {
+        checkRep();
+
+        if (nodeData == null) {
+            throw new NullPointerException();
+        }
+
+        if (!nodeFilter.test(nodeData)) {
+            return Collections.emptySet();
+        }
+
+        return new EdgeView(graph.incomingEdges(nodeData), false);
+    }
+
+    @Override
+    public boolean containsNode(N nodeData) {
+        checkRep();
+
+        return graph.containsNode(nodeData) && nodeFilter.test(nodeData);
+    }
+
+    @Override
+    public boolean containsEdge(E label, N src, N dst) {
+        checkRep();
+
+        return graph.containsEdge(label, src, dst) && labelFilter.test(label) &&
+               nodeFilter.test(src) && nodeFilter.test(dst);
+    }
+
+    /**
+     * Returns the ids of the underlying graph, which cover the nodes of this
+     *
+     * @return the underlying graph's dictionary, or null if it doesn't keep one. It may hold
+     * nodes that this excludes, so its size is not the number of nodes of this and having an
+     * id doesn't mean a node is in this
+     */
+    @Override
+    public NodeDictionary<N> nodeIds() {
+        checkRep();
+
+        return graph.nodeIds();
+    }
+
+    /**
+     * Returns an iterator of the nodes contained in the graph
+     *
+     * @return an iterator of a read-only view of the nodes contained in
+     * the graph in the order of the underlying graph
+     */
+    @Override
+    public Iterator<N> iterator() {
+        checkRep();
+
+        Iterator<N> nodes = graph.iterator();
+
+        return new Iterator<>() {
+            private N next = null;
+
+            @Override
+            public boolean hasNext() {
+                // Inv: the nodes passed over so far were filtered out, except next
+                while (next == null && nodes.hasNext()) {
+                    N node = nodes.next();
+
+                    if (nodeFilter.test(node)) {
+                        next = node;
+                    }
+                }
+
+                return next != null;
+            }
+
+            @Override
+            public N next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                N node = next;
+                next = null;
+
+                return node;
+            }
+        };
+    }
+
+    /**
+     * EdgeView is a read-only view of the kept edges among the edges of one node of the
+     * underlying graph in one direction
+     */
+    private class EdgeView extends AbstractCollection<Graph.Edge<N, E>> {
+        private final Collection<Graph.Edge<N, E>> edges;
+        private final boolean outgoing;
+
+        // Abstraction Function:
+        // The edges of edges whose label passes labelFilter and whose other node,
+        // the dst if outgoing and the src otherwise, passes nodeFilter
+        //
+        // Rep Invariant:
+        // edges != null
+
+        /**
+         * @param edges the edges of a kept node in the underlying graph
+         * @param outgoing whether edges are outgoing edges of the node
+         * @spec.effects Constructs a new EdgeView
+         */
+        EdgeView(Collection<Graph.Edge<N, E>> edges, boolean outgoing) {
+            this.edges = edges;
+            this.outgoing = outgoing;
+        }
+
+        /**
+         * Returns whether edge is kept, given that its node in this view is kept
+         *
+         * @param edge an edge of edges
+         * @return true if and only if edge is an edge of this view
+         */
+        private boolean keeps(Graph.Edge<N, E> edge) {
+            return labelFilter.test(edge.getLabel()) &&
+                   nodeFilter.test(outgoing ? edge.getDst() : edge.getSrc());
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+
+            // Inv: size is the number of kept edges from 0 to i-1
+            for (Graph.Edge<N, E> edge : edges) {
+                if (keeps(edge)) {
+                    size++;
+                }
+            }
+
+            return size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object o) {
+            return edges.contains(o) && keeps((Graph.Edge<N, E>) o);
+        }
+
+        @Override
+        public Iterator<Graph.Edge<N, E>> iterator() {
+            Iterator<Graph.Edge<N, E>> all = edges.iterator();
+
+            return new Iterator<>() {
+                private Graph.Edge<N, E> next = null;
+
+                @Override
+                public boolean hasNext() {
+                    // Inv: the edges passed over so far were filtered out, except next
+                    while (next == null && all.hasNext()) {
+                        Graph.Edge<N, E> edge = all.next();
+
+                        if (keeps(edge)) {
+                            next = edge;
+                        }
+                    }
+
+                    return next != null;
+                }
+
+                @Override
+                public Graph.Edge<N, E> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    Graph.Edge<N, E> edge = next;
+                    next = null;
+
+                    return edge;
+                }
+            };
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package graph;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Graph is a generic mutable finite set of immutable nodes connected by directed edges with immutable
@@ -21,42 +25,78 @@ import java.util.*;
  * @param <N> the type of nodes
  * @param <E> the type of edge labels
  */
-public class Graph<N, E> implements Iterable<N> {
+public class Graph<N, E> implements MutableGraph<N, E> {
     public static final boolean DEBUG = false;
 
     private Map<N, Set<Edge<N, E>>> graph;
+    private Map<N, Set<Edge<N, E>>> reverseGraph;
+    private Map<E, Set<Edge<N, E>>> labelIndex;
+    private NodeDictionary<N> nodeIds;
+    private int edgeCount;
+    private final int expectedDegree;
+
+    // Cap on the per-node size hint. Degrees in graphs like the Marvel graph follow a power
+    // law, so the average degree is far above that of most nodes; pre-sizing every node's sets
+    // to it would over-allocate nearly all of them, while the sets of the few hubs just grow
+    private static final int MAX_DEGREE_HINT = 8;
 
     // Abstraction Function:
     // A map of key/value pairs where keys are the nodes in the graph
     // and values are a collection of the outgoing edges associated with
-    // a given node
+    // a given node. reverseGraph indexes the same edges by their
+    // destination node, so values are the incoming edges of a given node.
+    // If labelIndex is not null, it indexes the same edges by their label,
+    // so values are all edges with a given label. nodeIds assigns each
+    // node in the graph a dense int id, and edgeCount is the number of edges
     //
     // Rep Invariant:
-    // graph != null &&
+    // graph != null && reverseGraph != null && nodeIds != null &&
     // graph doesn't contain null nodes &&
     // graph doesn't contain null collections of outgoing edges &&
     // graph doesn't contain null edges &&
     // graph doesn't contain duplicate nodes &&
-    // no edges with same src and dst nodes have duplicate labels
+    // no edges with same src and dst nodes have duplicate labels &&
+    // reverseGraph.keySet() equals graph.keySet() &&
+    // an edge src - dst (L) is in graph.get(src) if and only if
+    // it is in reverseGraph.get(dst) &&
+    // if labelIndex != null, an edge src - dst (L) is in graph.get(src)
+    // if and only if it is in labelIndex.get(L), and labelIndex doesn't
+    // contain empty collections of edges &&
+    // nodeIds contains exactly the nodes in graph.keySet() &&
+    // edgeCount is the sum of the sizes of the collections in graph
 
     /**
      * Checks that the rep is maintained
      */
     private void checkRep() {
         assert graph != null;
+        assert reverseGraph != null;
+        assert nodeIds != null;
 
         if (DEBUG) {
+            assert graph.keySet().equals(reverseGraph.keySet());
+            assert nodeIds.size() == graph.size();
+
+            int count = 0;
+
             for (N node : graph.keySet()) {
                 assert node != null;
+                assert nodeIds.getId(node) != -1;
 
                 Set<Edge<N, E>> outgoingEdges = graph.get(node);
 
                 assert outgoingEdges != null;
 
+                count += outgoingEdges.size();
+
                 for (Edge<N, E> edge : outgoingEdges) {
                     assert edge != null;
+                    assert reverseGraph.get(edge.getDst()).contains(edge);
+                    assert labelIndex == null || labelIndex.get(edge.getLabel()).contains(edge);
                 }
             }
+
+            assert count == edgeCount;
         }
     }
 
@@ -64,10 +104,48 @@ public class Graph<N, E> implements Iterable<N> {
      * @spec.effects Constructs a new Graph, []
      */
     public Graph() {
-        graph = new HashMap<>();
+        this(false);
+    }
+
+    /**
+     * @param indexLabels whether to maintain an index from labels to edges, which makes
+     * getEdgesByLabel proportional to the number of matching edges at the cost of
+     * extra memory per edge
+     * @spec.effects Constructs a new Graph, []
+     */
+    public Graph(boolean indexLabels) {
+        this(indexLabels, 0, 0);
+    }
+
+    /**
+     * @param indexLabels whether to maintain an index from labels to edges
+     * @param expectedNodes the number of nodes expected to be added
+     * @param expectedDegree the average number of outgoing edges expected per node
+     * @spec.requires expectedNodes &gt;= 0 &amp;&amp; expectedDegree &gt;= 0
+     * @spec.effects Constructs a new Graph, [], sized so that adding the expected number
+     * of nodes doesn't rehash. The edge sets of each node are sized for at most
+     * MAX_DEGREE_HINT edges and grow beyond that as needed
+     */
+    Graph(boolean indexLabels, int expectedNodes, int expectedDegree) {
+        graph = new HashMap<>(capacityFor(expectedNodes));
+        reverseGraph = new HashMap<>(capacityFor(expectedNodes));
+        labelIndex = indexLabels ? new HashMap<>() : null;
+        nodeIds = new NodeDictionary<>(expectedNodes);
+        edgeCount = 0;
+        this.expectedDegree = Math.min(expectedDegree, MAX_DEGREE_HINT);
         checkRep();
     }
 
+    /**
+     * Returns the initial capacity of a hash-based collection expected to hold size elements
+     *
+     * @param size the number of elements expected
+     * @return a capacity large enough to hold size elements without rehashing
+     */
+    private static int capacityFor(int size) {
+        return size == 0 ? 16 : (int) (size / 0.75f) + 1;
+    }
+
     /**
      * Adds node into this
      *
@@ -77,6 +155,7 @@ public class Graph<N, E> implements Iterable<N> {
      * @spec.modifies this
      * @spec.effects this_post = [nodeData]:G
      */
+    @Override
     public boolean addNode(N nodeData) {
         checkRep();
 
@@ -85,7 +164,7 @@ public class Graph<N, E> implements Iterable<N> {
             return false;
         }
 
-        graph.put(nodeData, new HashSet<>());
+        insertNode(nodeData);
 
         checkRep();
 
@@ -104,6 +183,7 @@ public class Graph<N, E> implements Iterable<N> {
      * @spec.modifies this
      * @spec.effects If this = [[src], [dst]], then this_post = [[src - dst (label)], [dst]]
      */
+    @Override
     public boolean addEdge(E label, N src, N dst) {
         checkRep();
 
@@ -113,13 +193,221 @@ public class Graph<N, E> implements Iterable<N> {
             return false;
         }
 
-        boolean result = graph.get(src).add(new Edge<>(label, src, dst));
+        boolean result = insertEdge(new Edge<>(label, src, dst), graph.get(src));
+
+        checkRep();
+
+        return result;
+    }
+
+    /**
+     * Removes the edge src - dst (label) from this. Runs in constant expected time.
+     *
+     * @param label the label of the edge
+     * @param src the source node from which the edge starts
+     * @param dst the destination node to which the edge points
+     * @return true if and only if the edge src - dst (label) was in this
+     * @throws NullPointerException if label == null || src == null || dst == null
+     * @spec.modifies this
+     * @spec.effects If this = [[src - dst (label)], [dst]], then this_post = [[src], [dst]]
+     */
+    @Override
+    public boolean removeEdge(E label, N src, N dst) {
+        checkRep();
+
+        if (label == null || src == null || dst == null) {
+            throw new NullPointerException();
+        }
+
+        boolean result = graph.containsKey(src) && deleteEdge(new Edge<>(label, src, dst));
 
         checkRep();
 
         return result;
     }
 
+    /**
+     * Removes nodeData and all edges from or to it from this. Runs in time proportional to
+     * the number of edges from or to nodeData. The node with the largest id in nodeIds()
+     * takes the id of nodeData.
+     *
+     * @param nodeData the node to remove
+     * @return true if and only if nodeData was in this
+     * @throws NullPointerException if nodeData == null
+     * @spec.modifies this
+     * @spec.effects this_post contains neither nodeData nor any edge ni - nodeData (Li) or
+     * nodeData - ni (Li), and is otherwise unchanged
+     */
+    @Override
+    public boolean removeNode(N nodeData) {
+        checkRep();
+
+        if (nodeData == null) {
+            throw new NullPointerException();
+        }
+
+        if (!graph.containsKey(nodeData)) {
+            checkRep();
+            return false;
+        }
+
+        // Copies, since deleting an edge modifies the sets being traversed
+        List<Edge<N, E>> edges = new ArrayList<>(graph.get(nodeData));
+        edges.addAll(reverseGraph.get(nodeData));
+
+        // Inv: no edge from 0 to i-1 is in this
+        for (Edge<N, E> edge : edges) {
+            deleteEdge(edge);
+        }
+
+        graph.remove(nodeData);
+        reverseGraph.remove(nodeData);
+        nodeIds.remove(nodeData);
+
+        checkRep();
+
+        return true;
+    }
+
+    /**
+     * Changes the label of the edge src - dst (oldLabel) to newLabel. Runs in constant
+     * expected time.
+     *
+     * @param oldLabel the current label of the edge
+     * @param newLabel the label to give the edge
+     * @param src the source node from which the edge starts
+     * @param dst the destination node to which the edge points
+     * @return true if and only if the edge src - dst (oldLabel) was in this and the edge
+     * src - dst (newLabel) was not. Note that no change is made if false is returned.
+     * @throws NullPointerException if oldLabel == null || newLabel == null || src == null ||
+     * dst == null
+     * @spec.modifies this
+     * @spec.effects If this = [[src - dst (oldLabel)], [dst]], then
+     * this_post = [[src - dst (newLabel)], [dst]]
+     */
+    @Override
+    public boolean replaceEdgeLabel(E oldLabel, E newLabel, N src, N dst) {
+        checkRep();
+
+        if (oldLabel == null || newLabel == null || src == null || dst == null) {
+            throw new NullPointerException();
+        }
+
+        Set<Edge<N, E>> outgoingEdges = graph.get(src);
+        Edge<N, E> replacement = new Edge<>(newLabel, src, dst);
+
+        if (outgoingEdges == null || outgoingEdges.contains(replacement) ||
+            !deleteEdge(new Edge<>(oldLabel, src, dst))) {
+            checkRep();
+            return false;
+        }
+
+        insertEdge(replacement, outgoingEdges);
+
+        checkRep();
+
+        return true;
+    }
+
+    /**
+     * Adds edge to this, adding its src and dst nodes first if they are absent, without
+     * checking the rep. Meant for GraphBuilder, which checks the rep once when it is done.
+     *
+     * @param edge the edge to add
+     * @return true if and only if edge was not already in this
+     * @spec.requires edge != null
+     * @spec.modifies this
+     */
+    boolean addEdgeUnchecked(Edge<N, E> edge) {
+        Set<Edge<N, E>> outgoingEdges = graph.get(edge.getSrc());
+
+        if (outgoingEdges == null) {
+            insertNode(edge.getSrc());
+            outgoingEdges = graph.get(edge.getSrc());
+        }
+
+        if (!graph.containsKey(edge.getDst())) {
+            insertNode(edge.getDst());
+        }
+
+        return insertEdge(edge, outgoingEdges);
+    }
+
+    /**
+     * Adds nodeData, which must not already be present, to this and its indexes
+     *
+     * @param nodeData the node to add
+     * @spec.requires nodeData != null &amp;&amp; nodeData is not in this
+     * @spec.modifies this
+     */
+    private void insertNode(N nodeData) {
+        graph.put(nodeData, new HashSet<>(capacityFor(expectedDegree)));
+        reverseGraph.put(nodeData, new HashSet<>(capacityFor(expectedDegree)));
+        nodeIds.add(nodeData);
+    }
+
+    /**
+     * Adds edge, whose src and dst are already present, to this and its indexes
+     *
+     * @param edge the edge to add
+     * @param outgoingEdges the outgoing edges of the src of edge
+     * @return true if and only if edge was not already in this
+     * @spec.requires edge != null &amp;&amp; src and dst of edge are in this
+     * @spec.modifies this
+     */
+    private boolean insertEdge(Edge<N, E> edge, Set<Edge<N, E>> outgoingEdges) {
+        if (!outgoingEdges.add(edge)) {
+            return false;
+        }
+
+        reverseGraph.get(edge.getDst()).add(edge);
+        edgeCount++;
+
+        if (labelIndex != null) {
+            if (!labelIndex.containsKey(edge.getLabel())) {
+                labelIndex.put(edge.getLabel(), new HashSet<>());
+            }
+            labelIndex.get(edge.getLabel()).add(edge);
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes edge, whose src is present, from this and its indexes
+     *
+     * @param edge the edge to remove
+     * @return true if and only if edge was in this
+     * @spec.requires edge != null &amp;&amp; src of edge is in this
+     * @spec.modifies this
+     */
+    private boolean deleteEdge(Edge<N, E> edge) {
+        if (!graph.get(edge.getSrc()).remove(edge)) {
+            return false;
+        }
+
+        reverseGraph.get(edge.getDst()).remove(edge);
+        edgeCount--;
+
+        if (labelIndex != null) {
+            Set<Edge<N, E>> labeledEdges = labelIndex.get(edge.getLabel());
+            labeledEdges.remove(edge);
+
+            if (labeledEdges.isEmpty()) {
+                labelIndex.remove(edge.getLabel());
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks that the rep is maintained. Meant for GraphBuilder after unchecked additions.
+     */
+    void checkBuiltRep() {
+        checkRep();
+    }
+
     /**
      * Returns the children of parent
      *
@@ -127,6 +415,7 @@ public class Graph<N, E> implements Iterable<N> {
      * @return all nodes ni such that parent - ni (Li) where i is arbitrary
      * @throws NullPointerException if parent == null
      */
+    @Override
     public List<N> getChildren(N parent) {
         checkRep();
 
@@ -154,6 +443,7 @@ public class Graph<N, E> implements Iterable<N> {
      * @return all nodes ni such that ni - child (Li) where i is arbitrary
      * @throws NullPointerException if child == null
      */
+    @Override
     public List<N> getParents(N child) {
         checkRep();
 
@@ -163,15 +453,11 @@ public class Graph<N, E> implements Iterable<N> {
 
         List<N> parents = new ArrayList<>();
 
-        // Inv: parents contains all source nodes of outgoing
-        // edges of nodes from 0 to i-1 where edge.getDst() == child
-        for (N node : graph.keySet()) {
-            // Inv: parents contains all source nodes of edges from
-            // 0 to j-1 where edge.getDst() == child
-            for (Edge<N, E> edge : graph.get(node)) {
-                if (edge.getDst().equals(child)) {
-                    parents.add(edge.getSrc());
-                }
+        if (reverseGraph.containsKey(child)) {
+            // Inv: parents contains all source nodes of
+            // incoming edges of child from 0 to i-1
+            for (Edge<N, E> edge : reverseGraph.get(child)) {
+                parents.add(edge.getSrc());
             }
         }
 
@@ -181,13 +467,15 @@ public class Graph<N, E> implements Iterable<N> {
     }
 
     /**
-     * Returns the edges that possess label
+     * Returns the edges that possess label. Runs in time proportional to the number of
+     * matching edges if this maintains a label index, and to the number of edges otherwise.
      *
      * @param label the label to check if edges possess
      * @return all edges ni - nj (label) where i,j are arbitrary
      * @throws NullPointerException if label == null
      */
-    public List<Edge<N, E>> getEdgesByLabel(N label) {
+    @Override
+    public List<Edge<N, E>> getEdgesByLabel(E label) {
         checkRep();
 
         if (label == null) {
@@ -196,6 +484,16 @@ public class Graph<N, E> implements Iterable<N> {
 
         List<Edge<N, E>> edges = new ArrayList<>();
 
+        if (labelIndex != null) {
+            if (labelIndex.containsKey(label)) {
+                edges.addAll(labelIndex.get(label));
+            }
+
+            checkRep();
+
+            return edges;
+        }
+
         // Inv: edges contains outgoing edges of all nodes from
         // 0 to i-1 where edge.getLabel() == label
         for (N node : graph.keySet()) {
@@ -219,6 +517,7 @@ public class Graph<N, E> implements Iterable<N> {
      * @return all edges ni - nodeData (Li) where i is arbitrary
      * @throws NullPointerException if nodeData == null
      */
+    @Override
     public List<Edge<N, E>> getIncomingEdges(N nodeData) {
         checkRep();
 
@@ -228,15 +527,8 @@ public class Graph<N, E> implements Iterable<N> {
 
         List<Edge<N, E>> edges = new ArrayList<>();
 
-        // Inv: edges contains outgoing edges of all nodes from
-        // 0 to i-1 where edge.getDst() == nodeData
-        for (N node : graph.keySet()) {
-            // Inv: edges contains all edges from 0 to j-1 where edge.getDst() == nodeData
-            for (Edge<N, E> edge : graph.get(node)) {
-                if (edge.getDst().equals(nodeData)) {
-                    edges.add(edge);
-                }
-            }
+        if (reverseGraph.containsKey(nodeData)) {
+            edges.addAll(reverseGraph.get(nodeData));
         }
 
         checkRep();
@@ -245,12 +537,14 @@ public class Graph<N, E> implements Iterable<N> {
     }
 
     /**
-     * Returns the outgoing edges of nodeData
+     * Returns the outgoing edges of nodeData as a new list, which callers are free to
+     * modify. Use outgoingEdges or forEachOutgoing to traverse without copying.
      *
      * @param nodeData the node to which to find the edges pointing from
      * @return all edges nodeData - ni (Li) where i is arbitrary
      * @throws NullPointerException if nodeData == null
      */
+    @Override
     public List<Edge<N, E>> getOutgoingEdges(N nodeData) {
         checkRep();
 
@@ -269,6 +563,131 @@ public class Graph<N, E> implements Iterable<N> {
         return edges;
     }
 
+    /**
+     * Returns a read-only view of the outgoing edges of nodeData. Unlike getOutgoingEdges,
+     * the edges are not copied, so the view is cheap to get but reflects later changes to this.
+     *
+     * @param nodeData the node to which to find the edges pointing from
+     * @return a read-only view of all edges nodeData - ni (Li) where i is arbitrary,
+     * which is empty if nodeData is not in this
+     * @throws NullPointerException if nodeData == null
+     */
+    @Override
+    public Collection<Edge<N, E>> outgoingEdges(N nodeData) {
+        checkRep();
+
+        if (nodeData == null) {
+            throw new NullPointerException();
+        }
+
+        Set<Edge<N, E>> edges = graph.get(nodeData);
+
+        return edges == null ? Collections.emptySet() : Collections.unmodifiableSet(edges);
+    }
+
+    /**
+     * Returns a read-only view of the incoming edges of nodeData. Unlike getIncomingEdges,
+     * the edges are not copied, so the view is cheap to get but reflects later changes to this.
+     *
+     * @param nodeData the node to which to find the edges pointing to
+     * @return a read-only view of all edges ni - nodeData (Li) where i is arbitrary,
+     * which is empty if nodeData is not in this
+     * @throws NullPointerException if nodeData == null
+     */
+    @Override
+    public Collection<Edge<N, E>> incomingEdges(N nodeData) {
+        checkRep();
+
+        if (nodeData == null) {
+            throw new NullPointerException();
+        }
+
+        Set<Edge<N, E>> edges = reverseGraph.get(nodeData);
+
+        return edges == null ? Collections.emptySet() : Collections.unmodifiableSet(edges);
+    }
+
+    /**
+     * Passes each outgoing edge of nodeData to action without copying the edges
+     *
+     * @param nodeData the node whose outgoing edges are to be visited
+     * @param action the action to perform on each edge nodeData - ni (Li) where i is arbitrary
+     * @throws NullPointerException if nodeData == null || action == null
+     * @spec.requires action doesn't modify this
+     */
+    @Override
+    public void forEachOutgoing(N nodeData, Consumer<? super Edge<N, E>> action) {
+        checkRep();
+
+        if (nodeData == null || action == null) {
+            throw new NullPointerException();
+        }
+
+        Set<Edge<N, E>> edges = graph.get(nodeData);
+
+        if (edges != null) {
+            // Inv: action has been performed on all edges from 0 to i-1
+            for (Edge<N, E> edge : edges) {
+                action.accept(edge);
+            }
+        }
+
+        checkRep();
+    }
+
+    /**
+     * Passes the id of each child of the node with id to action, without copying the edges
+     * or boxing the ids
+     *
+     * @param id the id in nodeIds() of the parent node whose children are to be visited
+     * @param action the action to perform on the id of each ni such that parent - ni (Li)
+     * where i is arbitrary. An id is passed once per edge, so it can be passed more than
+     * once if parent has edges with different labels to the same child
+     * @throws NullPointerException if action == null
+     * @throws NoSuchElementException if id is not an id in nodeIds()
+     * @spec.requires action doesn't modify this
+     */
+    public void forEachChildId(int id, IntConsumer action) {
+        checkRep();
+
+        if (action == null) {
+            throw new NullPointerException();
+        }
+
+        // Inv: action has been performed on the dst ids of all edges from 0 to i-1
+        for (Edge<N, E> edge : graph.get(nodeIds.getNode(id))) {
+            action.accept(nodeIds.getId(edge.getDst()));
+        }
+
+        checkRep();
+    }
+
+    /**
+     * Returns whether this maintains an index from labels to edges
+     *
+     * @return true if and only if this was constructed with a label index
+     */
+    public boolean isLabelIndexed() {
+        checkRep();
+
+        return labelIndex != null;
+    }
+
+    /**
+     * Returns the dictionary of dense int ids of the nodes in this. A node added to this gets
+     * the id nodeIds().size() - 1, and when a node is removed the node with the largest id
+     * takes its id. Other nodes keep their ids.
+     *
+     * @return a read-only view of the ids of the nodes in this, which reflects later changes
+     * to this
+     */
+    @Override
+    public NodeDictionary<N> nodeIds() {
+        checkRep();
+
+        return nodeIds;
+    }
+
     /**
      * Returns whether nodeData is present in this
      *
@@ -276,6 +695,7 @@ public class Graph<N, E> implements Iterable<N> {
      * @return true if and only if nodeData is present in this
      * @throws NullPointerException if nodeData == null
      */
+    @Override
     public boolean containsNode(N nodeData) {
         checkRep();
 
@@ -291,7 +711,8 @@ public class Graph<N, E> implements Iterable<N> {
     }
 
     /**
-     * Returns whether edge with label is present from src node to dst node
+     * Returns whether edge with label is present from src node to dst node. Runs in
+     * constant expected time.
      *
      * @param label the label of the edge to check if present from src node to dst node
      * @param src the source node to check if edge with label exists from
@@ -299,6 +720,7 @@ public class Graph<N, E> implements Iterable<N> {
      * @return true if and only if src - dst (label) is an edge in this
      * @throws NullPointerException if label == null || src == null || dst == null
      */
+    @Override
     public boolean containsEdge(E label, N src, N dst) {
         checkRep();
 
@@ -306,20 +728,132 @@ public class Graph<N, E> implements Iterable<N> {
             throw new NullPointerException();
         }
 
-        Edge<N, E> edgeToCheck = new Edge<>(label, src, dst);
+        // Only src can hold src - dst (label), and its outgoing edges are
+        // hashed by label, src, and dst, so one probe decides membership
+        Set<Edge<N, E>> outgoingEdges = graph.get(src);
+        boolean result = outgoingEdges != null && outgoingEdges.contains(new Edge<>(label, src, dst));
+
+        checkRep();
+
+        return result;
+    }
+
+    /**
+     * Returns the number of edges in this
+     *
+     * @return the number of edges in this
+     */
+    public int edgeCount() {
+        checkRep();
+
+        return edgeCount;
+    }
+
+    /**
+     * Returns the statistics of this, with the estimated bytes retained by the outgoing and
+     * incoming node maps, the edge sets of each node, the Edge objects, the label index and
+     * the node ids
+     *
+     * @return a GraphStats of the nodes, edges and representation of this
+     */
+    public GraphStats stats() {
+        checkRep();
+
+        long outgoingSets = 0;
+        long incomingSets = 0;
 
-        // Inv: All nodes from 0 to i-1 don't contain
-        // edgeToCheck as one of their outgoing edges
+        // Inv: outgoingSets and incomingSets are the estimated bytes of the edge sets of
+        // all nodes from 0 to i-1
         for (N node : graph.keySet()) {
-            if (graph.get(node).contains(edgeToCheck)) {
-                checkRep();
-                return true;
+            outgoingSets += GraphStats.hashSetBytes(graph.get(node).size());
+            incomingSets += GraphStats.hashSetBytes(reverseGraph.get(node).size());
+        }
+
+        Map<String, Long> bytes = new LinkedHashMap<>();
+        bytes.put("outgoing node map", GraphStats.hashMapBytes(graph.size()));
+        bytes.put("outgoing edge sets", outgoingSets);
+        bytes.put("incoming node map", GraphStats.hashMapBytes(reverseGraph.size()));
+        bytes.put("incoming edge sets", incomingSets);
+        bytes.put("edges", (long) edgeCount * GraphStats.EDGE_BYTES);
+
+        if (labelIndex != null) {
+            long labelSets = GraphStats.hashMapBytes(labelIndex.size());
+
+            // Inv: labelSets includes the estimated bytes of the edge sets of all labels from 0 to i-1
+            for (Set<Edge<N, E>> edges : labelIndex.values()) {
+                labelSets += GraphStats.hashSetBytes(edges.size());
             }
+
+            bytes.put("label index", labelSets);
         }
 
+        bytes.put("node ids", nodeIds.estimatedBytes());
+
+        return new GraphStats(this, bytes);
+    }
+
+    /**
+     * Returns a stream of the nodes in this. Its spliterator splits the nodes evenly by id,
+     * and reports SIZED, SUBSIZED, DISTINCT and NONNULL, so parallel streams divide the work
+     * across threads without buffering.
+     *
+     * @return a sequential stream of the nodes contained in this in id order
+     * @spec.requires this is not modified while the stream is in use
+     */
+    public Stream<N> nodes() {
+        checkRep();
+
+        return StreamSupport.stream(new NodeSpliterator(0, nodeIds.size()), false);
+    }
+
+    /**
+     * Returns a stream of the edges in this. Its spliterator splits the edges by ranges of
+     * src node ids, and reports SIZED, DISTINCT and NONNULL before it is split, so parallel
+     * streams divide the work across threads without buffering.
+     *
+     * @return a sequential stream of the edges contained in this, grouped by src node in id order
+     * @spec.requires this is not modified while the stream is in use
+     */
+    public Stream<Edge<N, E>> edges() {
+        checkRep();
+
+        return StreamSupport.stream(new EdgeSpliterator(0, nodeIds.size(), edgeCount, true), false);
+    }
+
+    /**
+     * Returns an immutable compressed sparse row snapshot of this
+     *
+     * @return a CompactGraph with the same nodes and edges as this. Later changes to
+     * this are not reflected in the snapshot.
+     */
+    public CompactGraph<N, E> freeze() {
+        checkRep();
+
+        CompactGraph<N, E> snapshot = new CompactGraph<>(this);
+
         checkRep();
 
-        return false;
+        return snapshot;
+    }
+
+    /**
+     * Returns an immutable compressed sparse row snapshot of this in which the outgoing edges
+     * of each node are sorted by edgeOrder, so traversals can visit them in that order by edge
+     * index without sorting
+     *
+     * @param edgeOrder the order to put the outgoing edges of each node in
+     * @return a CompactGraph with the same nodes and edges as this, whose edgeOrder() is
+     * edgeOrder. Later changes to this are not reflected in the snapshot.
+     * @throws NullPointerException if edgeOrder == null
+     */
+    public CompactGraph<N, E> freeze(Comparator<? super Edge<N, E>> edgeOrder) {
+        checkRep();
+
+        CompactGraph<N, E> snapshot = CompactGraph.sortedOf(this, edgeOrder);
+
+        checkRep();
+
+        return snapshot;
     }
 
     /**
@@ -341,6 +875,161 @@ public class Graph<N, E> implements Iterable<N> {
         return nodeIterator;
     }
 
+    /**
+     * NodeSpliterator is a spliterator of the nodes of this with ids in a range
+     */
+    private class NodeSpliterator implements Spliterator<N> {
+        private int origin;
+        private final int fence;
+
+        // Abstraction Function:
+        // The remaining nodes are those with ids from origin to fence-1
+        //
+        // Rep Invariant:
+        // 0 <= origin <= fence <= nodeIds.size()
+
+        /**
+         * @param origin the id of the first node
+         * @param fence one past the id of the last node
+         * @spec.requires 0 &lt;= origin &lt;= fence &lt;= nodeIds.size()
+         * @spec.effects Constructs a new NodeSpliterator
+         */
+        NodeSpliterator(int origin, int fence) {
+            this.origin = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super N> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+
+            if (origin >= fence) {
+                return false;
+            }
+
+            action.accept(nodeIds.getNode(origin++));
+
+            return true;
+        }
+
+        @Override
+        public Spliterator<N> trySplit() {
+            int middle = (origin + fence) >>> 1;
+
+            if (middle <= origin) {
+                return null;
+            }
+
+            Spliterator<N> prefix = new NodeSpliterator(origin, middle);
+            origin = middle;
+
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - origin;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED |
+                   Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+    }
+
+    /**
+     * EdgeSpliterator is a spliterator of the outgoing edges of the nodes of this with ids in
+     * a range. Splitting divides the range of src nodes, so the sizes of the parts are estimated
+     * in proportion to their numbers of nodes.
+     */
+    private class EdgeSpliterator implements Spliterator<Edge<N, E>> {
+        private int origin;
+        private final int fence;
+        private long size;
+        private boolean exact;
+        private Iterator<Edge<N, E>> current;
+
+        // Abstraction Function:
+        // The remaining edges are those left in current, followed by the outgoing
+        // edges of the nodes with ids from origin to fence-1. size is their number
+        // if exact, and otherwise an estimate of it
+        //
+        // Rep Invariant:
+        // 0 <= origin <= fence <= nodeIds.size() && size >= 0
+
+        /**
+         * @param origin the id of the first src node
+         * @param fence one past the id of the last src node
+         * @param size the number of edges, or an estimate of it if !exact
+         * @param exact whether size is exact
+         * @spec.requires 0 &lt;= origin &lt;= fence &lt;= nodeIds.size() &amp;&amp; size &gt;= 0
+         * @spec.effects Constructs a new EdgeSpliterator
+         */
+        EdgeSpliterator(int origin, int fence, long size, boolean exact) {
+            this.origin = origin;
+            this.fence = fence;
+            this.size = size;
+            this.exact = exact;
+            current = null;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Edge<N, E>> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+
+            // Inv: the nodes with ids before origin have no edges left to return
+            while (current == null || !current.hasNext()) {
+                if (origin >= fence) {
+                    return false;
+                }
+
+                current = graph.get(nodeIds.getNode(origin++)).iterator();
+            }
+
+            action.accept(current.next());
+
+            if (size > 0) {
+                size--;
+            }
+
+            return true;
+        }
+
+        @Override
+        public Spliterator<Edge<N, E>> trySplit() {
+            int middle = (origin + fence) >>> 1;
+
+            if (middle <= origin) {
+                return null;
+            }
+
+            long prefixSize = size * (middle - origin) / (fence - origin);
+            Spliterator<Edge<N, E>> prefix = new EdgeSpliterator(origin, middle, prefixSize, false);
+
+            // The prefix takes the unsplit range only, so edges left in current stay here
+            origin = middle;
+            size -= prefixSize;
+            exact = false;
+
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return size;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.DISTINCT | Spliterator.NONNULL | (exact ? Spliterator.SIZED : 0);
+        }
+    }
+
     /**
      * Edge is a generic immutable connection between two immutable nodes with direction and
      * an immutable label. Behavior of Edge is unspecified when either node or edge label
@@ -0,0 +1,233 @@
+package graph;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * GraphBuilder is a mutable one-shot builder of a Graph from a large number of nodes and edges.
+ * It sizes the Graph's node tables up front from the expected counts and adds edges in batches,
+ * skipping the per-call validation and rep checks that Graph.addEdge performs, so loading a
+ * large dataset doesn't rehash the node tables and doesn't check the rep once per edge. The
+ * edge sets of each node start small and grow with its degree.
+ *
+ * Unlike Graph.addEdge, adding an edge to a GraphBuilder adds its src and dst nodes if they
+ * are not already present. Duplicate nodes and duplicate edges are ignored, as in Graph.
+ *
+ * @param <N> the type of nodes
+ * @param <E> the type of edge labels
+ */
+public class GraphBuilder<N, E> {
+    private Graph<N, E> graph;
+
+    // Abstraction Function:
+    // graph holds the nodes and edges added so far, and is null once the
+    // Graph has been handed out by build() or freeze()
+    //
+    // Rep Invariant:
+    // true (graph may be null after building)
+
+    /**
+     * @param expectedNodes the number of nodes expected to be added
+     * @param expectedEdges the number of edges expected to be added
+     * @param indexLabels whether the built Graph maintains an index from labels to edges
+     * @throws IllegalArgumentException if expectedNodes &lt; 0 || expectedEdges &lt; 0
+     * @spec.effects Constructs a new GraphBuilder with no nodes or edges
+     */
+    public GraphBuilder(int expectedNodes, int expectedEdges, boolean indexLabels) {
+        if (expectedNodes < 0 || expectedEdges < 0) {
+            throw new IllegalArgumentException("Expected counts must be non-negative");
+        }
+
+        int expectedDegree = expectedNodes == 0 ? 0 : expectedEdges / expectedNodes;
+
+        graph = new Graph<>(indexLabels, expectedNodes, expectedDegree);
+    }
+
+    /**
+     * @param expectedNodes the number of nodes expected to be added
+     * @param expectedEdges the number of edges expected to be added
+     * @throws IllegalArgumentException if expectedNodes &lt; 0 || expectedEdges &lt; 0
+     * @spec.effects Constructs a new GraphBuilder with no nodes or edges, whose built
+     * Graph doesn't index labels
+     */
+    public GraphBuilder(int expectedNodes, int expectedEdges) {
+        this(expectedNodes, expectedEdges, false);
+    }
+
+    /**
+     * Adds nodeData to the graph being built
+     *
+     * @param nodeData the node to add
+     * @return this
+     * @throws NullPointerException if nodeData == null
+     * @throws IllegalStateException if the graph has already been built
+     * @spec.modifies this
+     */
+    public GraphBuilder<N, E> addNode(N nodeData) {
+        checkNotBuilt();
+
+        if (nodeData == null) {
+            throw new NullPointerException();
+        }
+
+        graph.addNode(nodeData);
+
+        return this;
+    }
+
+    /**
+     * Adds all nodes to the graph being built
+     *
+     * @param nodes the nodes to add
+     * @return this
+     * @throws NullPointerException if nodes == null or nodes contains null
+     * @throws IllegalStateException if the graph has already been built
+     * @spec.modifies this
+     */
+    public GraphBuilder<N, E> addNodes(Collection<? extends N> nodes) {
+        checkNotBuilt();
+
+        // Inv: all nodes from 0 to i-1 have been added
+        for (N nodeData : nodes) {
+            addNode(nodeData);
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds the edge src - dst (label), and src and dst if absent, to the graph being built
+     *
+     * @param label the label of the edge
+     * @param src the source node from which the edge starts
+     * @param dst the destination node to which the edge points
+     * @return this
+     * @throws NullPointerException if label == null || src == null || dst == null
+     * @throws IllegalStateException if the graph has already been built
+     * @spec.modifies this
+     */
+    public GraphBuilder<N, E> addEdge(E label, N src, N dst) {
+        checkNotBuilt();
+
+        graph.addEdgeUnchecked(new Graph.Edge<>(label, src, dst));
+
+        return this;
+    }
+
+    /**
+     * Adds all edges, and their src and dst nodes if absent, to the graph being built.
+     * The given Edge objects are stored as is rather than copied.
+     *
+     * @param edges the edges to add
+     * @return this
+     * @throws NullPointerException if edges == null or edges contains null
+     * @throws IllegalStateException if the graph has already been built
+     * @spec.modifies this
+     */
+    public GraphBuilder<N, E> addEdges(Collection<? extends Graph.Edge<N, E>> edges) {
+        checkNotBuilt();
+
+        return addEdges(edges.iterator());
+    }
+
+    /**
+     * Adds all edges of a stream, and their src and dst nodes if absent, to the graph
+     * being built. The stream is consumed sequentially, and its Edge objects are stored
+     * as is rather than copied.
+     *
+     * @param edges the edges to add
+     * @return this
+     * @throws NullPointerException if edges == null or edges contains null
+     * @throws IllegalStateException if the graph has already been built
+     * @spec.modifies this
+     */
+    public GraphBuilder<N, E> addEdges(Stream<? extends Graph.Edge<N, E>> edges) {
+        checkNotBuilt();
+
+        return addEdges(edges.sequential().iterator());
+    }
+
+    /**
+     * Adds all edges of an iterator to the graph being built
+     *
+     * @param edges the edges to add
+     * @return this
+     * @throws NullPointerException if edges contains null
+     * @spec.modifies this
+     */
+    private GraphBuilder<N, E> addEdges(Iterator<? extends Graph.Edge<N, E>> edges) {
+        // Inv: all edges from 0 to i-1 have been added
+        while (edges.hasNext()) {
+            Graph.Edge<N, E> edge = edges.next();
+
+            if (edge == null) {
+                throw new NullPointerException();
+            }
+
+            graph.addEdgeUnchecked(edge);
+        }
+
+        return this;
+    }
+
+    /**
+     * Returns the built graph. This builder can't be used afterwards.
+     *
+     * @return a Graph with all nodes and edges added to this
+     * @throws IllegalStateException if the graph has already been built
+     * @spec.modifies this
+     */
+    public Graph<N, E> build() {
+        checkNotBuilt();
+
+        Graph<N, E> result = graph;
+        graph = null;
+
+        result.checkBuiltRep();
+
+        return result;
+    }
+
+    /**
+     * Returns an immutable compact snapshot of the built graph. This builder can't be used
+     * afterwards.
+     *
+     * @return a CompactGraph with all nodes and edges added to this
+     * @throws IllegalStateException if the graph has already been built
+     * @spec.modifies this
+     */
+    public CompactGraph<N, E> freeze() {
+        return build().freeze();
+    }
+
+    /**
+     * Returns an immutable compact snapshot of the built graph in which the outgoing edges of
+     * each node are sorted by edgeOrder. This builder can't be used afterwards.
+     *
+     * @param edgeOrder the order to put the outgoing edges of each node in
+     * @return a CompactGraph with all nodes and edges added to this, whose edgeOrder() is edgeOrder
+     * @throws NullPointerException if edgeOrder == null
+     * @throws IllegalStateException if the graph has already been built
+     * @spec.modifies this
+     */
+    public CompactGraph<N, E> freeze(Comparator<? super Graph.Edge<N, E>> edgeOrder) {
+        if (edgeOrder == null) {
+            throw new NullPointerException();
+        }
+
+        return build().freeze(edgeOrder);
+    }
+
+    /**
+     * Checks that the graph hasn't been handed out yet
+     *
+     * @throws IllegalStateException if the graph has already been built
+     */
+    private void checkNotBuilt() {
+        if (graph == null) {
+            throw new IllegalStateException("Graph has already been built");
+        }
+    }
+}
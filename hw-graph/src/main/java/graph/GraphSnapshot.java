@@ -0,0 +1,514 @@
+package graph;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Saving and restoring graphs in a compact versioned binary format, so that a graph built once
+ * can be loaded again much faster than it can be rebuilt from its source data.
+ *
+ * A snapshot holds, in order: a magic number and format version; the node and edge counts; a
+ * table of all nodes, whose positions are their ids; a table of all distinct labels, whose
+ * positions are their ids; the outgoing edges of each node as a count followed by (dst id, label
+ * id) pairs sorted by dst id, where each dst id is stored as the difference from the previous one;
+ * and a CRC32 checksum of everything before it. Counts, ids and differences are stored as
+ * variable-length integers, so most take one or two bytes. Nodes and labels are encoded by
+ * Codecs supplied by the caller.
+ *
+ * A snapshot restores fastest with readCompact, which fills the arrays of a CompactGraph
+ * directly. If the snapshot was written with node and label orders, the stored edges of each
+ * node are already in the order of dst and then label under those orders, so a CompactGraph
+ * with edges sorted that way is restored without sorting.
+ *
+ * Snapshots are validated as they are read: counts are only trusted as capacity hints up to a
+ * bound until the data they count has been read, and every id, count and the order of the
+ * edges is checked, so a truncated or corrupt snapshot is reported as a
+ * StreamCorruptedException rather than by a failed allocation or an unrelated exception.
+ */
+public class GraphSnapshot {
+    private static final int MAGIC = 0x47534E50; // "GSNP"
+    private static final int VERSION = 1;
+
+    // The largest count read from a snapshot that is used to size an allocation before the
+    // data it counts has been read; larger structures grow as their data arrives
+    private static final int MAX_PRESIZE = 1 << 20;
+
+    // This is a container for related functionality, not an ADT
+
+    /**
+     * A Codec writes values of one type to a stream and reads them back
+     *
+     * @param <T> the type of values
+     */
+    public interface Codec<T> {
+        /**
+         * Codec for Strings of any length, encoded as their UTF-8 length and bytes
+         */
+        Codec<String> STRING = new Codec<>() {
+            @Override
+            public void write(String value, DataOutput out) throws IOException {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(out, bytes.length);
+                out.write(bytes);
+            }
+
+            @Override
+            public String read(DataInput in) throws IOException {
+                int length = readCount(in);
+                byte[] bytes = new byte[Math.min(length, MAX_PRESIZE)];
+                in.readFully(bytes);
+
+                // Inv: bytes holds the first bytes.length bytes of the string
+                while (bytes.length < length) {
+                    int read = bytes.length;
+                    bytes = Arrays.copyOf(bytes, (int) Math.min(2L * read, length));
+                    in.readFully(bytes, read, bytes.length - read);
+                }
+
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+
+        /**
+         * Codec for Doubles, encoded as their 8 IEEE 754 bytes
+         */
+        Codec<Double> DOUBLE = new Codec<>() {
+            @Override
+            public void write(Double value, DataOutput out) throws IOException {
+                out.writeDouble(value);
+            }
+
+            @Override
+            public Double read(DataInput in) throws IOException {
+                return in.readDouble();
+            }
+        };
+
+        /**
+         * Writes value to out
+         *
+         * @param value the value to write
+         * @param out the stream to write to
+         * @throws IOException if out can't be written
+         * @spec.requires value != null
+         */
+        void write(T value, DataOutput out) throws IOException;
+
+        /**
+         * Reads a value written by write from in
+         *
+         * @param in the stream to read from
+         * @return the value read
+         * @throws IOException if in can't be read
+         */
+        T read(DataInput in) throws IOException;
+    }
+
+    /**
+     * Writes a snapshot of graph to out. out is flushed but not closed.
+     *
+     * @param graph the graph to write
+     * @param out the stream to write to
+     * @param nodeCodec the codec for the nodes of graph
+     * @param labelCodec the codec for the labels of graph
+     * @param <N> the type of nodes
+     * @param <E> the type of edge labels
+     * @throws IOException if out can't be written
+     * @throws NullPointerException if any argument is null
+     * @spec.requires graph is not modified during the call
+     */
+    public static <N, E> void write(GraphView<N, E> graph, OutputStream out,
+                                    Codec<N> nodeCodec, Codec<E> labelCodec) throws IOException {
+        write(graph, out, nodeCodec, labelCodec, null, null);
+    }
+
+    /**
+     * Writes a snapshot of graph to out in which the nodes and labels are numbered in the given
+     * orders, so the stored edges of each node are in the order of their dst under nodeOrder and
+     * then their label under labelOrder. out is flushed but not closed.
+     *
+     * @param graph the graph to write
+     * @param out the stream to write to
+     * @param nodeCodec the codec for the nodes of graph
+     * @param labelCodec the codec for the labels of graph
+     * @param nodeOrder the order to number the nodes in, or null for the order graph gives them in
+     * @param labelOrder the order to number the labels in, or null for the order they are first
+     * found in
+     * @param <N> the type of nodes
+     * @param <E> the type of edge labels
+     * @throws IOException if out can't be written
+     * @throws NullPointerException if graph, out, nodeCodec or labelCodec is null
+     * @spec.requires graph is not modified during the call &amp;&amp; nodeOrder and labelOrder
+     * are consistent with equals
+     */
+    public static <N, E> void write(GraphView<N, E> graph, OutputStream out, Codec<N> nodeCodec,
+                                    Codec<E> labelCodec, Comparator<? super N> nodeOrder,
+                                    Comparator<? super E> labelOrder) throws IOException {
+        List<N> nodes = new ArrayList<>();
+        Set<E> labelSet = new LinkedHashSet<>();
+        int edgeCount = 0;
+
+        // Inv: nodes holds all nodes from 0 to i-1 in order
+        for (N node : graph) {
+            nodes.add(node);
+        }
+
+        // Inv: labelSet holds the distinct labels of the outgoing edges of all nodes from
+        // 0 to i-1, and edgeCount is the number of those edges
+        for (N node : nodes) {
+            // Inv: labelSet holds the labels of all outgoing edges of node from 0 to j-1
+            for (Graph.Edge<N, E> edge : graph.outgoingEdges(node)) {
+                labelSet.add(edge.getLabel());
+                edgeCount++;
+            }
+        }
+
+        List<E> labels = new ArrayList<>(labelSet);
+
+        if (nodeOrder != null) {
+            nodes.sort(nodeOrder);
+        }
+
+        if (labelOrder != null) {
+            labels.sort(labelOrder);
+        }
+
+        Map<N, Integer> nodeIds = new LinkedHashMap<>();
+        Map<E, Integer> labelIds = new LinkedHashMap<>();
+
+        // Inv: nodeIds numbers the nodes from 0 to i-1 in order
+        for (N node : nodes) {
+            nodeIds.put(node, nodeIds.size());
+        }
+
+        // Inv: labelIds numbers the labels from 0 to i-1 in order
+        for (E label : labels) {
+            labelIds.put(label, labelIds.size());
+        }
+
+        CRC32 checksum = new CRC32();
+        DataOutputStream data = new DataOutputStream(
+                new CheckedOutputStream(new BufferedOutputStream(out, 1 << 16), checksum));
+
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        writeVarInt(data, nodeIds.size());
+        writeVarInt(data, edgeCount);
+
+        // Inv: nodes from 0 to i-1 have been written
+        for (N node : nodeIds.keySet()) {
+            nodeCodec.write(node, data);
+        }
+
+        writeVarInt(data, labelIds.size());
+
+        // Inv: labels from 0 to i-1 have been written
+        for (E label : labelIds.keySet()) {
+            labelCodec.write(label, data);
+        }
+
+        // Inv: the outgoing edges of all nodes from 0 to i-1 have been written
+        for (N node : nodeIds.keySet()) {
+            Collection<Graph.Edge<N, E>> edges = graph.outgoingEdges(node);
+            long[] pairs = new long[edges.size()];
+            int count = 0;
+
+            // Inv: pairs holds the (dst id, label id) of edges from 0 to j-1
+            for (Graph.Edge<N, E> edge : edges) {
+                pairs[count++] = (long) nodeIds.get(edge.getDst()) << 32 | labelIds.get(edge.getLabel());
+            }
+
+            Arrays.sort(pairs);
+            writeVarInt(data, pairs.length);
+
+            int previous = 0;
+
+            // Inv: pairs from 0 to k-1 have been written, and previous is the dst id of pair k-1
+            for (long pair : pairs) {
+                int dst = (int) (pair >>> 32);
+                writeVarInt(data, dst - previous);
+                writeVarInt(data, (int) pair);
+                previous = dst;
+            }
+        }
+
+        data.writeInt((int) checksum.getValue());
+        data.flush();
+    }
+
+    /**
+     * Reads a snapshot written by write from in into a new Graph, which is built once the
+     * whole snapshot has been read and its checksum matches. in is not closed.
+     *
+     * @param in the stream to read from
+     * @param nodeCodec the codec the nodes were written with
+     * @param labelCodec the codec the labels were written with
+     * @param indexLabels whether the returned Graph maintains an index from labels to edges
+     * @param <N> the type of nodes
+     * @param <E> the type of edge labels
+     * @return a Graph with the nodes and edges of the snapshot
+     * @throws IOException if in can't be read
+     * @throws StreamCorruptedException if in doesn't hold a complete snapshot of this version,
+     * its contents are inconsistent, or its checksum doesn't match
+     * @throws NullPointerException if any argument is null
+     */
+    public static <N, E> Graph<N, E> read(InputStream in, Codec<N> nodeCodec, Codec<E> labelCodec,
+                                          boolean indexLabels) throws IOException {
+        CompactGraph<N, E> compact = readCompact(in, nodeCodec, labelCodec, null);
+        GraphBuilder<N, E> builder = new GraphBuilder<>(compact.nodeCount(), compact.edgeCount(), indexLabels);
+
+        // Inv: the nodes with ids from 0 to i-1 have been added to builder
+        for (int i = 0; i < compact.nodeCount(); i++) {
+            builder.addNode(compact.getNode(i));
+        }
+
+        // Inv: the outgoing edges of the nodes with ids from 0 to i-1 have been added to builder
+        for (int i = 0; i < compact.nodeCount(); i++) {
+            N src = compact.getNode(i);
+            int end = compact.edgeEnd(i);
+
+            // Inv: the edges of src from edgeStart(i) to k-1 have been added to builder
+            for (int k = compact.edgeStart(i); k < end; k++) {
+                builder.addEdge(compact.edgeLabel(k), src, compact.getNode(compact.edgeTarget(k)));
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Reads a snapshot written by write from in straight into the arrays of a new CompactGraph,
+     * without building a Graph. The nodes keep the ids they have in the snapshot. in is not closed.
+     *
+     * @param in the stream to read from
+     * @param nodeCodec the codec the nodes were written with
+     * @param labelCodec the codec the labels were written with
+     * @param edgeOrder the order to put the outgoing edges of each node in, or null to keep the
+     * order of the snapshot. The edges of a node already in this order are not sorted again.
+     * @param <N> the type of nodes
+     * @param <E> the type of edge labels
+     * @return a CompactGraph with the nodes and edges of the snapshot, whose edgeOrder() is edgeOrder
+     * @throws IOException if in can't be read
+     * @throws StreamCorruptedException if in doesn't hold a complete snapshot of this version,
+     * its contents are inconsistent, or its checksum doesn't match
+     * @throws NullPointerException if in, nodeCodec or labelCodec is null
+     */
+    public static <N, E> CompactGraph<N, E> readCompact(InputStream in, Codec<N> nodeCodec, Codec<E> labelCodec,
+                                                        Comparator<? super Graph.Edge<N, E>> edgeOrder)
+            throws IOException {
+        CRC32 checksum = new CRC32();
+        DataInputStream data = new DataInputStream(
+                new CheckedInputStream(new BufferedInputStream(in, 1 << 16), checksum));
+
+        NodeDictionary<N> nodeIds;
+        int[] offsets;
+        int[] targets;
+        Object[] labels;
+
+        try {
+            if (data.readInt() != MAGIC) {
+                throw new StreamCorruptedException("Not a graph snapshot");
+            }
+
+            int version = data.readInt();
+
+            if (version != VERSION) {
+                throw new StreamCorruptedException("Unsupported graph snapshot version " + version);
+            }
+
+            int nodeCount = readCount(data);
+            int edgeCount = readCount(data);
+            nodeIds = new NodeDictionary<>(Math.min(nodeCount, MAX_PRESIZE));
+
+            // Inv: nodeIds holds the nodes from 0 to i-1 with their ids in the snapshot
+            for (int i = 0; i < nodeCount; i++) {
+                N node = nodeCodec.read(data);
+
+                if (node == null || nodeIds.add(node) != i) {
+                    throw new StreamCorruptedException("Graph snapshot has a null or repeated node");
+                }
+            }
+
+            int labelCount = readCount(data);
+            List<E> labelTable = new ArrayList<>(Math.min(labelCount, MAX_PRESIZE));
+
+            // Inv: labelTable holds the labels from 0 to i-1
+            for (int i = 0; i < labelCount; i++) {
+                E label = labelCodec.read(data);
+
+                if (label == null) {
+                    throw new StreamCorruptedException("Graph snapshot has a null label");
+                }
+
+                labelTable.add(label);
+            }
+
+            // nodeCount nodes have been read, so it is no longer just a claim
+            offsets = new int[nodeCount + 1];
+            targets = new int[Math.min(edgeCount, MAX_PRESIZE)];
+            labels = new Object[targets.length];
+
+            int k = 0;
+
+            // Inv: targets and labels hold the k edges of the nodes from 0 to i-1, and
+            // offsets[j+1] is the index one past the last edge of node j for all j < i
+            for (int i = 0; i < nodeCount; i++) {
+                int degree = readCount(data);
+
+                if (degree > edgeCount - k) {
+                    throw new StreamCorruptedException("Graph snapshot has more edges than its edge count");
+                }
+
+                if (k + degree > targets.length) {
+                    int capacity = (int) Math.min(Math.max(2L * targets.length, k + degree), edgeCount);
+                    targets = Arrays.copyOf(targets, capacity);
+                    labels = Arrays.copyOf(labels, capacity);
+                }
+
+                int dst = 0;
+                int previousLabel = -1;
+
+                // Inv: the edges from 0 to j-1 of node i are at k-j to k-1, in strictly
+                // increasing order of (dst, label id), and dst is the dst id of edge j-1
+                for (int j = 0; j < degree; j++) {
+                    int difference = readCount(data);
+                    int label = readCount(data);
+
+                    if (difference >= nodeCount - dst || label >= labelCount) {
+                        throw new StreamCorruptedException("Graph snapshot refers to a missing node or label");
+                    }
+
+                    if (j > 0 && difference == 0 && label <= previousLabel) {
+                        throw new StreamCorruptedException("Graph snapshot has repeated or unsorted edges");
+                    }
+
+                    dst += difference;
+                    targets[k] = dst;
+                    labels[k] = labelTable.get(label);
+                    previousLabel = label;
+                    k++;
+                }
+
+                offsets[i + 1] = k;
+            }
+
+            if (k != edgeCount) {
+                throw new StreamCorruptedException("Graph snapshot has fewer edges than its edge count");
+            }
+
+            int expected = (int) checksum.getValue();
+
+            if (data.readInt() != expected) {
+                throw new StreamCorruptedException("Graph snapshot checksum doesn't match");
+            }
+        } catch (EOFException e) {
+            throw new StreamCorruptedException("Graph snapshot is truncated");
+        }
+
+        if (edgeOrder != null) {
+            // Inv: the edges of the nodes from 0 to i-1 are in edgeOrder
+            for (int i = 0; i < nodeIds.size(); i++) {
+                if (!isSorted(nodeIds, i, offsets[i], offsets[i + 1], targets, labels, edgeOrder)) {
+                    CompactGraph.sortEdges(nodeIds, i, offsets[i], offsets[i + 1], targets, labels, edgeOrder);
+                }
+            }
+        }
+
+        return new CompactGraph<>(nodeIds, offsets, targets, labels, edgeOrder);
+    }
+
+    /**
+     * Returns whether the edges of one node in the arrays of a snapshot are in edgeOrder
+     *
+     * @param nodeIds the ids of the nodes of the snapshot
+     * @param src the id of the node whose edges are checked
+     * @param start the index of the first edge of src
+     * @param end the index one past the last edge of src
+     * @param targets the dst ids of the edges
+     * @param labels the labels of the edges
+     * @param edgeOrder the order to check
+     * @return true if and only if the edges from start to end-1 are non-decreasing by edgeOrder
+     */
+    @SuppressWarnings("unchecked")
+    private static <N, E> boolean isSorted(NodeDictionary<N> nodeIds, int src, int start, int end,
+                                           int[] targets, Object[] labels,
+                                           Comparator<? super Graph.Edge<N, E>> edgeOrder) {
+        N node = nodeIds.getNode(src);
+
+        // Inv: the edges from start to k-1 are non-decreasing by edgeOrder
+        for (int k = start + 1; k < end; k++) {
+            Graph.Edge<N, E> previous = new Graph.Edge<>((E) labels[k - 1], node, nodeIds.getNode(targets[k - 1]));
+            Graph.Edge<N, E> edge = new Graph.Edge<>((E) labels[k], node, nodeIds.getNode(targets[k]));
+
+            if (edgeOrder.compare(previous, edge) > 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Writes value to out as a variable-length integer of 7 bits per byte, low bits first,
+     * where the high bit of each byte is set if more bytes follow
+     *
+     * @param out the stream to write to
+     * @param value the value to write, which is treated as unsigned
+     * @throws IOException if out can't be written
+     */
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        // Inv: the low bits of the original value that are no longer in value have been written
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        out.writeByte(value);
+    }
+
+    /**
+     * Reads a variable-length integer written by writeVarInt from in
+     *
+     * @param in the stream to read from
+     * @return the value read
+     * @throws IOException if in can't be read
+     * @throws StreamCorruptedException if the integer is longer than 5 bytes
+     */
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+
+        // Inv: value holds the bits of the bytes read so far
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+
+            if (b >= 0) {
+                return value;
+            }
+        }
+
+        throw new StreamCorruptedException("Malformed variable-length integer");
+    }
+
+    /**
+     * Reads a count, id or difference written by writeVarInt from in
+     *
+     * @param in the stream to read from
+     * @return the value read, which is not negative
+     * @throws IOException if in can't be read
+     * @throws StreamCorruptedException if the value is negative or malformed
+     */
+    private static int readCount(DataInput in) throws IOException {
+        int value = readVarInt(in);
+
+        if (value < 0) {
+            throw new StreamCorruptedException("Graph snapshot has a negative count");
+        }
+
+        return value;
+    }
+}
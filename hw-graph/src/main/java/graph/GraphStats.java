@@ -0,0 +1,394 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * GraphStats is an immutable summary of the shape and memory use of a graph at one point in time:
+ * its node, edge and distinct label counts, histograms of its out-degrees and in-degrees, and an
+ * estimate of the bytes retained by each structure of its representation. The byte estimates are
+ * only available for representations that report them, such as Graph and CompactGraph; for
+ * other views they are empty.
+ *
+ * Degree histograms use power-of-two buckets: bucket 0 counts the nodes of degree 0, and bucket
+ * b &gt; 0 counts the nodes with degree d such that 2^(b-1) &lt;= d &lt; 2^b.
+ *
+ * Byte estimates assume a 64-bit JVM with compressed references, 12-byte object headers and
+ * 8-byte object alignment, and hash tables grown only as far as their sizes need. They count the
+ * structures a representation owns, not the node and label objects shared with its clients.
+ */
+public final class GraphStats {
+    // Shallow sizes under the assumptions above
+    private static final int HASH_MAP_BYTES = 48;
+    private static final int HASH_MAP_ENTRY_BYTES = 32;
+    private static final int HASH_SET_BYTES = 16;
+    static final int EDGE_BYTES = 24;
+
+    private final int nodeCount;
+    private final int edgeCount;
+    private final int labelCount;
+    private final int maxOutDegree;
+    private final int maxInDegree;
+    private final int[] outDegreeHistogram;
+    private final int[] inDegreeHistogram;
+    private final Map<String, Long> estimatedBytes;
+
+    // Abstraction Function:
+    // A graph with nodeCount nodes, edgeCount edges and labelCount distinct
+    // labels, where outDegreeHistogram[b] and inDegreeHistogram[b] are the
+    // number of nodes in bucket b of out-degree and in-degree, and
+    // estimatedBytes maps the name of each structure of the graph to the
+    // number of bytes it retains
+    //
+    // Rep Invariant:
+    // outDegreeHistogram != null && inDegreeHistogram != null &&
+    // estimatedBytes != null && the sum of each histogram == nodeCount &&
+    // the last bucket of each histogram contains its max degree
+
+    /**
+     * Checks that the rep is maintained
+     */
+    private void checkRep() {
+        assert outDegreeHistogram != null;
+        assert inDegreeHistogram != null;
+        assert estimatedBytes != null;
+        assert Arrays.stream(outDegreeHistogram).sum() == nodeCount;
+        assert Arrays.stream(inDegreeHistogram).sum() == nodeCount;
+        assert outDegreeHistogram.length == bucketOf(maxOutDegree) + 1;
+        assert inDegreeHistogram.length == bucketOf(maxInDegree) + 1;
+    }
+
+    /**
+     * @param graph the graph to summarize
+     * @param estimatedBytes the estimated bytes retained by each structure of graph, by name
+     * @param <N> the type of nodes
+     * @param <E> the type of edge labels
+     * @spec.requires graph != null &amp;&amp; estimatedBytes != null &amp;&amp;
+     * graph is not modified during the call
+     * @spec.effects Constructs a new GraphStats of graph
+     */
+    <N, E> GraphStats(GraphView<N, E> graph, Map<String, Long> estimatedBytes) {
+        int nodes = 0;
+        int edges = 0;
+        int maxOut = 0;
+        int maxIn = 0;
+        int[] out = new int[33];
+        int[] in = new int[33];
+        Set<E> labels = new HashSet<>();
+
+        // Inv: nodes, edges, labels, the histograms and max degrees cover all nodes from 0 to i-1
+        for (N node : graph) {
+            int outDegree = 0;
+
+            // Inv: outDegree is the number of outgoing edges from 0 to j-1
+            for (Graph.Edge<N, E> edge : graph.outgoingEdges(node)) {
+                labels.add(edge.getLabel());
+                outDegree++;
+            }
+
+            int inDegree = graph.incomingEdges(node).size();
+
+            out[bucketOf(outDegree)]++;
+            in[bucketOf(inDegree)]++;
+            maxOut = Math.max(maxOut, outDegree);
+            maxIn = Math.max(maxIn, inDegree);
+            nodes++;
+            edges += outDegree;
+        }
+
+        this.nodeCount = nodes;
+        this.edgeCount = edges;
+        this.labelCount = labels.size();
+        this.maxOutDegree = maxOut;
+        this.maxInDegree = maxIn;
+        this.outDegreeHistogram = Arrays.copyOf(out, bucketOf(maxOut) + 1);
+        this.inDegreeHistogram = Arrays.copyOf(in, bucketOf(maxIn) + 1);
+        this.estimatedBytes = Collections.unmodifiableMap(new LinkedHashMap<>(estimatedBytes));
+        checkRep();
+    }
+
+    /**
+     * @param graph the compact graph to summarize
+     * @param estimatedBytes the estimated bytes retained by each structure of graph, by name
+     * @param <N> the type of nodes
+     * @param <E> the type of edge labels
+     * @spec.requires graph != null &amp;&amp; estimatedBytes != null
+     * @spec.effects Constructs a new GraphStats of graph
+     */
+    <N, E> GraphStats(CompactGraph<N, E> graph, Map<String, Long> estimatedBytes) {
+        int nodes = graph.nodeCount();
+        int[] inDegrees = new int[nodes];
+        Set<E> labels = new HashSet<>();
+
+        // Inv: inDegrees and labels cover the edges from 0 to k-1
+        for (int k = 0; k < graph.edgeCount(); k++) {
+            inDegrees[graph.edgeTarget(k)]++;
+            labels.add(graph.edgeLabel(k));
+        }
+
+        int maxOut = 0;
+        int maxIn = 0;
+        int[] out = new int[33];
+        int[] in = new int[33];
+
+        // Inv: the histograms and max degrees cover the nodes with ids from 0 to i-1
+        for (int i = 0; i < nodes; i++) {
+            int outDegree = graph.outDegree(i);
+
+            out[bucketOf(outDegree)]++;
+            in[bucketOf(inDegrees[i])]++;
+            maxOut = Math.max(maxOut, outDegree);
+            maxIn = Math.max(maxIn, inDegrees[i]);
+        }
+
+        this.nodeCount = nodes;
+        this.edgeCount = graph.edgeCount();
+        this.labelCount = labels.size();
+        this.maxOutDegree = maxOut;
+        this.maxInDegree = maxIn;
+        this.outDegreeHistogram = Arrays.copyOf(out, bucketOf(maxOut) + 1);
+        this.inDegreeHistogram = Arrays.copyOf(in, bucketOf(maxIn) + 1);
+        this.estimatedBytes = Collections.unmodifiableMap(new LinkedHashMap<>(estimatedBytes));
+        checkRep();
+    }
+
+    /**
+     * Summarizes graph, with byte estimates if its representation reports them
+     *
+     * @param graph the graph to summarize
+     * @return the statistics of graph
+     * @throws NullPointerException if graph == null
+     * @spec.requires graph is not modified during the call
+     */
+    public static GraphStats of(GraphView<?, ?> graph) {
+        if (graph == null) {
+            throw new NullPointerException();
+        }
+
+        if (graph instanceof Graph) {
+            return ((Graph<?, ?>) graph).stats();
+        }
+
+        return new GraphStats(graph, Map.of());
+    }
+
+    /**
+     * Returns the histogram bucket of degree
+     *
+     * @param degree a degree
+     * @return 0 if degree == 0, otherwise b such that 2^(b-1) &lt;= degree &lt; 2^b
+     */
+    private static int bucketOf(int degree) {
+        return 32 - Integer.numberOfLeadingZeros(degree);
+    }
+
+    /**
+     * Returns the estimated bytes retained by an object whose fields take fieldBytes
+     *
+     * @param fieldBytes the bytes of the fields of the object
+     * @return the size of the object with its header, rounded up to the alignment
+     */
+    private static long objectBytes(long fieldBytes) {
+        return (12 + fieldBytes + 7) & ~7L;
+    }
+
+    /**
+     * Returns the estimated bytes retained by an array of references or ints
+     *
+     * @param length the length of the array
+     * @return the size of the array with its header, rounded up to the alignment
+     */
+    static long arrayBytes(int length) {
+        return objectBytes(4 + 4L * length);
+    }
+
+    /**
+     * Returns the estimated bytes retained by a HashMap, excluding its keys and values
+     *
+     * @param size the number of entries of the HashMap
+     * @return the size of the HashMap, its table and its entries
+     */
+    static long hashMapBytes(int size) {
+        long bytes = HASH_MAP_BYTES + (long) size * HASH_MAP_ENTRY_BYTES;
+
+        if (size > 0) {
+            // The table grows by doubling from 16 to keep size <= 0.75 * capacity
+            int capacity = 16;
+
+            while (size > capacity * 0.75) {
+                capacity *= 2;
+            }
+
+            bytes += arrayBytes(capacity);
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Returns the estimated bytes retained by a HashSet, excluding its elements
+     *
+     * @param size the number of elements of the HashSet
+     * @return the size of the HashSet and its backing HashMap
+     */
+    static long hashSetBytes(int size) {
+        return HASH_SET_BYTES + hashMapBytes(size);
+    }
+
+    /**
+     * Returns the number of nodes
+     *
+     * @return the number of nodes in the graph
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Returns the number of edges
+     *
+     * @return the number of edges in the graph
+     */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns the number of distinct labels
+     *
+     * @return the number of distinct labels of the edges in the graph
+     */
+    public int labelCount() {
+        return labelCount;
+    }
+
+    /**
+     * Returns the largest out-degree
+     *
+     * @return the largest number of outgoing edges of a node in the graph, or 0 if it is empty
+     */
+    public int maxOutDegree() {
+        return maxOutDegree;
+    }
+
+    /**
+     * Returns the largest in-degree
+     *
+     * @return the largest number of incoming edges of a node in the graph, or 0 if it is empty
+     */
+    public int maxInDegree() {
+        return maxInDegree;
+    }
+
+    /**
+     * Returns the histogram of out-degrees
+     *
+     * @return a new array whose element b is the number of nodes whose out-degree is in
+     * bucket b, up to the bucket of maxOutDegree()
+     */
+    public int[] outDegreeHistogram() {
+        return outDegreeHistogram.clone();
+    }
+
+    /**
+     * Returns the histogram of in-degrees
+     *
+     * @return a new array whose element b is the number of nodes whose in-degree is in
+     * bucket b, up to the bucket of maxInDegree()
+     */
+    public int[] inDegreeHistogram() {
+        return inDegreeHistogram.clone();
+    }
+
+    /**
+     * Returns the estimated bytes retained by each structure of the graph
+     *
+     * @return a read-only map from the name of each structure to its estimated bytes, in the
+     * order the representation reports them, or an empty map if it reports none
+     */
+    public Map<String, Long> estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Returns the estimated bytes retained by all structures of the graph
+     *
+     * @return the sum of the values of estimatedBytes()
+     */
+    public long totalEstimatedBytes() {
+        long total = 0;
+
+        // Inv: total is the sum of the estimates from 0 to i-1
+        for (long bytes : estimatedBytes.values()) {
+            total += bytes;
+        }
+
+        return total;
+    }
+
+    /**
+     * Returns a readable multi-line summary of this
+     *
+     * @return the counts, histograms and byte estimates of this, one kind per line
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+
+        result.append("nodes: ").append(nodeCount)
+              .append(", edges: ").append(edgeCount)
+              .append(", labels: ").append(labelCount).append('\n');
+        result.append("out-degree: max ").append(maxOutDegree).append(", ");
+        appendHistogram(result, outDegreeHistogram);
+        result.append("\nin-degree: max ").append(maxInDegree).append(", ");
+        appendHistogram(result, inDegreeHistogram);
+
+        if (!estimatedBytes.isEmpty()) {
+            result.append("\nestimated bytes: ").append(totalEstimatedBytes()).append(" (");
+
+            String separator = "";
+
+            // Inv: result contains the estimates from 0 to i-1
+            for (Map.Entry<String, Long> entry : estimatedBytes.entrySet()) {
+                result.append(separator).append(entry.getKey()).append(' ').append(entry.getValue());
+                separator = ", ";
+            }
+
+            result.append(')');
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * Appends histogram to result as a list of its buckets and counts
+     *
+     * @param result the builder to append to
+     * @param histogram the histogram to append
+     * @spec.modifies result
+     */
+    private static void appendHistogram(StringBuilder result, int[] histogram) {
+        result.append('[');
+
+        // Inv: result contains the buckets from 0 to b-1
+        for (int b = 0; b < histogram.length; b++) {
+            if (b > 0) {
+                result.append(", ");
+            }
+
+            if (b <= 1) {
+                result.append(b);
+            } else {
+                result.append(1 << (b - 1)).append('-').append((1 << b) - 1);
+            }
+
+            result.append(": ").append(histogram[b]);
+        }
+
+        result.append(']');
+    }
+}
@@ -0,0 +1,174 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * GraphView is the read-only interface of a finite set of immutable nodes connected by directed
+ * edges with immutable labels, in which no more than one edge between a source and destination
+ * node pair can have the same label. Graph is the standard implementation, and other
+ * representations of the same abstract value implement GraphView so that graph algorithms can
+ * run on any of them.
+ *
+ * Each GraphView can be described by
+ * [[n1 - n1_a (L1_a), n1_b (L1_b), ...], [n2 - n2_a (L2_a), n2_b (L2_b), ...], ...],
+ * as described in Graph.
+ *
+ * @param <N> the type of nodes
+ * @param <E> the type of edge labels
+ */
+public interface GraphView<N, E> extends Iterable<N> {
+
+    /**
+     * Returns the children of parent
+     *
+     * @param parent the parent node whose children are to be received
+     * @return all nodes ni such that parent - ni (Li) where i is arbitrary
+     * @throws NullPointerException if parent == null
+     */
+    default List<N> getChildren(N parent) {
+        if (parent == null) {
+            throw new NullPointerException();
+        }
+
+        List<N> children = new ArrayList<>();
+
+        // Inv: children contains the dst nodes of all outgoing edges from 0 to i-1
+        for (Graph.Edge<N, E> edge : outgoingEdges(parent)) {
+            children.add(edge.getDst());
+        }
+
+        return children;
+    }
+
+    /**
+     * Returns the parents of child
+     *
+     * @param child the child node whose parents are to be received
+     * @return all nodes ni such that ni - child (Li) where i is arbitrary
+     * @throws NullPointerException if child == null
+     */
+    default List<N> getParents(N child) {
+        if (child == null) {
+            throw new NullPointerException();
+        }
+
+        List<N> parents = new ArrayList<>();
+
+        // Inv: parents contains the src nodes of all incoming edges from 0 to i-1
+        for (Graph.Edge<N, E> edge : incomingEdges(child)) {
+            parents.add(edge.getSrc());
+        }
+
+        return parents;
+    }
+
+    /**
+     * Returns the edges that possess label
+     *
+     * @param label the label to check if edges possess
+     * @return all edges ni - nj (label) where i,j are arbitrary
+     * @throws NullPointerException if label == null
+     */
+    List<Graph.Edge<N, E>> getEdgesByLabel(E label);
+
+    /**
+     * Returns the incoming edges of nodeData as a new list
+     *
+     * @param nodeData the node to which to find the edges pointing to
+     * @return all edges ni - nodeData (Li) where i is arbitrary
+     * @throws NullPointerException if nodeData == null
+     */
+    default List<Graph.Edge<N, E>> getIncomingEdges(N nodeData) {
+        return new ArrayList<>(incomingEdges(nodeData));
+    }
+
+    /**
+     * Returns the outgoing edges of nodeData as a new list
+     *
+     * @param nodeData the node to which to find the edges pointing from
+     * @return all edges nodeData - ni (Li) where i is arbitrary
+     * @throws NullPointerException if nodeData == null
+     */
+    default List<Graph.Edge<N, E>> getOutgoingEdges(N nodeData) {
+        return new ArrayList<>(outgoingEdges(nodeData));
+    }
+
+    /**
+     * Returns a read-only view of the outgoing edges of nodeData
+     *
+     * @param nodeData the node to which to find the edges pointing from
+     * @return a read-only collection of all edges nodeData - ni (Li) where i is arbitrary,
+     * which is empty if nodeData is not in this
+     * @throws NullPointerException if nodeData == null
+     */
+    Collection<Graph.Edge<N, E>> outgoingEdges(N nodeData);
+
+    /**
+     * Returns a read-only view of the incoming edges of nodeData
+     *
+     * @param nodeData the node to which to find the edges pointing to
+     * @return a read-only collection of all edges ni - nodeData (Li) where i is arbitrary,
+     * which is empty if nodeData is not in this
+     * @throws NullPointerException if nodeData == null
+     */
+    Collection<Graph.Edge<N, E>> incomingEdges(N nodeData);
+
+    /**
+     * Passes each outgoing edge of nodeData to action
+     *
+     * @param nodeData the node whose outgoing edges are to be visited
+     * @param action the action to perform on each edge nodeData - ni (Li) where i is arbitrary
+     * @throws NullPointerException if nodeData == null || action == null
+     * @spec.requires action doesn't modify this
+     */
+    default void forEachOutgoing(N nodeData, Consumer<? super Graph.Edge<N, E>> action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+
+        // Inv: action has been performed on all edges from 0 to i-1
+        for (Graph.Edge<N, E> edge : outgoingEdges(nodeData)) {
+            action.accept(edge);
+        }
+    }
+
+    /**
+     * Returns a dictionary of dense int ids that covers the nodes of this, so that algorithms
+     * can keep per-node state in arrays indexed by id. Returns null by default.
+     *
+     * @return a read-only dictionary in which every node of this has an id, or null if this
+     * doesn't keep one
+     */
+    default NodeDictionary<N> nodeIds() {
+        return null;
+    }
+
+    /**
+     * Returns whether nodeData is present in this
+     *
+     * @param nodeData the data of the node to check if present in this
+     * @return true if and only if nodeData is present in this
+     * @throws NullPointerException if nodeData == null
+     */
+    boolean containsNode(N nodeData);
+
+    /**
+     * Returns whether edge with label is present from src node to dst node
+     *
+     * @param label the label of the edge to check if present from src node to dst node
+     * @param src the source node to check if edge with label exists from
+     * @param dst the destination node to check if edge with label exists to
+     * @return true if and only if src - dst (label) is an edge in this
+     * @throws NullPointerException if label == null || src == null || dst == null
+     */
+    default boolean containsEdge(E label, N src, N dst) {
+        if (label == null || src == null || dst == null) {
+            throw new NullPointerException();
+        }
+
+        return outgoingEdges(src).contains(new Graph.Edge<>(label, src, dst));
+    }
+}
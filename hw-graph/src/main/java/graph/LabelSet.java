@@ -0,0 +1,162 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * LabelSet is a compact mutable set of non-null labels. Small sets are kept in an array that
+ * is searched linearly, which needs far less memory than a HashSet, and sets that grow past
+ * ARRAY_LIMIT labels switch to a HashSet so that lookups stay constant time.
+ *
+ * @param <E> the type of labels
+ */
+final class LabelSet<E> implements Iterable<E> {
+    static final int ARRAY_LIMIT = 16;
+
+    private Object[] array;
+    private int size;
+    private Set<E> hashed;
+
+    // Abstraction Function:
+    // If hashed == null, the set is {array[0], ..., array[size-1]},
+    // otherwise the set is hashed
+    //
+    // Rep Invariant:
+    // (hashed == null && array != null && size <= array.length &&
+    //  array[0..size-1] doesn't contain null or duplicate labels) ||
+    // (hashed != null && array == null && hashed doesn't contain null)
+
+    /**
+     * @spec.effects Constructs a new empty LabelSet
+     */
+    LabelSet() {
+        array = new Object[1];
+        size = 0;
+        hashed = null;
+    }
+
+    /**
+     * Returns the number of labels in this
+     *
+     * @return the number of labels in this
+     */
+    int size() {
+        return hashed == null ? size : hashed.size();
+    }
+
+    /**
+     * Returns whether label is in this
+     *
+     * @param label the label to look for
+     * @return true if and only if label is in this
+     */
+    boolean contains(Object label) {
+        if (hashed != null) {
+            return hashed.contains(label);
+        }
+
+        // Inv: label is not in array from 0 to i-1
+        for (int i = 0; i < size; i++) {
+            if (array[i].equals(label)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Adds label to this
+     *
+     * @param label the label to add
+     * @return true if and only if label was not already in this
+     * @spec.requires label != null
+     * @spec.modifies this
+     */
+    @SuppressWarnings("unchecked")
+    boolean add(E label) {
+        if (hashed != null) {
+            return hashed.add(label);
+        }
+
+        if (contains(label)) {
+            return false;
+        }
+
+        if (size == ARRAY_LIMIT) {
+            hashed = new HashSet<>();
+
+            // Inv: hashed contains array from 0 to i-1
+            for (int i = 0; i < size; i++) {
+                hashed.add((E) array[i]);
+            }
+
+            array = null;
+
+            return hashed.add(label);
+        }
+
+        if (size == array.length) {
+            array = Arrays.copyOf(array, Math.min(array.length * 2, ARRAY_LIMIT));
+        }
+
+        array[size++] = label;
+
+        return true;
+    }
+
+    /**
+     * Removes label from this
+     *
+     * @param label the label to remove
+     * @return true if and only if label was in this
+     * @spec.modifies this
+     */
+    boolean remove(Object label) {
+        if (hashed != null) {
+            return hashed.remove(label);
+        }
+
+        // Inv: label is not in array from 0 to i-1
+        for (int i = 0; i < size; i++) {
+            if (array[i].equals(label)) {
+                array[i] = array[size - 1];
+                array[size - 1] = null;
+                size--;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns an iterator of the labels in this
+     *
+     * @return a read-only iterator of the labels in this in no particular order
+     */
+    @Override
+    public Iterator<E> iterator() {
+        if (hashed != null) {
+            return Collections.unmodifiableSet(hashed).iterator();
+        }
+
+        return new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return (E) array[next++];
+            }
+        };
+    }
+}
@@ -0,0 +1,644 @@
+package graph;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * MappedGraph is an immutable graph with String nodes and labels whose adjacency arrays, label
+ * arrays, and node and label names are stored in a file that is memory-mapped rather than read
+ * onto the heap. The operating system pages the parts of the file that traversals touch in and
+ * out, and the garbage collector never scans them, so the graph can be much larger than the heap.
+ *
+ * A MappedGraph is written once from any GraphView with write and then opened with open. Like
+ * CompactGraph, it gives nodes dense int ids and edges dense int indices, where the outgoing edges
+ * of the node with id i have indices from edgeStart(i) to edgeEnd(i) - 1. Node ids follow the
+ * order of the UTF-8 encodings of node names. Names are decoded into Strings only when they are
+ * read, so each GraphView call allocates the Strings and Edge objects it returns.
+ *
+ * A file is limited to Integer.MAX_VALUE bytes.
+ */
+public final class MappedGraph implements GraphView<String, String> {
+    public static final boolean DEBUG = false;
+
+    private static final int MAGIC = 0x4D475246; // "MGRF"
+    private static final int VERSION = 1;
+    private static final int HEADER_INTS = 5;
+
+    private final int nodeCount;
+    private final int edgeCount;
+    private final int labelCount;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final IntBuffer edgeLabels;
+    private final IntBuffer inOffsets;
+    private final IntBuffer inSources;
+    private final IntBuffer inLabels;
+    private final IntBuffer nodeNameOffsets;
+    private final IntBuffer labelNameOffsets;
+    private final ByteBuffer nodeNames;
+    private final ByteBuffer labelNames;
+
+    // Abstraction Function:
+    // Node i is the UTF-8 string in nodeNames from nodeNameOffsets[i] to
+    // nodeNameOffsets[i+1]-1, and label j is likewise the string in labelNames
+    // delimited by labelNameOffsets. The outgoing edges of node i are, for
+    // each k from offsets[i] to offsets[i+1]-1, node i - node targets[k]
+    // (label edgeLabels[k]). inOffsets, inSources and inLabels describe the
+    // same edges grouped by destination
+    //
+    // Rep Invariant:
+    // all buffers != null && offsets and inOffsets have nodeCount + 1 entries &&
+    // targets, edgeLabels, inSources and inLabels have edgeCount entries &&
+    // nodeNameOffsets has nodeCount + 1 entries && labelNameOffsets has labelCount + 1 entries &&
+    // node names and label names are each strictly increasing in unsigned byte order &&
+    // all node ids in targets and inSources are in [0, nodeCount) &&
+    // all label ids in edgeLabels and inLabels are in [0, labelCount)
+
+    /**
+     * Checks that the rep is maintained
+     */
+    private void checkRep() {
+        assert offsets != null && targets != null && edgeLabels != null;
+        assert inOffsets != null && inSources != null && inLabels != null;
+        assert nodeNameOffsets != null && labelNameOffsets != null;
+        assert nodeNames != null && labelNames != null;
+
+        if (DEBUG) {
+            assert offsets.get(nodeCount) == edgeCount;
+            assert inOffsets.get(nodeCount) == edgeCount;
+
+            for (int k = 0; k < edgeCount; k++) {
+                assert 0 <= targets.get(k) && targets.get(k) < nodeCount;
+                assert 0 <= inSources.get(k) && inSources.get(k) < nodeCount;
+                assert 0 <= edgeLabels.get(k) && edgeLabels.get(k) < labelCount;
+                assert 0 <= inLabels.get(k) && inLabels.get(k) < labelCount;
+            }
+        }
+    }
+
+    /**
+     * @param buffer the mapped contents of a file written by write
+     * @throws IllegalArgumentException if buffer doesn't hold a graph in this format
+     * @spec.effects Constructs a new MappedGraph backed by buffer
+     */
+    private MappedGraph(ByteBuffer buffer) {
+        IntBuffer header = buffer.asIntBuffer();
+
+        if (buffer.capacity() < HEADER_INTS * Integer.BYTES || header.get(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a mapped graph file");
+        }
+
+        if (header.get(1) != VERSION) {
+            throw new IllegalArgumentException("Unsupported mapped graph version " + header.get(1));
+        }
+
+        nodeCount = header.get(2);
+        edgeCount = header.get(3);
+        labelCount = header.get(4);
+
+        if (nodeCount < 0 || edgeCount < 0 || labelCount < 0) {
+            throw new IllegalArgumentException("Corrupt mapped graph header");
+        }
+
+        // Sections are sized from the header counts, so offsets are summed as longs and each
+        // section is checked against the capacity of buffer before it is sliced
+        long position = HEADER_INTS * Integer.BYTES;
+        offsets = ints(buffer, position, nodeCount + 1L);
+        position += (nodeCount + 1L) * Integer.BYTES;
+        targets = ints(buffer, position, edgeCount);
+        position += (long) edgeCount * Integer.BYTES;
+        edgeLabels = ints(buffer, position, edgeCount);
+        position += (long) edgeCount * Integer.BYTES;
+        inOffsets = ints(buffer, position, nodeCount + 1L);
+        position += (nodeCount + 1L) * Integer.BYTES;
+        inSources = ints(buffer, position, edgeCount);
+        position += (long) edgeCount * Integer.BYTES;
+        inLabels = ints(buffer, position, edgeCount);
+        position += (long) edgeCount * Integer.BYTES;
+        nodeNameOffsets = ints(buffer, position, nodeCount + 1L);
+        position += (nodeCount + 1L) * Integer.BYTES;
+        labelNameOffsets = ints(buffer, position, labelCount + 1L);
+        position += (labelCount + 1L) * Integer.BYTES;
+        nodeNames = bytes(buffer, position, nodeNameOffsets.get(nodeCount));
+        position += nodeNameOffsets.get(nodeCount);
+        labelNames = bytes(buffer, position, labelNameOffsets.get(labelCount));
+
+        checkRep();
+    }
+
+    /**
+     * Returns a view of count ints of buffer starting at byte position
+     *
+     * @param buffer the buffer to view
+     * @param position the byte position of the first int
+     * @param count the number of ints
+     * @return a read-only int view of the section
+     * @throws IllegalArgumentException if the section extends past the end of buffer
+     */
+    private static IntBuffer ints(ByteBuffer buffer, long position, long count) {
+        return bytes(buffer, position, count * Integer.BYTES).asIntBuffer();
+    }
+
+    /**
+     * Returns a view of length bytes of buffer starting at position
+     *
+     * @param buffer the buffer to view
+     * @param position the position of the first byte
+     * @param length the number of bytes
+     * @return a read-only view of the section
+     * @throws IllegalArgumentException if the section extends past the end of buffer
+     */
+    private static ByteBuffer bytes(ByteBuffer buffer, long position, long length) {
+        if (position < 0 || length < 0 || position > buffer.capacity() - length) {
+            throw new IllegalArgumentException("Truncated mapped graph file");
+        }
+
+        // Both fit in an int, since the section ends within buffer
+        ByteBuffer section = buffer.duplicate();
+        section.position((int) position);
+        section.limit((int) (position + length));
+
+        return section.slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Opens a graph written by write
+     *
+     * @param file the file to open
+     * @return a MappedGraph backed by a read-only mapping of file
+     * @throws IOException if file can't be read
+     * @throws IllegalArgumentException if file doesn't hold a graph in this format
+     */
+    public static MappedGraph open(Path file) throws IOException {
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Mapped graph file is too large");
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            return new MappedGraph(buffer);
+        }
+    }
+
+    /**
+     * Writes graph to file in the format read by open
+     *
+     * @param graph the graph to write
+     * @param file the file to write, which is replaced if it exists
+     * @throws IOException if file can't be written
+     * @throws IllegalArgumentException if the file would be larger than Integer.MAX_VALUE bytes
+     * @throws NullPointerException if graph == null || file == null
+     */
+    public static void write(GraphView<String, String> graph, Path file) throws IOException {
+        List<byte[]> nodes = new ArrayList<>();
+        SortedMap<String, byte[]> labelSet = new TreeMap<>();
+
+        // Inv: nodes contains the encodings of all nodes from 0 to i-1
+        for (String node : graph) {
+            nodes.add(node.getBytes(StandardCharsets.UTF_8));
+        }
+
+        nodes.sort(MappedGraph::compareBytes);
+
+        Map<String, Integer> nodeIds = new HashMap<>();
+
+        // Inv: nodeIds maps all nodes from 0 to i-1 to their position in nodes
+        for (int i = 0; i < nodes.size(); i++) {
+            nodeIds.put(new String(nodes.get(i), StandardCharsets.UTF_8), i);
+        }
+
+        int n = nodes.size();
+        int[] offsets = new int[n + 1];
+        int[] inOffsets = new int[n + 1];
+        List<Graph.Edge<String, String>> edges = new ArrayList<>();
+
+        // Inv: edges contains the outgoing edges of all nodes with ids from 0 to i-1 in id
+        // order, and inOffsets[j+1] counts the incoming edges of node j among them
+        for (int i = 0; i < n; i++) {
+            // Inv: edges contains all outgoing edges of node i from 0 to j-1
+            for (Graph.Edge<String, String> edge : graph.outgoingEdges(new String(nodes.get(i), StandardCharsets.UTF_8))) {
+                edges.add(edge);
+                inOffsets[nodeIds.get(edge.getDst()) + 1]++;
+
+                if (!labelSet.containsKey(edge.getLabel())) {
+                    labelSet.put(edge.getLabel(), edge.getLabel().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+
+            offsets[i + 1] = edges.size();
+        }
+
+        List<byte[]> labels = new ArrayList<>(labelSet.values());
+        labels.sort(MappedGraph::compareBytes);
+
+        Map<String, Integer> labelIds = new HashMap<>();
+
+        // Inv: labelIds maps all labels from 0 to i-1 to their position in labels
+        for (int i = 0; i < labels.size(); i++) {
+            labelIds.put(new String(labels.get(i), StandardCharsets.UTF_8), i);
+        }
+
+        // Inv: inOffsets[j] is the number of incoming edges of nodes from 0 to j-1
+        for (int i = 0; i < n; i++) {
+            inOffsets[i + 1] += inOffsets[i];
+        }
+
+        int m = edges.size();
+        int[] targets = new int[m];
+        int[] edgeLabels = new int[m];
+        int[] inSources = new int[m];
+        int[] inLabels = new int[m];
+        int[] inNext = Arrays.copyOf(inOffsets, n);
+
+        // Inv: the outgoing arrays hold edges from 0 to k-1, and each of them has been
+        // placed in the incoming arrays after the earlier incoming edges of its dst
+        for (int src = 0, k = 0; k < m; k++) {
+            while (offsets[src + 1] <= k) {
+                src++;
+            }
+
+            int dst = nodeIds.get(edges.get(k).getDst());
+            int label = labelIds.get(edges.get(k).getLabel());
+
+            targets[k] = dst;
+            edgeLabels[k] = label;
+            inSources[inNext[dst]] = src;
+            inLabels[inNext[dst]] = label;
+            inNext[dst]++;
+        }
+
+        long size = (HEADER_INTS + 2L * (n + 1) + 4L * m + (n + 1) + (labels.size() + 1)) * Integer.BYTES +
+                    totalLength(nodes) + totalLength(labels);
+
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Graph is too large for a mapped graph file");
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(file.toFile()), 1 << 16))) {
+            writeInts(out, MAGIC, VERSION, n, m, labels.size());
+            writeInts(out, offsets);
+            writeInts(out, targets);
+            writeInts(out, edgeLabels);
+            writeInts(out, inOffsets);
+            writeInts(out, inSources);
+            writeInts(out, inLabels);
+            writeNameOffsets(out, nodes);
+            writeNameOffsets(out, labels);
+            writeNames(out, nodes);
+            writeNames(out, labels);
+        }
+    }
+
+    /**
+     * Writes values to out
+     *
+     * @param out the stream to write to
+     * @param values the ints to write
+     * @throws IOException if out can't be written
+     */
+    private static void writeInts(DataOutputStream out, int... values) throws IOException {
+        // Inv: values from 0 to i-1 have been written
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    /**
+     * Writes the start offset of each name and the total length of names to out
+     *
+     * @param out the stream to write to
+     * @param names the encoded names
+     * @throws IOException if out can't be written
+     */
+    private static void writeNameOffsets(DataOutputStream out, List<byte[]> names) throws IOException {
+        int offset = 0;
+
+        // Inv: the offsets of names from 0 to i-1 have been written, and offset is their total length
+        for (byte[] name : names) {
+            out.writeInt(offset);
+            offset += name.length;
+        }
+
+        out.writeInt(offset);
+    }
+
+    /**
+     * Writes the bytes of names to out
+     *
+     * @param out the stream to write to
+     * @param names the encoded names
+     * @throws IOException if out can't be written
+     */
+    private static void writeNames(DataOutputStream out, List<byte[]> names) throws IOException {
+        // Inv: names from 0 to i-1 have been written
+        for (byte[] name : names) {
+            out.write(name);
+        }
+    }
+
+    /**
+     * Returns the total length of names
+     *
+     * @param names the encoded names
+     * @return the sum of the lengths of names
+     */
+    private static long totalLength(List<byte[]> names) {
+        long total = 0;
+
+        // Inv: total is the length of names from 0 to i-1
+        for (byte[] name : names) {
+            total += name.length;
+        }
+
+        return total;
+    }
+
+    /**
+     * Compares two byte strings in unsigned lexicographic order, which is code point order
+     * for UTF-8
+     *
+     * @param a the first byte string
+     * @param b the second byte string
+     * @return a negative number, zero, or a positive number as a is less than, equal to,
+     * or greater than b
+     */
+    private static int compareBytes(byte[] a, byte[] b) {
+        return Arrays.compareUnsigned(a, b);
+    }
+
+    /**
+     * Returns the number of nodes in this
+     *
+     * @return the number of nodes in this
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Returns the number of edges in this
+     *
+     * @return the number of edges in this
+     */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns the id of nodeData
+     *
+     * @param nodeData the node whose id is to be received
+     * @return the id of nodeData, or -1 if nodeData is not in this
+     * @throws NullPointerException if nodeData == null
+     */
+    public int getId(String nodeData) {
+        return find(nodeData.getBytes(StandardCharsets.UTF_8), nodeNames, nodeNameOffsets, nodeCount);
+    }
+
+    /**
+     * Returns the node with id
+     *
+     * @param id the id of the node to be received
+     * @return the node with id
+     * @throws IndexOutOfBoundsException if id &lt; 0 || id &gt;= nodeCount()
+     */
+    public String getNode(int id) {
+        checkId(id);
+
+        return decode(nodeNames, nodeNameOffsets, id);
+    }
+
+    /**
+     * Returns the index of the first outgoing edge of the node with id
+     *
+     * @param id the id of the node whose outgoing edges are to be traversed
+     * @return the index of the first outgoing edge of the node with id
+     * @throws IndexOutOfBoundsException if id &lt; 0 || id &gt;= nodeCount()
+     */
+    public int edgeStart(int id) {
+        checkId(id);
+
+        return offsets.get(id);
+    }
+
+    /**
+     * Returns the index one past the last outgoing edge of the node with id
+     *
+     * @param id the id of the node whose outgoing edges are to be traversed
+     * @return the index one past the last outgoing edge of the node with id
+     * @throws IndexOutOfBoundsException if id &lt; 0 || id &gt;= nodeCount()
+     */
+    public int edgeEnd(int id) {
+        checkId(id);
+
+        return offsets.get(id + 1);
+    }
+
+    /**
+     * Returns the id of the destination node of the edge with index
+     *
+     * @param edge the index of the edge
+     * @return the id of dst where edge is src - dst (L)
+     * @throws IndexOutOfBoundsException if edge &lt; 0 || edge &gt;= edgeCount()
+     */
+    public int edgeTarget(int edge) {
+        return targets.get(edge);
+    }
+
+    /**
+     * Returns the label of the edge with index
+     *
+     * @param edge the index of the edge
+     * @return L where edge is src - dst (L)
+     * @throws IndexOutOfBoundsException if edge &lt; 0 || edge &gt;= edgeCount()
+     */
+    public String edgeLabel(int edge) {
+        return decode(labelNames, labelNameOffsets, edgeLabels.get(edge));
+    }
+
+    @Override
+    public List<Graph.Edge<String, String>> getEdgesByLabel(String label) {
+        checkRep();
+
+        if (label == null) {
+            throw new NullPointerException();
+        }
+
+        List<Graph.Edge<String, String>> edges = new ArrayList<>();
+        int labelId = find(label.getBytes(StandardCharsets.UTF_8), labelNames, labelNameOffsets, labelCount);
+
+        if (labelId == -1) {
+            return edges;
+        }
+
+        // Inv: edges contains the edges with label of all nodes from 0 to i-1
+        for (int i = 0; i < nodeCount; i++) {
+            // Inv: edges contains the edges with label of node i from offsets[i] to k-1
+            for (int k = offsets.get(i); k < offsets.get(i + 1); k++) {
+                if (edgeLabels.get(k) == labelId) {
+                    edges.add(new Graph.Edge<>(label, getNode(i), getNode(targets.get(k))));
+                }
+            }
+        }
+
+        return edges;
+    }
+
+    @Override
+    public Collection<Graph.Edge<String, String>> outgoingEdges(String nodeData) {
+        checkRep();
+
+        int id = getId(nodeData);
+        List<Graph.Edge<String, String>> edges = new ArrayList<>();
+
+        if (id != -1) {
+            // Inv: edges contains the outgoing edges of nodeData from offsets[id] to k-1
+            for (int k = offsets.get(id); k < offsets.get(id + 1); k++) {
+                edges.add(new Graph.Edge<>(edgeLabel(k), nodeData, getNode(targets.get(k))));
+            }
+        }
+
+        return Collections.unmodifiableList(edges);
+    }
+
+    @Override
+    public Collection<Graph.Edge<String, String>> incomingEdges(String nodeData) {
+        checkRep();
+
+        int id = getId(nodeData);
+        List<Graph.Edge<String, String>> edges = new ArrayList<>();
+
+        if (id != -1) {
+            // Inv: edges contains the incoming edges of nodeData from inOffsets[id] to k-1
+            for (int k = inOffsets.get(id); k < inOffsets.get(id + 1); k++) {
+                String label = decode(labelNames, labelNameOffsets, inLabels.get(k));
+                edges.add(new Graph.Edge<>(label, getNode(inSources.get(k)), nodeData));
+            }
+        }
+
+        return Collections.unmodifiableList(edges);
+    }
+
+    @Override
+    public boolean containsNode(String nodeData) {
+        return getId(nodeData) != -1;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < nodeCount;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return getNode(next++);
+            }
+        };
+    }
+
+    /**
+     * Finds the position of key among names sorted in unsigned byte order
+     *
+     * @param key the encoded name to find
+     * @param names the concatenated encoded names
+     * @param nameOffsets the start offset of each name, followed by the total length
+     * @param count the number of names
+     * @return the position of key, or -1 if it is not among names
+     */
+    private static int find(byte[] key, ByteBuffer names, IntBuffer nameOffsets, int count) {
+        int low = 0;
+        int high = count - 1;
+
+        // Inv: key is not among names before low or after high
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = compareName(names, nameOffsets.get(mid), nameOffsets.get(mid + 1), key);
+
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Compares the name stored in names from start to end to key in unsigned byte order
+     *
+     * @param names the concatenated encoded names
+     * @param start the offset of the first byte of the name
+     * @param end the offset one past the last byte of the name
+     * @param key the encoded name to compare to
+     * @return a negative number, zero, or a positive number as the name is less than,
+     * equal to, or greater than key
+     */
+    private static int compareName(ByteBuffer names, int start, int end, byte[] key) {
+        int length = Math.min(end - start, key.length);
+
+        // Inv: the first i bytes of the name and key are equal
+        for (int i = 0; i < length; i++) {
+            int comparison = Byte.compareUnsigned(names.get(start + i), key[i]);
+
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+
+        return Integer.compare(end - start, key.length);
+    }
+
+    /**
+     * Decodes the name at position
+     *
+     * @param names the concatenated encoded names
+     * @param nameOffsets the start offset of each name, followed by the total length
+     * @param position the position of the name
+     * @return the decoded name
+     */
+    private static String decode(ByteBuffer names, IntBuffer nameOffsets, int position) {
+        int start = nameOffsets.get(position);
+        byte[] bytes = new byte[nameOffsets.get(position + 1) - start];
+
+        // Inv: bytes from 0 to i-1 hold the name
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = names.get(start + i);
+        }
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks that id is the id of a node in this
+     *
+     * @param id the id to check
+     * @throws IndexOutOfBoundsException if id &lt; 0 || id &gt;= nodeCount()
+     */
+    private void checkId(int id) {
+        if (id < 0 || id >= nodeCount) {
+            throw new IndexOutOfBoundsException("No node with id " + id);
+        }
+    }
+}
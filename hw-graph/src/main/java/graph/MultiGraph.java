@@ -0,0 +1,434 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * MultiGraph is a MutableGraph with the same abstract value and specifications as Graph that is
+ * stored by node pair instead of by edge. All edges from one src to one dst share a single
+ * adjacency entry holding the set of their labels, so a pair of nodes connected by many labels
+ * costs one map entry and one compact label set rather than one Edge object and hash set
+ * entry per label in each direction. Edge objects are created on demand when edges are read.
+ *
+ * @param <N> the type of nodes
+ * @param <E> the type of edge labels
+ */
+public class MultiGraph<N, E> implements MutableGraph<N, E> {
+    public static final boolean DEBUG = false;
+
+    private final Map<N, Map<N, LabelSet<E>>> graph;
+    private final Map<N, Map<N, LabelSet<E>>> reverseGraph;
+    private int edgeCount;
+
+    // Abstraction Function:
+    // For every node src in graph and every entry dst -> labels of
+    // graph.get(src), the edges src - dst (L) for each L in labels are in
+    // the graph. reverseGraph maps each dst to its src nodes and the same
+    // label sets. edgeCount is the total number of edges
+    //
+    // Rep Invariant:
+    // graph != null && reverseGraph != null &&
+    // graph doesn't contain null nodes or null adjacency maps &&
+    // graph.keySet() equals reverseGraph.keySet() &&
+    // graph.get(src).get(dst) == reverseGraph.get(dst).get(src) for all pairs &&
+    // no label set is empty && edgeCount is the sum of the sizes of the label sets
+
+    /**
+     * Checks that the rep is maintained
+     */
+    private void checkRep() {
+        assert graph != null;
+        assert reverseGraph != null;
+
+        if (DEBUG) {
+            assert graph.keySet().equals(reverseGraph.keySet());
+
+            int count = 0;
+
+            for (N src : graph.keySet()) {
+                assert src != null;
+
+                for (Map.Entry<N, LabelSet<E>> entry : graph.get(src).entrySet()) {
+                    assert entry.getValue().size() > 0;
+                    assert reverseGraph.get(entry.getKey()).get(src) == entry.getValue();
+                    count += entry.getValue().size();
+                }
+            }
+
+            assert count == edgeCount;
+        }
+    }
+
+    /**
+     * @spec.effects Constructs a new MultiGraph, []
+     */
+    public MultiGraph() {
+        graph = new HashMap<>();
+        reverseGraph = new HashMap<>();
+        edgeCount = 0;
+        checkRep();
+    }
+
+    @Override
+    public boolean addNode(N nodeData) {
+        checkRep();
+
+        if (nodeData == null || graph.containsKey(nodeData)) {
+            checkRep();
+            return false;
+        }
+
+        graph.put(nodeData, new HashMap<>());
+        reverseGraph.put(nodeData, new HashMap<>());
+
+        checkRep();
+
+        return true;
+    }
+
+    @Override
+    public boolean addEdge(E label, N src, N dst) {
+        checkRep();
+
+        if (label == null || src == null || dst == null ||
+            !graph.containsKey(src) || !graph.containsKey(dst)) {
+            checkRep();
+            return false;
+        }
+
+        Map<N, LabelSet<E>> neighbors = graph.get(src);
+        LabelSet<E> labels = neighbors.get(dst);
+
+        if (labels == null) {
+            labels = new LabelSet<>();
+            neighbors.put(dst, labels);
+            reverseGraph.get(dst).put(src, labels);
+        }
+
+        boolean result = labels.add(label);
+
+        if (result) {
+            edgeCount++;
+        }
+
+        checkRep();
+
+        return result;
+    }
+
+    @Override
+    public boolean removeEdge(E label, N src, N dst) {
+        checkRep();
+
+        if (label == null || src == null || dst == null) {
+            throw new NullPointerException();
+        }
+
+        Map<N, LabelSet<E>> neighbors = graph.get(src);
+        LabelSet<E> labels = neighbors == null ? null : neighbors.get(dst);
+
+        if (labels == null || !labels.remove(label)) {
+            checkRep();
+            return false;
+        }
+
+        edgeCount--;
+
+        if (labels.size() == 0) {
+            neighbors.remove(dst);
+            reverseGraph.get(dst).remove(src);
+        }
+
+        checkRep();
+
+        return true;
+    }
+
+    @Override
+    public boolean removeNode(N nodeData) {
+        checkRep();
+
+        if (nodeData == null) {
+            throw new NullPointerException();
+        }
+
+        if (!graph.containsKey(nodeData)) {
+            checkRep();
+            return false;
+        }
+
+        // Inv: no dst from 0 to i-1 has nodeData as an src, and their edges are uncounted
+        for (Map.Entry<N, LabelSet<E>> entry : graph.get(nodeData).entrySet()) {
+            edgeCount -= entry.getValue().size();
+            reverseGraph.get(entry.getKey()).remove(nodeData);
+        }
+
+        graph.remove(nodeData);
+
+        // Inv: no src from 0 to i-1 has nodeData as a dst, and their edges are uncounted
+        for (Map.Entry<N, LabelSet<E>> entry : reverseGraph.get(nodeData).entrySet()) {
+            // Self loops were already uncounted along with the outgoing edges
+            if (!entry.getKey().equals(nodeData)) {
+                edgeCount -= entry.getValue().size();
+                graph.get(entry.getKey()).remove(nodeData);
+            }
+        }
+
+        reverseGraph.remove(nodeData);
+
+        checkRep();
+
+        return true;
+    }
+
+    @Override
+    public boolean replaceEdgeLabel(E oldLabel, E newLabel, N src, N dst) {
+        checkRep();
+
+        if (oldLabel == null || newLabel == null || src == null || dst == null) {
+            throw new NullPointerException();
+        }
+
+        Map<N, LabelSet<E>> neighbors = graph.get(src);
+        LabelSet<E> labels = neighbors == null ? null : neighbors.get(dst);
+
+        if (labels == null || labels.contains(newLabel) || !labels.remove(oldLabel)) {
+            checkRep();
+            return false;
+        }
+
+        labels.add(newLabel);
+
+        checkRep();
+
+        return true;
+    }
+
+    /**
+     * Returns the edges that possess label. Runs in time proportional to the number of node
+     * pairs with an edge between them.
+     */
+    @Override
+    public List<Graph.Edge<N, E>> getEdgesByLabel(E label) {
+        checkRep();
+
+        if (label == null) {
+            throw new NullPointerException();
+        }
+
+        List<Graph.Edge<N, E>> edges = new ArrayList<>();
+
+        // Inv: edges contains the edges with label of all src nodes from 0 to i-1
+        for (N src : graph.keySet()) {
+            // Inv: edges contains the edges with label from src to all dst nodes from 0 to j-1
+            for (Map.Entry<N, LabelSet<E>> entry : graph.get(src).entrySet()) {
+                if (entry.getValue().contains(label)) {
+                    edges.add(new Graph.Edge<>(label, src, entry.getKey()));
+                }
+            }
+        }
+
+        checkRep();
+
+        return edges;
+    }
+
+    /**
+     * Returns the labels of all edges from src to dst
+     *
+     * @param src the source node of the edges
+     * @param dst the destination node of the edges
+     * @return a new set of all L such that src - dst (L)
+     * @throws NullPointerException if src == null || dst == null
+     */
+    public Set<E> getLabels(N src, N dst) {
+        checkRep();
+
+        if (src == null || dst == null) {
+            throw new NullPointerException();
+        }
+
+        Set<E> result = new HashSet<>();
+        Map<N, LabelSet<E>> neighbors = graph.get(src);
+
+        if (neighbors != null && neighbors.containsKey(dst)) {
+            // Inv: result contains all labels from 0 to i-1
+            for (E label : neighbors.get(dst)) {
+                result.add(label);
+            }
+        }
+
+        checkRep();
+
+        return result;
+    }
+
+    /**
+     * Returns the number of edges in this
+     *
+     * @return the number of edges in this, counting each label between a pair separately
+     */
+    public int edgeCount() {
+        checkRep();
+
+        return edgeCount;
+    }
+
+    @Override
+    public Collection<Graph.Edge<N, E>> outgoingEdges(N nodeData) {
+        checkRep();
+
+        if (nodeData == null) {
+            throw new NullPointerException();
+        }
+
+        return new EdgeView(nodeData, graph.get(nodeData), true);
+    }
+
+    @Override
+    public Collection<Graph.Edge<N, E>> incomingEdges(N nodeData) {
+        checkRep();
+
+        if (nodeData == null) {
+            throw new NullPointerException();
+        }
+
+        return new EdgeView(nodeData, reverseGraph.get(nodeData), false);
+    }
+
+    @Override
+    public boolean containsNode(N nodeData) {
+        checkRep();
+
+        if (nodeData == null) {
+            throw new NullPointerException();
+        }
+
+        return graph.containsKey(nodeData);
+    }
+
+    @Override
+    public boolean containsEdge(E label, N src, N dst) {
+        checkRep();
+
+        if (label == null || src == null || dst == null) {
+            throw new NullPointerException();
+        }
+
+        Map<N, LabelSet<E>> neighbors = graph.get(src);
+        LabelSet<E> labels = neighbors == null ? null : neighbors.get(dst);
+
+        return labels != null && labels.contains(label);
+    }
+
+    /**
+     * Returns an iterator of the nodes contained in the graph
+     *
+     * @return an iterator of a read-only view of the nodes contained in
+     * the graph in no particular order
+     */
+    @Override
+    public Iterator<N> iterator() {
+        checkRep();
+
+        return Collections.unmodifiableSet(graph.keySet()).iterator();
+    }
+
+    /**
+     * EdgeView is a read-only view of the edges between one node and its neighbors in one
+     * direction, which creates Edge objects as it is iterated
+     */
+    private class EdgeView extends AbstractCollection<Graph.Edge<N, E>> {
+        private final N node;
+        private final Map<N, LabelSet<E>> neighbors;
+        private final boolean outgoing;
+
+        // Abstraction Function:
+        // If outgoing, the edges node - n (L), otherwise the edges n - node (L),
+        // for each entry n -> labels of neighbors and each L in labels.
+        // If neighbors == null, the view is empty
+        //
+        // Rep Invariant:
+        // node != null
+
+        /**
+         * @param node the node whose edges are viewed
+         * @param neighbors the adjacency of node in the viewed direction, or null if node
+         * is not in the graph
+         * @param outgoing whether the edges point away from node
+         * @spec.effects Constructs a new EdgeView
+         */
+        EdgeView(N node, Map<N, LabelSet<E>> neighbors, boolean outgoing) {
+            this.node = node;
+            this.neighbors = neighbors;
+            this.outgoing = outgoing;
+        }
+
+        @Override
+        public int size() {
+            if (neighbors == null) {
+                return 0;
+            }
+
+            int size = 0;
+
+            // Inv: size is the number of labels of all neighbors from 0 to i-1
+            for (LabelSet<E> labels : neighbors.values()) {
+                size += labels.size();
+            }
+
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (neighbors == null || !(o instanceof Graph.Edge<?, ?>)) {
+                return false;
+            }
+
+            Graph.Edge<?, ?> edge = (Graph.Edge<?, ?>) o;
+            Object self = outgoing ? edge.getSrc() : edge.getDst();
+            Object other = outgoing ? edge.getDst() : edge.getSrc();
+            LabelSet<E> labels = neighbors.get(other);
+
+            return node.equals(self) && labels != null && labels.contains(edge.getLabel());
+        }
+
+        @Override
+        public Iterator<Graph.Edge<N, E>> iterator() {
+            if (neighbors == null) {
+                return Collections.emptyIterator();
+            }
+
+            Iterator<Map.Entry<N, LabelSet<E>>> entries = neighbors.entrySet().iterator();
+
+            return new Iterator<>() {
+                private N other = null;
+                private Iterator<E> labels = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    // Inv: all labels of neighbors before other have been returned
+                    while (!labels.hasNext() && entries.hasNext()) {
+                        Map.Entry<N, LabelSet<E>> entry = entries.next();
+                        other = entry.getKey();
+                        labels = entry.getValue().iterator();
+                    }
+
+                    return labels.hasNext();
+                }
+
+                @Override
+                public Graph.Edge<N, E> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    E label = labels.next();
+
+                    return outgoing ? new Graph.Edge<>(label, node, other)
+                                    : new Graph.Edge<>(label, other, node);
+                }
+            };
+        }
+    }
+}
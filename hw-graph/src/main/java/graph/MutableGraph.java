@@ -0,0 +1,78 @@
+package graph;
+
+/**
+ * MutableGraph is a GraphView that nodes and edges can be added to and removed from, with
+ * the semantics described in Graph.
+ *
+ * @param <N> the type of nodes
+ * @param <E> the type of edge labels
+ */
+public interface MutableGraph<N, E> extends GraphView<N, E> {
+
+    /**
+     * Adds node into this
+     *
+     * @param nodeData the data for the node to add into this
+     * @return true if and only if nodeData is added successfully to this. Note that null
+     * values and non-unique nodeData (present in graph) will be ignored.
+     * @spec.modifies this
+     * @spec.effects this_post = [nodeData]:G
+     */
+    boolean addNode(N nodeData);
+
+    /**
+     * Adds edge to existing nodes in this
+     *
+     * @param label the label of the edge
+     * @param src the source node from which the edge starts
+     * @param dst the destination node to which the edge points
+     * @return true if and only if the edge src - dst (label) is added successfully to this.
+     * Note that null values, edges between nonexistent nodes, and non-unique labels (present
+     * in existing edge between src and dst) will be ignored.
+     * @spec.modifies this
+     * @spec.effects If this = [[src], [dst]], then this_post = [[src - dst (label)], [dst]]
+     */
+    boolean addEdge(E label, N src, N dst);
+
+    /**
+     * Removes the edge src - dst (label) from this
+     *
+     * @param label the label of the edge
+     * @param src the source node from which the edge starts
+     * @param dst the destination node to which the edge points
+     * @return true if and only if the edge src - dst (label) was in this
+     * @throws NullPointerException if label == null || src == null || dst == null
+     * @spec.modifies this
+     * @spec.effects If this = [[src - dst (label)], [dst]], then this_post = [[src], [dst]]
+     */
+    boolean removeEdge(E label, N src, N dst);
+
+    /**
+     * Removes nodeData and all edges from or to it from this
+     *
+     * @param nodeData the node to remove
+     * @return true if and only if nodeData was in this
+     * @throws NullPointerException if nodeData == null
+     * @spec.modifies this
+     * @spec.effects this_post contains neither nodeData nor any edge ni - nodeData (Li) or
+     * nodeData - ni (Li), and is otherwise unchanged
+     */
+    boolean removeNode(N nodeData);
+
+    /**
+     * Changes the label of the edge src - dst (oldLabel) to newLabel
+     *
+     * @param oldLabel the current label of the edge
+     * @param newLabel the label to give the edge
+     * @param src the source node from which the edge starts
+     * @param dst the destination node to which the edge points
+     * @return true if and only if the edge src - dst (oldLabel) was in this and the edge
+     * src - dst (newLabel) was not. Note that no change is made if false is returned.
+     * @throws NullPointerException if oldLabel == null || newLabel == null || src == null ||
+     * dst == null
+     * @spec.modifies this
+     * @spec.effects If this = [[src - dst (oldLabel)], [dst]], then
+     * this_post = [[src - dst (newLabel)], [dst]]
+     */
+    boolean replaceEdgeLabel(E oldLabel, E newLabel, N src, N dst);
+}
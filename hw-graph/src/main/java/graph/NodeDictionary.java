@@ -0,0 +1,312 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * NodeDictionary is a bidirectional mapping between nodes and dense int ids. The nodes of a
+ * NodeDictionary of size n have ids 0 to n-1, so algorithms can keep per-node state in arrays
+ * of length size() indexed by id instead of in maps keyed by node. Behavior of NodeDictionary
+ * is unspecified when the node type is mutable.
+ *
+ * A NodeDictionary can only be changed by the Graph or other graph structure it is attached to,
+ * and clients see it read-only. Ids stay the same as long as no node is removed from that Graph.
+ * Removing a node gives its id to the node with the largest id, so ids stay dense.
+ *
+ * @param <N> the type of nodes
+ */
+public final class NodeDictionary<N> {
+    public static final boolean DEBUG = false;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private Object[] nodes;
+    private Object[] keys;
+    private int[] values;
+    private int size;
+
+    // Abstraction Function:
+    // nodes[i] is the node with id i for all 0 <= i < size.
+    // keys and values form an open addressing hash table with linear
+    // probing, where keys[j] != null means keys[j] has id values[j]
+    //
+    // Rep Invariant:
+    // nodes != null && keys != null && values != null &&
+    // keys.length == values.length && keys.length is a power of two &&
+    // size <= nodes.length && size < keys.length / 2 &&
+    // nodes[0..size-1] doesn't contain null or duplicate nodes &&
+    // keys contains exactly the nodes in nodes[0..size-1] &&
+    // keys[j] != null implies nodes[values[j]] == keys[j]
+
+    /**
+     * Checks that the rep is maintained
+     */
+    private void checkRep() {
+        assert nodes != null;
+        assert keys != null;
+        assert values != null;
+        assert keys.length == values.length;
+        assert size <= nodes.length;
+        assert size < keys.length / 2;
+
+        if (DEBUG) {
+            int count = 0;
+
+            for (int j = 0; j < keys.length; j++) {
+                if (keys[j] != null) {
+                    assert nodes[values[j]] == keys[j];
+                    count++;
+                }
+            }
+
+            assert count == size;
+        }
+    }
+
+    /**
+     * @param expectedSize the number of nodes expected to be added
+     * @spec.effects Constructs a new empty NodeDictionary
+     */
+    NodeDictionary(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+
+        while (capacity / 2 <= expectedSize) {
+            capacity *= 2;
+        }
+
+        nodes = new Object[Math.max(expectedSize, MIN_CAPACITY)];
+        keys = new Object[capacity];
+        values = new int[capacity];
+        size = 0;
+
+        checkRep();
+    }
+
+    /**
+     * @param other the dictionary to copy
+     * @spec.effects Constructs a new NodeDictionary with the same nodes and ids as other
+     */
+    NodeDictionary(NodeDictionary<N> other) {
+        nodes = Arrays.copyOf(other.nodes, Math.max(other.size, MIN_CAPACITY));
+        keys = other.keys.clone();
+        values = other.values.clone();
+        size = other.size;
+
+        checkRep();
+    }
+
+    /**
+     * Returns the number of nodes in this
+     *
+     * @return the number of nodes in this, which is one more than the largest id
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the estimated bytes retained by this, excluding the nodes themselves
+     *
+     * @return the estimated size of this and its arrays, as GraphStats estimates it
+     */
+    long estimatedBytes() {
+        return 32 + GraphStats.arrayBytes(nodes.length) + GraphStats.arrayBytes(keys.length) +
+               GraphStats.arrayBytes(values.length);
+    }
+
+    /**
+     * Returns the id of nodeData
+     *
+     * @param nodeData the node whose id is to be received
+     * @return the id of nodeData, or -1 if nodeData is not in this
+     * @throws NullPointerException if nodeData == null
+     */
+    public int getId(N nodeData) {
+        int slot = slotOf(nodeData);
+
+        return slot == -1 ? -1 : values[slot];
+    }
+
+    /**
+     * Returns the node with id
+     *
+     * @param id the id of the node to be received
+     * @return the node with id
+     * @throws NoSuchElementException if id &lt; 0 || id &gt;= size()
+     */
+    @SuppressWarnings("unchecked")
+    public N getNode(int id) {
+        if (id < 0 || id >= size) {
+            throw new NoSuchElementException("No node with id " + id);
+        }
+
+        return (N) nodes[id];
+    }
+
+    /**
+     * Adds nodeData into this if it is not already present
+     *
+     * @param nodeData the node to add
+     * @return the id of nodeData, which is size() - 1 if nodeData was not already present
+     * @throws NullPointerException if nodeData == null
+     * @spec.modifies this
+     */
+    int add(N nodeData) {
+        int id = getId(nodeData);
+
+        if (id != -1) {
+            return id;
+        }
+
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, nodes.length * 2);
+        }
+
+        if ((size + 1) >= keys.length / 2) {
+            resize(keys.length * 2);
+        }
+
+        nodes[size] = nodeData;
+        insert(nodeData, size);
+        size++;
+
+        checkRep();
+
+        return size - 1;
+    }
+
+    /**
+     * Removes nodeData from this, moving the node with the largest id to the id of nodeData
+     *
+     * @param nodeData the node to remove
+     * @return the former id of nodeData, or -1 if nodeData was not present
+     * @throws NullPointerException if nodeData == null
+     * @spec.modifies this
+     * @spec.effects if nodeData had id i and n = size() before the call, the node that had
+     * id n-1 now has id i
+     */
+    int remove(N nodeData) {
+        int slot = slotOf(nodeData);
+
+        if (slot == -1) {
+            return -1;
+        }
+
+        int id = values[slot];
+        deleteSlot(slot);
+
+        int last = size - 1;
+
+        if (id != last) {
+            nodes[id] = nodes[last];
+            values[slotOf(nodes[id])] = id;
+        }
+
+        nodes[last] = null;
+        size--;
+
+        checkRep();
+
+        return id;
+    }
+
+    /**
+     * Returns the slot of nodeData in keys
+     *
+     * @param nodeData the node to look for
+     * @return the slot holding nodeData, or -1 if nodeData is not in this
+     * @throws NullPointerException if nodeData == null
+     */
+    private int slotOf(Object nodeData) {
+        if (nodeData == null) {
+            throw new NullPointerException();
+        }
+
+        int mask = keys.length - 1;
+
+        // Inv: nodeData is not in any slot probed before j
+        for (int j = hash(nodeData) & mask; keys[j] != null; j = (j + 1) & mask) {
+            if (keys[j].equals(nodeData)) {
+                return j;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Empties slot and shifts later entries of the same probe run back, so that every
+     * remaining key stays reachable from its home slot
+     *
+     * @param slot the occupied slot to empty
+     * @spec.modifies keys, values
+     */
+    private void deleteSlot(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        keys[hole] = null;
+
+        // Inv: every key in the probe run is reachable from its home slot without
+        // passing through hole
+        for (int j = (hole + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+            int home = hash(keys[j]) & mask;
+
+            // keys[j] must move into hole unless its home lies cyclically in (hole, j]
+            boolean homeBetween = hole <= j ? (hole < home && home <= j) : (hole < home || home <= j);
+
+            if (!homeBetween) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                keys[j] = null;
+                hole = j;
+            }
+        }
+    }
+
+    /**
+     * Places nodeData with id in the first free slot of its probe sequence
+     *
+     * @param nodeData the node to place, which is not already in keys
+     * @param id the id of nodeData
+     * @spec.modifies keys, values
+     */
+    private void insert(Object nodeData, int id) {
+        int mask = keys.length - 1;
+        int j = hash(nodeData) & mask;
+
+        // Inv: all slots probed before j are occupied
+        while (keys[j] != null) {
+            j = (j + 1) & mask;
+        }
+
+        keys[j] = nodeData;
+        values[j] = id;
+    }
+
+    /**
+     * Rehashes all nodes into a table of capacity slots
+     *
+     * @param capacity the new number of slots, a power of two
+     * @spec.modifies keys, values
+     */
+    private void resize(int capacity) {
+        keys = new Object[capacity];
+        values = new int[capacity];
+
+        // Inv: keys contains all nodes with ids from 0 to i-1
+        for (int i = 0; i < size; i++) {
+            insert(nodes[i], i);
+        }
+    }
+
+    /**
+     * Spreads the hash code of nodeData so that low bits are well mixed
+     *
+     * @param nodeData the node to hash
+     * @return a mixed hash code of nodeData
+     */
+    private static int hash(Object nodeData) {
+        int h = nodeData.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,417 @@
+package graph;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * ProjectedGraph is a GraphView of the projection of a bipartite membership relation between
+ * nodes and groups onto the nodes: there is an edge a - b (G) between every pair of distinct
+ * nodes a and b that are both members of group G, in both directions.
+ *
+ * Only the memberships are stored, indexed both from each node to its groups and from each group
+ * to its members, so a group with k members costs O(k) memory rather than the k(k-1) edges of its
+ * projection. Edges are generated on demand as they are read, so reading all outgoing edges of a
+ * node takes time proportional to their number.
+ *
+ * @param <N> the type of nodes
+ * @param <E> the type of groups, which are the edge labels
+ */
+public class ProjectedGraph<N, E> implements GraphView<N, E> {
+    public static final boolean DEBUG = false;
+
+    private final Map<N, Set<E>> groups;
+    private final Map<E, Set<N>> members;
+
+    // Abstraction Function:
+    // The nodes are the keys of groups, and for every node a, every group G
+    // in groups.get(a), and every node b != a in members.get(G), the edge
+    // a - b (G) is in the graph
+    //
+    // Rep Invariant:
+    // groups != null && members != null &&
+    // groups and members don't contain null keys or null or empty sets &&
+    // G is in groups.get(a) if and only if a is in members.get(G)
+
+    /**
+     * Checks that the rep is maintained
+     */
+    private void checkRep() {
+        assert groups != null;
+        assert members != null;
+
+        if (DEBUG) {
+            for (N node : groups.keySet()) {
+                assert node != null;
+                assert !groups.get(node).isEmpty();
+
+                for (E group : groups.get(node)) {
+                    assert members.get(group).contains(node);
+                }
+            }
+
+            for (E group : members.keySet()) {
+                assert group != null;
+
+                for (N node : members.get(group)) {
+                    assert groups.get(node).contains(group);
+                }
+            }
+        }
+    }
+
+    /**
+     * @spec.effects Constructs a new ProjectedGraph with no memberships, []
+     */
+    public ProjectedGraph() {
+        groups = new HashMap<>();
+        members = new HashMap<>();
+        checkRep();
+    }
+
+    /**
+     * Makes nodeData a member of group, adding nodeData to this if it is not present and the
+     * edges between nodeData and the other members of group
+     *
+     * @param nodeData the node to add to group
+     * @param group the group to add nodeData to
+     * @return true if and only if nodeData was not already a member of group
+     * @throws NullPointerException if nodeData == null || group == null
+     * @spec.modifies this
+     * @spec.effects adds nodeData - ni (group) and ni - nodeData (group) for every other
+     * member ni of group
+     */
+    public boolean addMembership(N nodeData, E group) {
+        checkRep();
+
+        if (nodeData == null || group == null) {
+            throw new NullPointerException();
+        }
+
+        if (!groups.containsKey(nodeData)) {
+            groups.put(nodeData, new HashSet<>());
+        }
+
+        if (!members.containsKey(group)) {
+            members.put(group, new HashSet<>());
+        }
+
+        boolean result = groups.get(nodeData).add(group);
+        members.get(group).add(nodeData);
+
+        checkRep();
+
+        return result;
+    }
+
+    /**
+     * Returns the groups nodeData is a member of
+     *
+     * @param nodeData the node whose groups are to be received
+     * @return a read-only view of the groups of nodeData, which is empty if nodeData is
+     * not in this
+     * @throws NullPointerException if nodeData == null
+     */
+    public Set<E> groupsOf(N nodeData) {
+        checkRep();
+
+        if (nodeData == null) {
+            throw new NullPointerException();
+        }
+
+        return Collections.unmodifiableSet(groups.getOrDefault(nodeData, Collections.emptySet()));
+    }
+
+    /**
+     * Returns the members of group
+     *
+     * @param group the group whose members are to be received
+     * @return a read-only view of the members of group, which is empty if group has none
+     * @throws NullPointerException if group == null
+     */
+    public Set<N> membersOf(E group) {
+        checkRep();
+
+        if (group == null) {
+            throw new NullPointerException();
+        }
+
+        return Collections.unmodifiableSet(members.getOrDefault(group, Collections.emptySet()));
+    }
+
+    /**
+     * Returns the edges that possess label. Creates all k(k-1) edges of a group with k members.
+     */
+    @Override
+    public List<Graph.Edge<N, E>> getEdgesByLabel(E label) {
+        checkRep();
+
+        if (label == null) {
+            throw new NullPointerException();
+        }
+
+        List<Graph.Edge<N, E>> edges = new ArrayList<>();
+        Set<N> groupMembers = members.getOrDefault(label, Collections.emptySet());
+
+        // Inv: edges contains the edges with label from all members from 0 to i-1
+        for (N src : groupMembers) {
+            // Inv: edges contains the edges with label from src to all members from 0 to j-1
+            for (N dst : groupMembers) {
+                if (!src.equals(dst)) {
+                    edges.add(new Graph.Edge<>(label, src, dst));
+                }
+            }
+        }
+
+        return edges;
+    }
+
+    @Override
+    public Collection<Graph.Edge<N, E>> outgoingEdges(N nodeData) {
+        checkRep();
+
+        if (nodeData == null) {
+            throw new NullPointerException();
+        }
+
+        return new EdgeView(nodeData, true);
+    }
+
+    /**
+     * Returns a read-only view of the incoming edges of nodeData. Since every edge has a reverse
+     * edge with the same label, these are the outgoing edges of nodeData reversed.
+     */
+    @Override
+    public Collection<Graph.Edge<N, E>> incomingEdges(N nodeData) {
+        checkRep();
+
+        if (nodeData == null) {
+            throw new NullPointerException();
+        }
+
+        return new EdgeView(nodeData, false);
+    }
+
+    /**
+     * Returns an immutable compressed sparse row snapshot of the projection, built in parallel.
+     * The work is divided by src node among the threads of the common fork-join pool: the
+     * number of outgoing edges of every node is computed first, so that each node's edges
+     * have a known range of the snapshot's arrays, and then each thread writes the edges of
+     * its nodes directly into their ranges. No edge is buffered, merged or locked.
+     *
+     * @param edgeOrder the order to put the outgoing edges of each node in, or null to leave
+     * them in no particular order
+     * @return a CompactGraph with the same nodes and edges as this, whose edgeOrder() is
+     * edgeOrder. Later changes to this are not reflected in the snapshot.
+     * @spec.requires this is not modified during the call &amp;&amp;
+     * this has fewer than 2^31 edges
+     */
+    public CompactGraph<N, E> freeze(Comparator<? super Graph.Edge<N, E>> edgeOrder) {
+        checkRep();
+
+        NodeDictionary<N> nodeIds = new NodeDictionary<>(groups.size());
+
+        // Inv: nodeIds contains all nodes from 0 to i-1
+        for (N node : groups.keySet()) {
+            nodeIds.add(node);
+        }
+
+        Map<E, int[]> memberIds = new HashMap<>();
+
+        // Inv: memberIds contains the ids of the members of all groups from 0 to i-1
+        for (Map.Entry<E, Set<N>> entry : members.entrySet()) {
+            int[] ids = new int[entry.getValue().size()];
+            int i = 0;
+
+            for (N member : entry.getValue()) {
+                ids[i++] = nodeIds.getId(member);
+            }
+
+            memberIds.put(entry.getKey(), ids);
+        }
+
+        int n = nodeIds.size();
+        int[] offsets = new int[n + 1];
+
+        // The maps are only read from here on, so threads can share them
+        IntStream.range(0, n).parallel().forEach(id -> {
+            int degree = 0;
+
+            // Inv: degree is the number of other members of all groups of the node from 0 to i-1
+            for (E group : groups.get(nodeIds.getNode(id))) {
+                degree += memberIds.get(group).length - 1;
+            }
+
+            offsets[id + 1] = degree;
+        });
+
+        // Inv: offsets[0..id] are the offsets of the edges of the nodes with ids from 0 to id
+        for (int id = 0; id < n; id++) {
+            offsets[id + 1] += offsets[id];
+        }
+
+        int[] targets = new int[offsets[n]];
+        Object[] labels = new Object[offsets[n]];
+
+        IntStream.range(0, n).parallel().forEach(id -> {
+            N node = nodeIds.getNode(id);
+            int k = offsets[id];
+
+            // Inv: targets and labels hold the edges to the other members of all groups of
+            // the node from 0 to i-1, from offsets[id] to k-1
+            for (E group : groups.get(node)) {
+                for (int other : memberIds.get(group)) {
+                    if (other != id) {
+                        targets[k] = other;
+                        labels[k] = group;
+                        k++;
+                    }
+                }
+            }
+
+            if (edgeOrder != null) {
+                CompactGraph.sortEdges(nodeIds, id, offsets[id], offsets[id + 1], targets, labels, edgeOrder);
+            }
+        });
+
+        checkRep();
+
+        return new CompactGraph<>(nodeIds, offsets, targets, labels, edgeOrder);
+    }
+
+    @Override
+    public boolean containsNode(N nodeData) {
+        checkRep();
+
+        if (nodeData == null) {
+            throw new NullPointerException();
+        }
+
+        return groups.containsKey(nodeData);
+    }
+
+    @Override
+    public boolean containsEdge(E label, N src, N dst) {
+        checkRep();
+
+        if (label == null || src == null || dst == null) {
+            throw new NullPointerException();
+        }
+
+        Set<N> groupMembers = members.get(label);
+
+        return groupMembers != null && !src.equals(dst) &&
+               groupMembers.contains(src) && groupMembers.contains(dst);
+    }
+
+    /**
+     * Returns an iterator of the nodes contained in the graph
+     *
+     * @return an iterator of a read-only view of the nodes contained in
+     * the graph in no particular order
+     */
+    @Override
+    public Iterator<N> iterator() {
+        checkRep();
+
+        return Collections.unmodifiableSet(groups.keySet()).iterator();
+    }
+
+    /**
+     * EdgeView is a read-only view of the edges between one node and the other members of its
+     * groups in one direction, which creates Edge objects as it is iterated
+     */
+    private class EdgeView extends AbstractCollection<Graph.Edge<N, E>> {
+        private final N node;
+        private final boolean outgoing;
+
+        // Abstraction Function:
+        // If outgoing, the edges node - n (G), otherwise the edges n - node (G),
+        // for each group G of node and each member n != node of G
+        //
+        // Rep Invariant:
+        // node != null
+
+        /**
+         * @param node the node whose edges are viewed
+         * @param outgoing whether the edges point away from node
+         * @spec.effects Constructs a new EdgeView
+         */
+        EdgeView(N node, boolean outgoing) {
+            this.node = node;
+            this.outgoing = outgoing;
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+
+            // Inv: size is the number of other members of all groups of node from 0 to i-1
+            for (E group : groups.getOrDefault(node, Collections.emptySet())) {
+                size += members.get(group).size() - 1;
+            }
+
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Graph.Edge<?, ?>)) {
+                return false;
+            }
+
+            Graph.Edge<?, ?> edge = (Graph.Edge<?, ?>) o;
+            Object self = outgoing ? edge.getSrc() : edge.getDst();
+            Object other = outgoing ? edge.getDst() : edge.getSrc();
+            Set<N> groupMembers = members.get(edge.getLabel());
+
+            return node.equals(self) && !node.equals(other) &&
+                   groupMembers != null && groupMembers.contains(node) && groupMembers.contains(other);
+        }
+
+        @Override
+        public Iterator<Graph.Edge<N, E>> iterator() {
+            Iterator<E> nodeGroups = groups.getOrDefault(node, Collections.emptySet()).iterator();
+
+            return new Iterator<>() {
+                private E group = null;
+                private Iterator<N> others = Collections.emptyIterator();
+                private N next = null;
+
+                @Override
+                public boolean hasNext() {
+                    // Inv: all members of groups before group have been returned, and all
+                    // members of group that others has passed except next
+                    while (next == null) {
+                        if (others.hasNext()) {
+                            N other = others.next();
+
+                            if (!other.equals(node)) {
+                                next = other;
+                            }
+                        } else if (nodeGroups.hasNext()) {
+                            group = nodeGroups.next();
+                            others = members.get(group).iterator();
+                        } else {
+                            return false;
+                        }
+                    }
+
+                    return true;
+                }
+
+                @Override
+                public Graph.Edge<N, E> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    N other = next;
+                    next = null;
+
+                    return outgoing ? new Graph.Edge<>(group, node, other)
+                                    : new Graph.Edge<>(group, other, node);
+                }
+            };
+        }
+    }
+}
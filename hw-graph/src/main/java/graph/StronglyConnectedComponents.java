@@ -0,0 +1,378 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * StronglyConnectedComponents is an immutable partition of the nodes of a Graph into its strongly
+ * connected components, which are the largest sets of nodes that each have a path to all the
+ * others. A path from a to b exists if and only if the component of b is reachable from the
+ * component of a in the condensation, the graph with one node per component and an edge between
+ * two components whenever the graph has an edge between their nodes. The condensation is acyclic,
+ * and is usually far smaller than the graph, so reachability can be answered from it before any
+ * search runs.
+ *
+ * The components are numbered in a topological order of the condensation: if the graph has an
+ * edge from a node in component i to a node in component j != i, then i < j. When the graph has
+ * no cycles, every component is a single node and this numbering is a topological order of the
+ * graph itself.
+ *
+ * The components are found with an iterative version of Tarjan's algorithm that keeps its call
+ * stack in int arrays sized to the node count, so deep graphs can't overflow the thread's stack.
+ *
+ * @param <N> the type of nodes
+ */
+public class StronglyConnectedComponents<N> {
+    public static final boolean DEBUG = false;
+
+    private final NodeDictionary<N> nodeIds;
+    private final int[] component;
+    private final int componentCount;
+    private final int[] componentOffsets;
+    private final int[] componentTargets;
+    private final boolean acyclic;
+
+    // Abstraction Function:
+    // The node with id i in nodeIds is in component component[i], and there are
+    // componentCount components. The condensation has an edge from component c
+    // to each componentTargets[k] for componentOffsets[c] <= k < componentOffsets[c+1].
+    // acyclic is whether the graph had no cycles, including self edges
+    //
+    // Rep Invariant:
+    // nodeIds != null && component != null && componentOffsets != null &&
+    // componentTargets != null && component.length == nodeIds.size() &&
+    // 0 <= component[i] < componentCount for all 0 <= i < component.length &&
+    // componentOffsets.length == componentCount + 1 &&
+    // componentOffsets is non-decreasing && componentOffsets[componentCount] == componentTargets.length &&
+    // c < componentTargets[k] for all componentOffsets[c] <= k < componentOffsets[c+1]
+
+    /**
+     * Checks that the rep is maintained
+     */
+    private void checkRep() {
+        assert nodeIds != null;
+        assert component != null;
+        assert componentOffsets != null;
+        assert componentTargets != null;
+        assert component.length == nodeIds.size();
+        assert componentOffsets.length == componentCount + 1;
+        assert componentOffsets[componentCount] == componentTargets.length;
+
+        if (DEBUG) {
+            for (int c : component) {
+                assert 0 <= c && c < componentCount;
+            }
+
+            for (int c = 0; c < componentCount; c++) {
+                assert componentOffsets[c] <= componentOffsets[c + 1];
+
+                for (int k = componentOffsets[c]; k < componentOffsets[c + 1]; k++) {
+                    assert c < componentTargets[k];
+                }
+            }
+        }
+    }
+
+    /**
+     * @param graph the graph whose strongly connected components are to be found
+     * @throws NullPointerException if graph == null
+     * @spec.requires graph is not modified during the call
+     * @spec.effects Constructs a new StronglyConnectedComponents of the nodes and edges of graph
+     */
+    public StronglyConnectedComponents(Graph<N, ?> graph) {
+        if (graph == null) {
+            throw new NullPointerException();
+        }
+
+        nodeIds = new NodeDictionary<>(graph.nodeIds());
+
+        int n = nodeIds.size();
+
+        // Copy the children of every node into int arrays once, since Tarjan's algorithm
+        // resumes each node's list of children many times
+        int[] offsets = new int[n + 1];
+
+        // Inv: offsets[i+1] is the number of edges of the node with id i for all ids from 0 to i-1
+        for (int i = 0; i < n; i++) {
+            int[] count = {0};
+            graph.forEachChildId(i, child -> count[0]++);
+            offsets[i + 1] = offsets[i] + count[0];
+        }
+
+        int[] targets = new int[offsets[n]];
+        boolean[] selfEdge = {false};
+
+        // Inv: targets holds the children of the nodes with ids from 0 to i-1
+        for (int i = 0; i < n; i++) {
+            int src = i;
+            int[] next = {offsets[i]};
+
+            graph.forEachChildId(i, child -> {
+                targets[next[0]++] = child;
+                selfEdge[0] |= child == src;
+            });
+        }
+
+        int[] found = new int[n];
+        int count = tarjan(offsets, targets, found);
+
+        // Tarjan's algorithm finds every component after all components reachable from it,
+        // so reversing the order in which they are found gives a topological order
+        component = new int[n];
+
+        // Inv: component holds the renumbered components of the nodes with ids from 0 to i-1
+        for (int i = 0; i < n; i++) {
+            component[i] = count - 1 - found[i];
+        }
+
+        componentCount = count;
+        componentOffsets = new int[count + 1];
+
+        // Inv: componentOffsets[c+1] counts the edges between components leaving component c
+        // for all edges of the nodes with ids from 0 to i-1
+        for (int i = 0; i < n; i++) {
+            for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+                if (component[i] != component[targets[k]]) {
+                    componentOffsets[component[i] + 1]++;
+                }
+            }
+        }
+
+        // Inv: componentOffsets[0..c] are the offsets of components 0 to c in componentTargets
+        for (int c = 0; c < count; c++) {
+            componentOffsets[c + 1] += componentOffsets[c];
+        }
+
+        componentTargets = new int[componentOffsets[count]];
+        int[] position = new int[count];
+        System.arraycopy(componentOffsets, 0, position, 0, count);
+
+        // Inv: componentTargets holds the edges between components of the nodes with ids
+        // from 0 to i-1
+        for (int i = 0; i < n; i++) {
+            for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+                if (component[i] != component[targets[k]]) {
+                    componentTargets[position[component[i]]++] = component[targets[k]];
+                }
+            }
+        }
+
+        acyclic = count == n && !selfEdge[0];
+
+        checkRep();
+    }
+
+    /**
+     * Finds the strongly connected components of a graph of ids with Tarjan's algorithm
+     *
+     * @param offsets the children of the node with id i are targets[offsets[i]..offsets[i+1]-1]
+     * @param targets the ids of the children of all nodes
+     * @param found the array to store, for each node, the index of its component in the order
+     * in which components are found
+     * @return the number of components
+     * @spec.modifies found
+     */
+    private static int tarjan(int[] offsets, int[] targets, int[] found) {
+        int n = found.length;
+        int[] index = new int[n];
+        int[] low = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int[] callNode = new int[n];
+        int[] callEdge = new int[n];
+        int stackSize = 0;
+        int callSize = 0;
+        int counter = 1;
+        int count = 0;
+
+        // index[i] == 0 means the node with id i has not been visited yet, so indices start at 1
+
+        // Inv: every node with id from 0 to s-1 has been assigned a component
+        for (int s = 0; s < n; s++) {
+            if (index[s] != 0) {
+                continue;
+            }
+
+            index[s] = low[s] = counter++;
+            stack[stackSize++] = s;
+            onStack[s] = true;
+            callNode[callSize] = s;
+            callEdge[callSize] = offsets[s];
+            callSize++;
+
+            // Inv: callNode[0..callSize-1] is the path of nodes being explored from s, and
+            // callEdge[j] is the next edge of callNode[j] to explore
+            while (callSize > 0) {
+                int v = callNode[callSize - 1];
+                int k = callEdge[callSize - 1];
+
+                if (k < offsets[v + 1]) {
+                    callEdge[callSize - 1]++;
+                    int w = targets[k];
+
+                    if (index[w] == 0) {
+                        index[w] = low[w] = counter++;
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        callNode[callSize] = w;
+                        callEdge[callSize] = offsets[w];
+                        callSize++;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                } else {
+                    callSize--;
+
+                    if (low[v] == index[v]) {
+                        int w;
+
+                        // Inv: the nodes popped so far are in the component of v
+                        do {
+                            w = stack[--stackSize];
+                            onStack[w] = false;
+                            found[w] = count;
+                        } while (w != v);
+
+                        count++;
+                    }
+
+                    if (callSize > 0) {
+                        int parent = callNode[callSize - 1];
+                        low[parent] = Math.min(low[parent], low[v]);
+                    }
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns whether a and b are in the same strongly connected component
+     *
+     * @param a a node
+     * @param b another node
+     * @return true if and only if a has a path to b and b has a path to a
+     * @throws NullPointerException if a == null || b == null
+     * @throws IllegalArgumentException if a or b is not in this
+     */
+    public boolean stronglyConnected(N a, N b) {
+        return componentOf(a) == componentOf(b);
+    }
+
+    /**
+     * Returns the component of nodeData
+     *
+     * @param nodeData the node whose component is to be received
+     * @return the number of the component of nodeData, in topological order of the condensation
+     * @throws NullPointerException if nodeData == null
+     * @throws IllegalArgumentException if nodeData is not in this
+     */
+    public int componentOf(N nodeData) {
+        int id = nodeIds.getId(nodeData);
+
+        if (id == -1) {
+            throw new IllegalArgumentException("Node is not in the components: " + nodeData);
+        }
+
+        return component[id];
+    }
+
+    /**
+     * Returns the number of strongly connected components
+     *
+     * @return the number of components of the nodes in this
+     */
+    public int componentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Returns the components reachable from a component in the condensation
+     *
+     * @param start the component to start from
+     * @return a new BitSet with bit c set if and only if component c is reachable from start,
+     * including start itself
+     * @throws IndexOutOfBoundsException if start &lt; 0 || start &gt;= componentCount()
+     */
+    public BitSet reachableComponents(int start) {
+        if (start < 0 || start >= componentCount) {
+            throw new IndexOutOfBoundsException("Component " + start + " of " + componentCount);
+        }
+
+        BitSet reached = new BitSet(componentCount);
+        int[] stack = new int[componentCount];
+        int size = 0;
+
+        reached.set(start);
+        stack[size++] = start;
+
+        // Inv: reached contains start and every component pushed on stack; each component
+        // is pushed at most once, so size <= componentCount
+        while (size > 0) {
+            int c = stack[--size];
+
+            for (int k = componentOffsets[c]; k < componentOffsets[c + 1]; k++) {
+                int next = componentTargets[k];
+
+                if (!reached.get(next)) {
+                    reached.set(next);
+                    stack[size++] = next;
+                }
+            }
+        }
+
+        return reached;
+    }
+
+    /**
+     * Returns whether the graph had no cycles
+     *
+     * @return true if and only if no node of the graph has a path of one or more edges to itself
+     */
+    public boolean isAcyclic() {
+        return acyclic;
+    }
+
+    /**
+     * Returns the nodes of the graph in topological order
+     *
+     * @return a new list of all nodes of the graph in which every edge goes from a node to a
+     * later node
+     * @throws IllegalStateException if the graph had a cycle
+     */
+    public List<N> topologicalOrder() {
+        checkRep();
+
+        if (!acyclic) {
+            throw new IllegalStateException("Graph has a cycle");
+        }
+
+        // Every component is a single node, so component numbers are positions in the order
+        int[] order = new int[component.length];
+
+        // Inv: order[component[j]] == j for all ids j from 0 to i-1
+        for (int i = 0; i < component.length; i++) {
+            order[component[i]] = i;
+        }
+
+        List<N> nodes = new ArrayList<>(order.length);
+
+        // Inv: nodes contains the nodes at positions 0 to i-1 of the order
+        for (int id : order) {
+            nodes.add(nodeIds.getNode(id));
+        }
+
+        return nodes;
+    }
+
+    /**
+     * Returns the dictionary of ids of the nodes in this
+     *
+     * @return a read-only view of the ids the nodes had in the graph when this was made
+     */
+    public NodeDictionary<N> nodeIds() {
+        return nodeIds;
+    }
+}
@@ -0,0 +1,252 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * WeightedGraph is an immutable snapshot of a Graph whose edge labels are Double weights, in
+ * compressed sparse row form with the weights stored as primitive doubles. Like CompactGraph,
+ * every node is assigned a dense int id from 0 to nodeCount() - 1, and the outgoing edges of a
+ * node with id i are exactly the edges with indices from edgeStart(i) inclusive to edgeEnd(i)
+ * exclusive. The weight of an edge is read with edgeWeight, which neither unboxes nor follows
+ * a pointer, so shortest path searches can relax edges directly from the arrays.
+ *
+ * WeightedGraph describes the same nodes and edges as the Graph it was made from, so it can be
+ * described by [[n1 - n1_a (W1_a), n1_b (W1_b), ...], [n2 - n2_a (W2_a), n2_b (W2_b), ...], ...]
+ * where each W is a weight.
+ *
+ * @param <N> the type of nodes
+ */
+public final class WeightedGraph<N> implements Iterable<N> {
+    public static final boolean DEBUG = false;
+
+    private final NodeDictionary<N> nodeIds;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    // Abstraction Function:
+    // nodeIds maps nodes to ids and back, and n = nodeIds.size().
+    // The outgoing edges of the node with id i are, for each index k from
+    // offsets[i] to offsets[i+1]-1, node(i) - node(targets[k]) (weights[k])
+    //
+    // Rep Invariant:
+    // nodeIds != null && offsets != null && targets != null && weights != null &&
+    // offsets.length == n + 1 && offsets[0] == 0 &&
+    // offsets[n] == targets.length && offsets is non-decreasing &&
+    // targets.length == weights.length && 0 <= targets[k] < n for all k
+
+    /**
+     * Checks that the rep is maintained
+     */
+    private void checkRep() {
+        assert nodeIds != null;
+        assert offsets != null;
+        assert targets != null;
+        assert weights != null;
+
+        if (DEBUG) {
+            int n = nodeIds.size();
+
+            assert offsets.length == n + 1;
+            assert offsets[0] == 0;
+            assert offsets[n] == targets.length;
+            assert targets.length == weights.length;
+
+            for (int i = 0; i < n; i++) {
+                assert offsets[i] <= offsets[i + 1];
+            }
+
+            for (int k = 0; k < targets.length; k++) {
+                assert 0 <= targets[k] && targets[k] < n;
+            }
+        }
+    }
+
+    /**
+     * @param graph the graph to take a snapshot of
+     * @throws NullPointerException if graph == null
+     * @spec.effects Constructs a new WeightedGraph with the same nodes and edges as graph,
+     * whose node ids are the ids the nodes have in graph
+     */
+    public WeightedGraph(Graph<N, Double> graph) {
+        if (graph == null) {
+            throw new NullPointerException();
+        }
+
+        nodeIds = new NodeDictionary<>(graph.nodeIds());
+
+        int n = nodeIds.size();
+        offsets = new int[n + 1];
+
+        // Inv: offsets[i+1] is the number of outgoing edges of all nodes with ids from 0 to i
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + graph.outgoingEdges(nodeIds.getNode(i)).size();
+        }
+
+        targets = new int[offsets[n]];
+        weights = new double[offsets[n]];
+
+        // Inv: targets and weights hold the outgoing edges of all nodes with ids from 0 to i-1
+        for (int i = 0; i < n; i++) {
+            int k = offsets[i];
+
+            // Inv: targets and weights hold the outgoing edges of node i from 0 to j-1
+            for (Graph.Edge<N, Double> edge : graph.outgoingEdges(nodeIds.getNode(i))) {
+                targets[k] = nodeIds.getId(edge.getDst());
+                weights[k] = edge.getLabel();
+                k++;
+            }
+        }
+
+        checkRep();
+    }
+
+    /**
+     * Returns the number of nodes in this
+     *
+     * @return the number of nodes in this
+     */
+    public int nodeCount() {
+        return nodeIds.size();
+    }
+
+    /**
+     * Returns the dictionary of ids of the nodes in this
+     *
+     * @return the read-only ids of the nodes in this, which are the ids the nodes had
+     * in the Graph this was made from at the time it was made
+     */
+    public NodeDictionary<N> nodeIds() {
+        return nodeIds;
+    }
+
+    /**
+     * Returns the number of edges in this
+     *
+     * @return the number of edges in this
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the id of nodeData
+     *
+     * @param nodeData the node whose id is to be received
+     * @return the id of nodeData, or -1 if nodeData is not in this
+     * @throws NullPointerException if nodeData == null
+     */
+    public int getId(N nodeData) {
+        return nodeIds.getId(nodeData);
+    }
+
+    /**
+     * Returns the node with id
+     *
+     * @param id the id of the node to be received
+     * @return the node with id
+     * @throws IndexOutOfBoundsException if id &lt; 0 || id &gt;= nodeCount()
+     */
+    public N getNode(int id) {
+        checkId(id);
+
+        return nodeIds.getNode(id);
+    }
+
+    /**
+     * Returns whether nodeData is present in this
+     *
+     * @param nodeData the data of the node to check if present in this
+     * @return true if and only if nodeData is present in this
+     * @throws NullPointerException if nodeData == null
+     */
+    public boolean containsNode(N nodeData) {
+        return getId(nodeData) != -1;
+    }
+
+    /**
+     * Returns the index of the first outgoing edge of the node with id
+     *
+     * @param id the id of the node whose outgoing edges are to be traversed
+     * @return the index of the first outgoing edge of the node with id
+     * @throws IndexOutOfBoundsException if id &lt; 0 || id &gt;= nodeCount()
+     */
+    public int edgeStart(int id) {
+        checkId(id);
+
+        return offsets[id];
+    }
+
+    /**
+     * Returns the index one past the last outgoing edge of the node with id
+     *
+     * @param id the id of the node whose outgoing edges are to be traversed
+     * @return the index one past the last outgoing edge of the node with id
+     * @throws IndexOutOfBoundsException if id &lt; 0 || id &gt;= nodeCount()
+     */
+    public int edgeEnd(int id) {
+        checkId(id);
+
+        return offsets[id + 1];
+    }
+
+    /**
+     * Returns the id of the destination node of the edge with index
+     *
+     * @param edge the index of the edge
+     * @return the id of dst where edge is src - dst (W)
+     * @throws IndexOutOfBoundsException if edge &lt; 0 || edge &gt;= edgeCount()
+     */
+    public int edgeTarget(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Returns the weight of the edge with index
+     *
+     * @param edge the index of the edge
+     * @return W where edge is src - dst (W)
+     * @throws IndexOutOfBoundsException if edge &lt; 0 || edge &gt;= edgeCount()
+     */
+    public double edgeWeight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * Returns an iterator of the nodes contained in this
+     *
+     * @return an iterator of the nodes contained in this in id order
+     */
+    @Override
+    public Iterator<N> iterator() {
+        return new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < nodeIds.size();
+            }
+
+            @Override
+            public N next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return nodeIds.getNode(next++);
+            }
+        };
+    }
+
+    /**
+     * Checks that id is the id of a node in this
+     *
+     * @param id the id to check
+     * @throws IndexOutOfBoundsException if id &lt; 0 || id &gt;= nodeCount()
+     */
+    private void checkId(int id) {
+        if (id < 0 || id >= nodeIds.size()) {
+            throw new IndexOutOfBoundsException("No node with id " + id);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package graph.algorithms;
+
+import graph.CompactGraph;
+import graph.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * BreadthFirstSearch is a reusable engine for finding shortest paths, by number of edges, in a
+ * CompactGraph. It searches on node ids and edge indices, and records only the edge through
+ * which each node was first reached, so the path is built once at the end instead of being
+ * copied for every node discovered. Its working arrays are allocated once, sized to the node
+ * count, and reused by every search: a node counts as visited only if it is stamped with the
+ * epoch of the current search, so nothing needs to be cleared between searches. A search
+ * allocates nothing but the path it returns.
+ *
+ * The outgoing edges of each node are explored in edge index order, so among several shortest
+ * paths the search finds the one whose edges come first in that order. On a CompactGraph whose
+ * edges are sorted, as by Graph.freeze(Comparator), that is the shortest path that is least by
+ * the edge order at each step, found without sorting any edges during the search.
+ *
+ * A BreadthFirstSearch is not safe for use by several threads at once; each thread should have
+ * its own.
+ *
+ * @param <N> the type of nodes
+ * @param <E> the type of edge labels
+ */
+public final class BreadthFirstSearch<N, E> {
+    public static final boolean DEBUG = false;
+
+    private final CompactGraph<N, E> graph;
+    private final int[] queue;
+    private final int[] parentEdge;
+    private final int[] parentNode;
+    private final int[] stamp;
+    private int epoch;
+
+    // Abstraction Function:
+    // An engine for searches of graph. During and after a search, the node with id i
+    // was reached if and only if stamp[i] == epoch, in which case it was first reached
+    // through the edge with index parentEdge[i] from the node with id parentNode[i],
+    // or is the start of the search if parentEdge[i] == -1. queue holds the ids of the
+    // nodes in the order they were reached
+    //
+    // Rep Invariant:
+    // graph != null && queue != null && parentEdge != null && parentNode != null &&
+    // stamp != null && queue.length == parentEdge.length == parentNode.length ==
+    // stamp.length == graph.nodeCount() && epoch >= 0 && stamp[i] <= epoch for all i
+
+    /**
+     * Checks that the rep is maintained
+     */
+    private void checkRep() {
+        assert graph != null;
+        assert queue != null;
+        assert parentEdge != null;
+        assert parentNode != null;
+        assert stamp != null;
+        assert queue.length == graph.nodeCount();
+        assert parentEdge.length == queue.length;
+        assert parentNode.length == queue.length;
+        assert stamp.length == queue.length;
+        assert epoch >= 0;
+
+        if (DEBUG) {
+            for (int s : stamp) {
+                assert s <= epoch;
+            }
+        }
+    }
+
+    /**
+     * @param graph the graph to search
+     * @throws NullPointerException if graph == null
+     * @spec.effects Constructs a new BreadthFirstSearch of graph
+     */
+    public BreadthFirstSearch(CompactGraph<N, E> graph) {
+        if (graph == null) {
+            throw new NullPointerException();
+        }
+
+        int n = graph.nodeCount();
+
+        this.graph = graph;
+        this.queue = new int[n];
+        this.parentEdge = new int[n];
+        this.parentNode = new int[n];
+        this.stamp = new int[n];
+        this.epoch = 0;
+        checkRep();
+    }
+
+    /**
+     * Returns the graph this searches
+     *
+     * @return the graph this was constructed with
+     */
+    public CompactGraph<N, E> graph() {
+        return graph;
+    }
+
+    /**
+     * Finds a shortest path from src to dst
+     *
+     * @param src the node to start the path
+     * @param dst the node to end the path
+     * @return the edges of the shortest path from src to dst whose edges come first in edge
+     * index order, an empty list if src equals dst, or null if there is no path
+     * @throws NullPointerException if src == null || dst == null
+     * @throws IllegalArgumentException if src or dst is not in the graph
+     * @spec.modifies this
+     */
+    public List<Graph.Edge<N, E>> findPath(N src, N dst) {
+        int srcId = idOf(src);
+        int dstId = idOf(dst);
+        int length = search(srcId, dstId);
+
+        if (length == -1) {
+            return null;
+        }
+
+        List<Graph.Edge<N, E>> path = new ArrayList<>(length);
+
+        // Inv: path holds, in reverse, the edges of the path from the node with id node to dst
+        for (int node = dstId; node != srcId; node = parentNode[node]) {
+            path.add(new Graph.Edge<>(graph.edgeLabel(parentEdge[node]), graph.getNode(parentNode[node]),
+                                      graph.getNode(node)));
+        }
+
+        Collections.reverse(path);
+
+        return path;
+    }
+
+    /**
+     * Returns the number of edges of a shortest path from src to dst
+     *
+     * @param src the node to start the path
+     * @param dst the node to end the path
+     * @return the least number of edges on a path from src to dst, or -1 if there is no path
+     * @throws NullPointerException if src == null || dst == null
+     * @throws IllegalArgumentException if src or dst is not in the graph
+     * @spec.modifies this
+     */
+    public int distance(N src, N dst) {
+        return search(idOf(src), idOf(dst));
+    }
+
+    /**
+     * Searches breadth-first from the node with id src until the node with id dst is reached
+     *
+     * @param src the id of the node to start from
+     * @param dst the id of the node to reach
+     * @return the number of edges on the path found to dst, or -1 if dst can't be reached
+     * @spec.modifies this
+     * @spec.effects starts a new epoch and records the parent of every node reached
+     */
+    private int search(int src, int dst) {
+        checkRep();
+
+        nextEpoch();
+
+        stamp[src] = epoch;
+        parentEdge[src] = -1;
+
+        if (src == dst) {
+            return 0;
+        }
+
+        // Every node is added at most once per search, so queue never needs to wrap
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = src;
+
+        // Inv: queue[head..tail-1] are the reached nodes whose edges haven't been explored,
+        // in non-decreasing order of distance from src, and dst hasn't been reached
+        while (head < tail) {
+            int node = queue[head++];
+            int end = graph.edgeEnd(node);
+
+            for (int k = graph.edgeStart(node); k < end; k++) {
+                int child = graph.edgeTarget(k);
+
+                if (stamp[child] != epoch) {
+                    stamp[child] = epoch;
+                    parentEdge[child] = k;
+                    parentNode[child] = node;
+
+                    if (child == dst) {
+                        checkRep();
+                        return lengthTo(src, dst);
+                    }
+
+                    queue[tail++] = child;
+                }
+            }
+        }
+
+        checkRep();
+
+        return -1;
+    }
+
+    /**
+     * Returns the number of edges on the recorded path from src to node
+     *
+     * @param src the id of the start of the current search
+     * @param node the id of a node reached by the current search
+     * @return the number of parents followed from node to reach src
+     */
+    private int lengthTo(int src, int node) {
+        int length = 0;
+
+        // Inv: length is the number of edges from node to the original node
+        for (; node != src; node = parentNode[node]) {
+            length++;
+        }
+
+        return length;
+    }
+
+    /**
+     * Starts a new epoch, clearing the stamps only when the epoch counter runs out
+     *
+     * @spec.modifies this
+     */
+    private void nextEpoch() {
+        if (epoch == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            epoch = 0;
+        }
+
+        epoch++;
+    }
+
+    /**
+     * Returns the id of nodeData
+     *
+     * @param nodeData the node whose id is to be received
+     * @return the id of nodeData in graph
+     * @throws NullPointerException if nodeData == null
+     * @throws IllegalArgumentException if nodeData is not in graph
+     */
+    private int idOf(N nodeData) {
+        int id = graph.getId(nodeData);
+
+        if (id == -1) {
+            throw new IllegalArgumentException("Node is not in the graph: " + nodeData);
+        }
+
+        return id;
+    }
+}
@@ -0,0 +1,245 @@
+package graph.algorithms;
+
+import graph.Graph;
+import graph.GraphView;
+
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy breadth-first and depth-first traversals of the nodes reachable from a start node. Each
+ * traversal is an Iterator of Visits that discovers nodes only as it is advanced, so a caller
+ * that stops early explores only the part of the graph it has consumed, and the memory used is
+ * bounded by the nodes discovered so far.
+ *
+ * The order in which the children of a node are visited is the order of its outgoing edges in
+ * the graph. Traversals require that the graph is not modified while they are in use.
+ */
+public class Traversals {
+    // This is a container for related functionality, not an ADT
+
+    /**
+     * Returns a lazy breadth-first traversal of the nodes reachable from start
+     *
+     * @param graph the graph to traverse
+     * @param start the node to start from
+     * @param <N> the type of nodes
+     * @param <E> the type of edge labels
+     * @return an iterator of a Visit of each node reachable from start, starting with start at
+     * depth 0, in non-decreasing order of depth, where each depth is the least number of edges
+     * from start
+     * @throws NullPointerException if graph == null || start == null
+     * @throws IllegalArgumentException if start is not in graph
+     */
+    public static <N, E> Iterator<Visit<N, E>> breadthFirst(GraphView<N, E> graph, N start) {
+        return breadthFirst(graph, start, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a lazy breadth-first traversal of the nodes within maxDepth edges of start
+     *
+     * @param graph the graph to traverse
+     * @param start the node to start from
+     * @param maxDepth the greatest depth to visit
+     * @param <N> the type of nodes
+     * @param <E> the type of edge labels
+     * @return an iterator of a Visit of each node at most maxDepth edges from start, starting
+     * with start at depth 0, in non-decreasing order of depth, where each depth is the least
+     * number of edges from start. The outgoing edges of nodes at maxDepth are never read.
+     * @throws NullPointerException if graph == null || start == null
+     * @throws IllegalArgumentException if start is not in graph || maxDepth &lt; 0
+     */
+    public static <N, E> Iterator<Visit<N, E>> breadthFirst(GraphView<N, E> graph, N start, int maxDepth) {
+        checkStart(graph, start);
+
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must be non-negative");
+        }
+
+        return new BreadthFirstIterator<>(graph, start, maxDepth);
+    }
+
+    /**
+     * Returns a lazy depth-first traversal of the nodes reachable from start
+     *
+     * @param graph the graph to traverse
+     * @param start the node to start from
+     * @param <N> the type of nodes
+     * @param <E> the type of edge labels
+     * @return an iterator of a Visit of each node reachable from start in preorder, starting
+     * with start at depth 0, where each depth is the number of edges on the path through which
+     * the traversal discovered the node
+     * @throws NullPointerException if graph == null || start == null
+     * @throws IllegalArgumentException if start is not in graph
+     */
+    public static <N, E> Iterator<Visit<N, E>> depthFirst(GraphView<N, E> graph, N start) {
+        checkStart(graph, start);
+
+        return new DepthFirstIterator<>(graph, start);
+    }
+
+    /**
+     * Returns a sequential stream of the visits of a traversal, which advances the traversal
+     * only as far as the stream is consumed
+     *
+     * @param traversal the traversal to stream
+     * @param <N> the type of nodes
+     * @param <E> the type of edge labels
+     * @return an ordered stream of the remaining visits of traversal
+     * @throws NullPointerException if traversal == null
+     */
+    public static <N, E> Stream<Visit<N, E>> stream(Iterator<Visit<N, E>> traversal) {
+        Spliterator<Visit<N, E>> spliterator = Spliterators.spliteratorUnknownSize(
+                traversal, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Checks the arguments shared by all traversals
+     *
+     * @param graph the graph to traverse
+     * @param start the node to start from
+     * @throws NullPointerException if graph == null || start == null
+     * @throws IllegalArgumentException if start is not in graph
+     */
+    private static <N, E> void checkStart(GraphView<N, E> graph, N start) {
+        if (graph == null || start == null) {
+            throw new NullPointerException();
+        }
+
+        if (!graph.containsNode(start)) {
+            throw new IllegalArgumentException("Start node is not in the graph");
+        }
+    }
+
+    /**
+     * BreadthFirstIterator is a breadth-first traversal that reads the outgoing edges of a node
+     * when the node is returned, rather than when it is discovered
+     */
+    private static final class BreadthFirstIterator<N, E> implements Iterator<Visit<N, E>> {
+        private final GraphView<N, E> graph;
+        private final int maxDepth;
+        private final Set<N> discovered;
+        private final Queue<Visit<N, E>> frontier;
+
+        // Abstraction Function:
+        // The remaining visits are those in frontier, in order, followed by the visits
+        // of the undiscovered nodes within maxDepth that are reachable through them
+        //
+        // Rep Invariant:
+        // graph != null && discovered != null && frontier != null && maxDepth >= 0 &&
+        // every node of frontier is in discovered && depths in frontier are non-decreasing
+
+        /**
+         * @param graph the graph to traverse
+         * @param start the node to start from
+         * @param maxDepth the greatest depth to visit
+         * @spec.requires graph != null && start is in graph && maxDepth &gt;= 0
+         * @spec.effects Constructs a new BreadthFirstIterator positioned before start
+         */
+        BreadthFirstIterator(GraphView<N, E> graph, N start, int maxDepth) {
+            this.graph = graph;
+            this.maxDepth = maxDepth;
+            discovered = new HashSet<>();
+            frontier = new ArrayDeque<>();
+
+            discovered.add(start);
+            frontier.add(new Visit<>(start, null, 0));
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !frontier.isEmpty();
+        }
+
+        @Override
+        public Visit<N, E> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            Visit<N, E> visit = frontier.remove();
+
+            if (visit.getDepth() < maxDepth) {
+                // Inv: the undiscovered dst nodes of edges from 0 to i-1 are in frontier
+                for (Graph.Edge<N, E> edge : graph.outgoingEdges(visit.getNode())) {
+                    if (discovered.add(edge.getDst())) {
+                        frontier.add(new Visit<>(edge.getDst(), edge, visit.getDepth() + 1));
+                    }
+                }
+            }
+
+            return visit;
+        }
+    }
+
+    /**
+     * DepthFirstIterator is a preorder depth-first traversal that keeps one iterator over the
+     * outgoing edges of each node on the current path, so it reads edges only as it descends
+     */
+    private static final class DepthFirstIterator<N, E> implements Iterator<Visit<N, E>> {
+        private final GraphView<N, E> graph;
+        private final Set<N> discovered;
+        private final Deque<Iterator<Graph.Edge<N, E>>> path;
+        private Visit<N, E> next;
+
+        // Abstraction Function:
+        // The remaining visits are next, if it is not null, followed by the visits
+        // of the undiscovered nodes reachable through the unread edges of path,
+        // read from the top of path down
+        //
+        // Rep Invariant:
+        // graph != null && discovered != null && path != null &&
+        // (next == null || next.getNode() is in discovered)
+
+        /**
+         * @param graph the graph to traverse
+         * @param start the node to start from
+         * @spec.requires graph != null && start is in graph
+         * @spec.effects Constructs a new DepthFirstIterator positioned before start
+         */
+        DepthFirstIterator(GraphView<N, E> graph, N start) {
+            this.graph = graph;
+            discovered = new HashSet<>();
+            path = new ArrayDeque<>();
+
+            discovered.add(start);
+            next = new Visit<>(start, null, 0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            // Inv: the edges read so far lead only to discovered nodes other than next
+            while (next == null && !path.isEmpty()) {
+                Iterator<Graph.Edge<N, E>> edges = path.peek();
+
+                if (!edges.hasNext()) {
+                    path.pop();
+                } else {
+                    Graph.Edge<N, E> edge = edges.next();
+
+                    if (discovered.add(edge.getDst())) {
+                        next = new Visit<>(edge.getDst(), edge, path.size());
+                    }
+                }
+            }
+
+            return next != null;
+        }
+
+        @Override
+        public Visit<N, E> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            Visit<N, E> visit = next;
+            next = null;
+            path.push(graph.outgoingEdges(visit.getNode()).iterator());
+
+            return visit;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package graph.algorithms;
+
+import graph.Graph;
+
+import java.util.Objects;
+
+/**
+ * Visit is an immutable record of a traversal reaching a node: the node, the edge through which
+ * it was discovered, and its depth, which is the number of discovery edges between it and the
+ * node the traversal started from.
+ *
+ * @param <N> the type of nodes
+ * @param <E> the type of edge labels
+ */
+public final class Visit<N, E> {
+    private final N node;
+    private final Graph.Edge<N, E> edge;
+    private final int depth;
+
+    // Abstraction Function:
+    // node was reached at depth by following edge, or is the start node
+    // if edge == null
+    //
+    // Rep Invariant:
+    // node != null && depth >= 0 && (edge == null) == (depth == 0) &&
+    // (edge == null || edge.getDst().equals(node))
+
+    /**
+     * Checks that the rep is maintained
+     */
+    private void checkRep() {
+        assert node != null;
+        assert depth >= 0;
+        assert (edge == null) == (depth == 0);
+        assert edge == null || edge.getDst().equals(node);
+    }
+
+    /**
+     * @param node the node reached
+     * @param edge the edge through which node was discovered, or null for the start node
+     * @param depth the number of discovery edges from the start node to node
+     * @spec.requires node != null && depth &gt;= 0 && (edge == null) == (depth == 0) &&
+     * (edge == null || edge.getDst().equals(node))
+     * @spec.effects Constructs a new Visit
+     */
+    Visit(N node, Graph.Edge<N, E> edge, int depth) {
+        this.node = node;
+        this.edge = edge;
+        this.depth = depth;
+        checkRep();
+    }
+
+    /**
+     * Returns the node reached
+     *
+     * @return the node reached
+     */
+    public N getNode() {
+        return node;
+    }
+
+    /**
+     * Returns the edge through which the node was discovered
+     *
+     * @return the edge whose dst is the node, or null if the node is the start node
+     */
+    public Graph.Edge<N, E> getEdge() {
+        return edge;
+    }
+
+    /**
+     * Returns the depth of the node
+     *
+     * @return the number of discovery edges from the start node to the node
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Standard equality operation
+     *
+     * @param obj the object to be compared for equality
+     * @return true if and only if obj is a Visit of the same node through the same edge
+     * at the same depth
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof Visit<?, ?>)) {
+            return false;
+        }
+
+        Visit<?, ?> visit = (Visit<?, ?>) obj;
+
+        return node.equals(visit.node) && Objects.equals(edge, visit.edge) && depth == visit.depth;
+    }
+
+    /**
+     * Standard hashCode function
+     *
+     * @return an int that all objects equal to this will also return
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(node, edge, depth);
+    }
+
+    /**
+     * Returns a string representation of this
+     *
+     * @return the node followed by its depth and discovery edge
+     */
+    @Override
+    public String toString() {
+        return node + " at depth " + depth + (edge == null ? "" : " via " + edge.getLabel());
+    }
+}
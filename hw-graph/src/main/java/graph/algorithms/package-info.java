@@ -0,0 +1,2 @@
+/** Reusable graph traversals and algorithms that run over any GraphView or over the ids of a CompactGraph */
+package graph.algorithms;
@@ -0,0 +1,149 @@
+package graph.junitTests;
+
+import graph.CompactGraph;
+import graph.FilteredGraph;
+import graph.Graph;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CompactGraphTest {
+    private Graph<String, String> g;
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Before
+    public void setUp() {
+        g = new Graph<>();
+        g.addNode("n1");
+        g.addNode("n2");
+        g.addNode("n3");
+        g.addEdge("e1", "n1", "n2");
+        g.addEdge("e2", "n1", "n3");
+        g.addEdge("e3", "n2", "n3");
+    }
+
+    @Test
+    public void testFreezeCounts() {
+        CompactGraph<String, String> compact = g.freeze();
+
+        assertEquals(3, compact.nodeCount());
+        assertEquals(3, compact.edgeCount());
+    }
+
+    @Test
+    public void testIdsRoundTrip() {
+        CompactGraph<String, String> compact = g.freeze();
+
+        for (int id = 0; id < compact.nodeCount(); id++) {
+            assertEquals(id, compact.getId(compact.getNode(id)));
+        }
+
+        assertEquals(-1, compact.getId("n4"));
+        assertFalse(compact.containsNode("n4"));
+    }
+
+    @Test
+    public void testTraverseById() {
+        CompactGraph<String, String> compact = g.freeze();
+        int id = compact.getId("n1");
+
+        List<String> children = new ArrayList<>();
+        for (int k = compact.edgeStart(id); k < compact.edgeEnd(id); k++) {
+            children.add(compact.getNode(compact.edgeTarget(k)) + compact.edgeLabel(k));
+        }
+        Collections.sort(children);
+
+        assertEquals(2, compact.outDegree(id));
+        assertEquals(List.of("n2e1", "n3e2"), children);
+        assertEquals(0, compact.outDegree(compact.getId("n3")));
+    }
+
+    @Test
+    public void testCursorVisitsAllEdges() {
+        CompactGraph<String, String> compact = g.freeze();
+        CompactGraph<String, String>.EdgeCursor cursor = compact.cursor();
+
+        int visited = 0;
+        for (int id = 0; id < compact.nodeCount(); id++) {
+            cursor.reset(id);
+            while (cursor.next()) {
+                assertEquals(compact.edgeTarget(cursor.edge()), cursor.target());
+                assertTrue(g.containsEdge(cursor.label(), compact.getNode(id),
+                                          compact.getNode(cursor.target())));
+                visited++;
+            }
+        }
+
+        assertEquals(3, visited);
+    }
+
+    @Test
+    public void testSnapshotIgnoresLaterChanges() {
+        CompactGraph<String, String> compact = g.freeze();
+        g.addEdge("e4", "n3", "n1");
+
+        assertEquals(3, compact.edgeCount());
+        assertEquals(0, compact.getOutgoingEdges("n3").size());
+    }
+
+    @Test
+    public void testFreezeSortedByDstThenLabel() {
+        Comparator<Graph.Edge<String, String>> order =
+                Comparator.comparing((Graph.Edge<String, String> edge) -> edge.getDst())
+                          .thenComparing(Graph.Edge::getLabel);
+        g.addEdge("e0", "n1", "n3");
+        g.addEdge("e9", "n1", "n1");
+
+        CompactGraph<String, String> compact = g.freeze(order);
+        List<Graph.Edge<String, String>> expected = new ArrayList<>(g.getOutgoingEdges("n1"));
+        expected.sort(order);
+
+        assertSame(order, compact.edgeOrder());
+        assertEquals(expected, compact.getOutgoingEdges("n1"));
+        assertNull(g.freeze().edgeOrder());
+    }
+
+    @Test
+    public void testSortedOfView() {
+        Comparator<Graph.Edge<String, String>> byLabel = Comparator.comparing(Graph.Edge::getLabel);
+        FilteredGraph<String, String> view = FilteredGraph.ofLabels(g, label -> !label.equals("e1"));
+
+        CompactGraph<String, String> compact = CompactGraph.sortedOf(view, byLabel);
+
+        assertEquals(2, compact.edgeCount());
+        assertEquals(List.of(new Graph.Edge<>("e2", "n1", "n3")), compact.getOutgoingEdges("n1"));
+    }
+
+    @Test
+    public void testSortedOfNodeFilteredView() {
+        Comparator<Graph.Edge<String, String>> byLabel = Comparator.comparing(Graph.Edge::getLabel);
+        FilteredGraph<String, String> view = FilteredGraph.ofNodes(g, node -> !node.equals("n2"));
+
+        CompactGraph<String, String> compact = CompactGraph.sortedOf(view, byLabel);
+
+        assertEquals(2, compact.nodeCount());
+        assertFalse(compact.containsNode("n2"));
+        assertEquals(-1, compact.getId("n2"));
+        assertEquals(1, compact.edgeCount());
+        assertEquals(List.of(new Graph.Edge<>("e2", "n1", "n3")), compact.getOutgoingEdges("n1"));
+    }
+
+    @Test (expected = NullPointerException.class)
+    public void testSortedOfNullOrder() {
+        CompactGraph.sortedOf(g, null);
+    }
+
+    @Test (expected = IndexOutOfBoundsException.class)
+    public void testEdgeStartWithInvalidId() {
+        g.freeze().edgeStart(3);
+    }
+}
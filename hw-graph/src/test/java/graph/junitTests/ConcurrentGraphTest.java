@@ -0,0 +1,174 @@
+package graph.junitTests;
+
+import graph.ConcurrentGraph;
+import graph.Graph;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentGraphTest {
+    private ConcurrentGraph<String, String> g;
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Before
+    public void setUp() {
+        g = new ConcurrentGraph<>();
+    }
+
+    @Test
+    public void testAddEdgeWithNonexistentNodes() {
+        assertFalse(g.addEdge("e1", "n1", "n2"));
+    }
+
+    @Test
+    public void testAddEdgeWithNonUniqueLabel() {
+        g.addNode("n1");
+        g.addNode("n2");
+
+        assertTrue(g.addEdge("e1", "n1", "n2"));
+        assertFalse(g.addEdge("e1", "n1", "n2"));
+    }
+
+    @Test
+    public void testIndexesAgree() {
+        g.addNode("n1");
+        g.addNode("n2");
+        g.addEdge("e1", "n1", "n2");
+        g.addEdge("e1", "n2", "n1");
+
+        assertEquals(List.of("n1"), g.getParents("n2"));
+        assertEquals(List.of("n2"), g.getChildren("n1"));
+        assertEquals(2, g.getEdgesByLabel("e1").size());
+        assertTrue(g.containsEdge("e1", "n2", "n1"));
+    }
+
+    @Test
+    public void testRemoveAndReplace() {
+        g.addNode("n1");
+        g.addNode("n2");
+        g.addEdge("e1", "n1", "n2");
+        g.addEdge("e2", "n2", "n1");
+
+        assertTrue(g.replaceEdgeLabel("e1", "e3", "n1", "n2"));
+        assertEquals(0, g.getEdgesByLabel("e1").size());
+        assertEquals(1, g.getEdgesByLabel("e3").size());
+
+        assertTrue(g.removeNode("n1"));
+        assertFalse(g.containsNode("n1"));
+        assertEquals(0, g.getOutgoingEdges("n2").size());
+        assertEquals(0, g.getIncomingEdges("n2").size());
+        assertEquals(0, g.getEdgesByLabel("e2").size());
+    }
+
+    @Test
+    public void testCopyOfGraph() {
+        Graph<String, String> source = new Graph<>();
+        source.addNode("n1");
+        source.addNode("n2");
+        source.addEdge("e1", "n1", "n2");
+
+        ConcurrentGraph<String, String> copy = new ConcurrentGraph<>(source);
+
+        assertTrue(copy.containsEdge("e1", "n1", "n2"));
+        assertFalse(copy.containsEdge("e1", "n2", "n1"));
+    }
+
+    @Test
+    public void testConcurrentAddEdges() throws InterruptedException {
+        int nodes = 50;
+        for (int i = 0; i < nodes; i++) {
+            g.addNode("n" + i);
+        }
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            String label = "e" + t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < nodes; i++) {
+                    for (int j = 0; j < nodes; j++) {
+                        g.addEdge(label, "n" + i, "n" + j);
+                        g.addEdge("shared", "n" + i, "n" + j);
+                    }
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(5 * nodes, g.getOutgoingEdges("n0").size());
+        assertEquals(5 * nodes, g.getIncomingEdges("n0").size());
+        assertEquals(nodes * nodes, g.getEdgesByLabel("shared").size());
+    }
+
+    @Test
+    public void testConcurrentAddsAndRemovals() throws InterruptedException {
+        int nodes = 20;
+        for (int i = 0; i < nodes; i++) {
+            g.addNode("n" + i);
+        }
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Random random = new Random(t);
+            int kind = t % 3;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 200000; i++) {
+                    String label = "e" + random.nextInt(3);
+                    String src = "n" + random.nextInt(nodes);
+                    String dst = "n" + random.nextInt(nodes);
+
+                    if (kind == 0) {
+                        g.addEdge(label, src, dst);
+                    } else if (kind == 1) {
+                        g.removeEdge(label, src, dst);
+                        g.replaceEdgeLabel(label, "e" + random.nextInt(3), dst, src);
+                    } else if (random.nextInt(10) == 0) {
+                        g.removeNode(src);
+                        g.addNode(src);
+                    }
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int edges = 0;
+        for (String node : g) {
+            for (Graph.Edge<String, String> edge : g.outgoingEdges(node)) {
+                assertTrue(g.containsNode(edge.getDst()));
+                assertTrue(g.incomingEdges(edge.getDst()).contains(edge));
+                assertTrue(g.getEdgesByLabel(edge.getLabel()).contains(edge));
+                edges++;
+            }
+            for (Graph.Edge<String, String> edge : g.incomingEdges(node)) {
+                assertTrue(g.containsNode(edge.getSrc()));
+                assertTrue(g.outgoingEdges(edge.getSrc()).contains(edge));
+            }
+        }
+
+        int labeled = 0;
+        for (int l = 0; l < 3; l++) {
+            labeled += g.getEdgesByLabel("e" + l).size();
+        }
+
+        assertEquals(edges, labeled);
+    }
+}
@@ -0,0 +1,128 @@
+package graph.junitTests;
+
+import graph.ConnectedComponents;
+import graph.Graph;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ConnectedComponentsTest {
+    private Graph<String, String> g;
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    // {a, b, c} through a -> b <- c, {d, e} through d -> e, and {f}
+    @Before
+    public void setUp() {
+        g = new Graph<>();
+
+        for (String node : new String[] {"a", "b", "c", "d", "e", "f"}) {
+            g.addNode(node);
+        }
+
+        g.addEdge("ab", "a", "b");
+        g.addEdge("cb", "c", "b");
+        g.addEdge("de", "d", "e");
+    }
+
+    @Test
+    public void testComponentCount() {
+        assertEquals(3, new ConnectedComponents<>(g).componentCount());
+    }
+
+    @Test
+    public void testConnectedIgnoresDirection() {
+        ConnectedComponents<String> components = new ConnectedComponents<>(g);
+
+        assertTrue(components.connected("a", "c"));
+        assertTrue(components.connected("e", "d"));
+        assertTrue(components.connected("f", "f"));
+        assertFalse(components.connected("a", "d"));
+        assertFalse(components.connected("c", "f"));
+    }
+
+    @Test
+    public void testComponentIdIsLeastNodeId() {
+        ConnectedComponents<String> components = new ConnectedComponents<>(g);
+        int a = components.nodeIds().getId("a");
+        int b = components.nodeIds().getId("b");
+        int c = components.nodeIds().getId("c");
+
+        assertEquals(Math.min(a, Math.min(b, c)), components.componentOf("b"));
+        assertEquals(components.componentOf("a"), components.componentOf("c"));
+    }
+
+    @Test
+    public void testAddEdgeJoinsComponents() {
+        ConnectedComponents<String> components = new ConnectedComponents<>(g);
+
+        assertTrue(components.addEdge("e", "a"));
+        assertFalse(components.addEdge("c", "d"));
+        assertTrue(components.connected("b", "d"));
+        assertEquals(2, components.componentCount());
+    }
+
+    @Test
+    public void testAddNode() {
+        ConnectedComponents<String> components = new ConnectedComponents<>(g);
+
+        assertTrue(components.addNode("g"));
+        assertFalse(components.addNode("g"));
+        assertEquals(4, components.componentCount());
+        assertTrue(components.addEdge("g", "f"));
+        assertTrue(components.connected("f", "g"));
+    }
+
+    @Test
+    public void testAddManyNodes() {
+        ConnectedComponents<String> components = new ConnectedComponents<>(new Graph<String, String>());
+
+        for (int i = 0; i < 100; i++) {
+            components.addNode("n" + i);
+
+            if (i > 0) {
+                components.addEdge("n" + i, "n" + (i - 1));
+            }
+        }
+
+        assertEquals(1, components.componentCount());
+        assertEquals(components.nodeIds().getId("n0"), components.componentOf("n99"));
+    }
+
+    @Test
+    public void testLargeGraph() {
+        Graph<Integer, String> ring = new Graph<>();
+
+        for (int i = 0; i < 2000; i++) {
+            ring.addNode(i);
+        }
+
+        // Two interleaved rings: even nodes and odd nodes
+        for (int i = 0; i < 2000; i++) {
+            ring.addEdge("next", i, (i + 2) % 2000);
+        }
+
+        ConnectedComponents<Integer> components = new ConnectedComponents<>(ring);
+        Set<Integer> ids = new HashSet<>();
+
+        for (int i = 0; i < 2000; i++) {
+            ids.add(components.componentOf(i));
+        }
+
+        assertEquals(2, components.componentCount());
+        assertEquals(2, ids.size());
+        assertTrue(components.connected(0, 1998));
+        assertFalse(components.connected(0, 1999));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingNode() {
+        new ConnectedComponents<>(g).connected("a", "z");
+    }
+}
@@ -0,0 +1,115 @@
+package graph.junitTests;
+
+import graph.CompactGraph;
+import graph.FilteredGraph;
+import graph.Graph;
+import graph.GraphStats;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class FilteredGraphTest {
+    private Graph<String, String> g;
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Before
+    public void setUp() {
+        g = new Graph<>();
+        g.addNode("n1");
+        g.addNode("n2");
+        g.addNode("n3");
+        g.addEdge("keep", "n1", "n2");
+        g.addEdge("drop", "n1", "n2");
+        g.addEdge("keep", "n1", "n3");
+        g.addEdge("keep", "n3", "n2");
+    }
+
+    @Test
+    public void testOfNodesHidesNodesAndTheirEdges() {
+        FilteredGraph<String, String> view = FilteredGraph.ofNodes(g, node -> !node.equals("n3"));
+        List<String> nodes = new ArrayList<>();
+        view.forEach(nodes::add);
+
+        assertEquals(Set.of("n1", "n2"), new HashSet<>(nodes));
+        assertFalse(view.containsNode("n3"));
+        assertEquals(2, view.outgoingEdges("n1").size());
+        assertTrue(view.outgoingEdges("n3").isEmpty());
+        assertEquals(Set.of("n1"), new HashSet<>(view.getParents("n2")));
+    }
+
+    @Test
+    public void testOfLabelsHidesEdges() {
+        FilteredGraph<String, String> view = FilteredGraph.ofLabels(g, label -> label.equals("keep"));
+
+        assertEquals(2, view.outgoingEdges("n1").size());
+        assertFalse(view.containsEdge("drop", "n1", "n2"));
+        assertFalse(view.outgoingEdges("n1").contains(new Graph.Edge<>("drop", "n1", "n2")));
+        assertTrue(view.outgoingEdges("n1").contains(new Graph.Edge<>("keep", "n1", "n2")));
+        assertTrue(view.getEdgesByLabel("drop").isEmpty());
+        assertEquals(3, view.getEdgesByLabel("keep").size());
+    }
+
+    @Test
+    public void testBitSetOfNodeIds() {
+        BitSet kept = new BitSet();
+        kept.set(g.nodeIds().getId("n1"));
+        kept.set(g.nodeIds().getId("n3"));
+
+        FilteredGraph<String, String> view = FilteredGraph.ofNodes(g, node -> kept.get(g.nodeIds().getId(node)));
+
+        assertEquals(List.of(new Graph.Edge<>("keep", "n1", "n3")), view.getOutgoingEdges("n1"));
+
+        // The ids are the underlying graph's, so they include n2 even though the view excludes it
+        assertSame(g.nodeIds(), view.nodeIds());
+        assertNotEquals(-1, view.nodeIds().getId("n2"));
+        assertFalse(view.containsNode("n2"));
+    }
+
+    @Test
+    public void testSnapshotsCountOnlyVisibleNodes() {
+        FilteredGraph<String, String> view = FilteredGraph.ofNodes(g, node -> !node.equals("n3"));
+        CompactGraph<String, String> compact = CompactGraph.sortedOf(view, Comparator.comparing(Graph.Edge::getLabel));
+        GraphStats stats = GraphStats.of(view);
+
+        assertEquals(3, view.nodeIds().size());
+        assertEquals(2, compact.nodeCount());
+        assertFalse(compact.containsNode("n3"));
+        assertEquals(2, compact.edgeCount());
+        assertEquals(2, stats.nodeCount());
+        assertEquals(2, stats.edgeCount());
+    }
+
+    @Test
+    public void testReflectsChangesToGraph() {
+        FilteredGraph<String, String> view = FilteredGraph.ofLabels(g, label -> label.equals("keep"));
+        g.addEdge("keep", "n2", "n1");
+
+        assertTrue(view.containsEdge("keep", "n2", "n1"));
+    }
+
+    @Test
+    public void testCombinedFilters() {
+        FilteredGraph<String, String> view = new FilteredGraph<>(g, node -> !node.equals("n2"),
+                                                                 label -> label.equals("keep"));
+
+        assertEquals(List.of(new Graph.Edge<>("keep", "n1", "n3")), view.getOutgoingEdges("n1"));
+        assertTrue(view.getIncomingEdges("n2").isEmpty());
+        assertEquals(1, view.getEdgesByLabel("keep").size());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullFilter() {
+        new FilteredGraph<>(g, null, label -> true);
+    }
+}
@@ -0,0 +1,80 @@
+package graph.junitTests;
+
+import graph.Graph;
+import graph.GraphBuilder;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class GraphBuilderTest {
+    private GraphBuilder<String, String> builder;
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Before
+    public void setUp() {
+        builder = new GraphBuilder<>(3, 4);
+    }
+
+    @Test
+    public void testAddEdgeAddsMissingNodes() {
+        Graph<String, String> g = builder.addEdge("e1", "n1", "n2").build();
+
+        assertTrue(g.containsNode("n1"));
+        assertTrue(g.containsNode("n2"));
+        assertTrue(g.containsEdge("e1", "n1", "n2"));
+        assertEquals(List.of("n1"), g.getParents("n2"));
+    }
+
+    @Test
+    public void testAddEdgesIgnoresDuplicates() {
+        Graph.Edge<String, String> edge = new Graph.Edge<>("e1", "n1", "n2");
+
+        Graph<String, String> g = builder.addEdges(List.of(edge, edge))
+                                         .addEdges(Stream.of(new Graph.Edge<>("e1", "n1", "n2")))
+                                         .build();
+
+        assertEquals(1, g.getOutgoingEdges("n1").size());
+        assertEquals(1, g.getIncomingEdges("n2").size());
+    }
+
+    @Test
+    public void testAddNodesWithoutEdges() {
+        Graph<String, String> g = builder.addNodes(List.of("n1", "n2", "n1")).build();
+
+        assertEquals(2, g.nodeIds().size());
+    }
+
+    @Test
+    public void testLabelIndexedBuild() {
+        Graph<String, String> g = new GraphBuilder<String, String>(2, 2, true)
+                .addEdge("e1", "n1", "n2")
+                .addEdge("e1", "n2", "n1")
+                .build();
+
+        assertTrue(g.isLabelIndexed());
+        assertEquals(2, g.getEdgesByLabel("e1").size());
+    }
+
+    @Test
+    public void testFreeze() {
+        assertEquals(1, builder.addEdge("e1", "n1", "n2").freeze().edgeCount());
+    }
+
+    @Test (expected = IllegalStateException.class)
+    public void testReuseAfterBuild() {
+        builder.build();
+        builder.addNode("n1");
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testNegativeExpectedCounts() {
+        new GraphBuilder<String, String>(-1, 0);
+    }
+}
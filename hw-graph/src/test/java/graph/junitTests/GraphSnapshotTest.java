@@ -0,0 +1,261 @@
+package graph.junitTests;
+
+import graph.CompactGraph;
+import graph.Graph;
+import graph.GraphSnapshot;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class GraphSnapshotTest {
+    private Graph<String, String> g;
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Before
+    public void setUp() {
+        g = new Graph<>();
+        g.addNode("n1");
+        g.addNode("n2");
+        g.addNode("n3");
+        g.addNode("n4");
+        g.addEdge("e1", "n1", "n2");
+        g.addEdge("e2", "n1", "n2");
+        g.addEdge("e1", "n2", "n3");
+        g.addEdge("e3", "n3", "n3");
+        g.addEdge("e3", "n3", "n1");
+    }
+
+    private static <N, E> byte[] save(Graph<N, E> graph, GraphSnapshot.Codec<N> nodeCodec,
+                                      GraphSnapshot.Codec<E> labelCodec) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GraphSnapshot.write(graph, out, nodeCodec, labelCodec);
+
+        return out.toByteArray();
+    }
+
+    private static Graph<String, String> load(byte[] bytes, boolean indexLabels) throws IOException {
+        return GraphSnapshot.read(new ByteArrayInputStream(bytes), GraphSnapshot.Codec.STRING,
+                                  GraphSnapshot.Codec.STRING, indexLabels);
+    }
+
+    private static <N, E> void assertSameGraph(Graph<N, E> expected, Graph<N, E> actual) {
+        Set<N> expectedNodes = new HashSet<>();
+        Set<N> actualNodes = new HashSet<>();
+
+        expected.forEach(expectedNodes::add);
+        actual.forEach(actualNodes::add);
+
+        assertEquals(expectedNodes, actualNodes);
+
+        for (N node : expectedNodes) {
+            assertEquals(new HashSet<>(expected.getOutgoingEdges(node)),
+                         new HashSet<>(actual.getOutgoingEdges(node)));
+            assertEquals(new HashSet<>(expected.getIncomingEdges(node)),
+                         new HashSet<>(actual.getIncomingEdges(node)));
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        assertSameGraph(g, load(save(g, GraphSnapshot.Codec.STRING, GraphSnapshot.Codec.STRING), false));
+    }
+
+    @Test
+    public void testRoundTripIndexesLabels() throws IOException {
+        Graph<String, String> loaded = load(save(g, GraphSnapshot.Codec.STRING, GraphSnapshot.Codec.STRING), true);
+
+        assertTrue(loaded.isLabelIndexed());
+        assertEquals(new HashSet<>(g.getEdgesByLabel("e3")), new HashSet<>(loaded.getEdgesByLabel("e3")));
+    }
+
+    @Test
+    public void testRoundTripDoubles() throws IOException {
+        Graph<String, Double> weighted = new Graph<>();
+        weighted.addNode("a");
+        weighted.addNode("b");
+        weighted.addEdge(1.5, "a", "b");
+        weighted.addEdge(0.25, "b", "a");
+
+        byte[] bytes = save(weighted, GraphSnapshot.Codec.STRING, GraphSnapshot.Codec.DOUBLE);
+        Graph<String, Double> loaded = GraphSnapshot.read(new ByteArrayInputStream(bytes),
+                GraphSnapshot.Codec.STRING, GraphSnapshot.Codec.DOUBLE, false);
+
+        assertSameGraph(weighted, loaded);
+    }
+
+    @Test
+    public void testRoundTripEmptyGraph() throws IOException {
+        Graph<String, String> loaded = load(save(new Graph<>(), GraphSnapshot.Codec.STRING,
+                                                 GraphSnapshot.Codec.STRING), false);
+
+        assertFalse(loaded.iterator().hasNext());
+    }
+
+    @Test
+    public void testRoundTripLongNames() throws IOException {
+        Graph<String, String> graph = new Graph<>();
+        String name = "n".repeat(100000);
+        graph.addNode(name);
+        graph.addEdge("\u00e9", name, name);
+
+        assertSameGraph(graph, load(save(graph, GraphSnapshot.Codec.STRING, GraphSnapshot.Codec.STRING), false));
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void testReadRejectsCorruptSnapshot() throws IOException {
+        byte[] bytes = save(g, GraphSnapshot.Codec.STRING, GraphSnapshot.Codec.STRING);
+        bytes[bytes.length - 6] ^= 1;
+
+        load(bytes, false);
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void testReadRejectsOtherData() throws IOException {
+        load(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}, false);
+    }
+
+    private static CompactGraph<String, String> loadCompact(byte[] bytes,
+            Comparator<? super Graph.Edge<String, String>> edgeOrder) throws IOException {
+        return GraphSnapshot.readCompact(new ByteArrayInputStream(bytes), GraphSnapshot.Codec.STRING,
+                                         GraphSnapshot.Codec.STRING, edgeOrder);
+    }
+
+    private static List<Graph.Edge<String, String>> edgesOf(CompactGraph<String, String> graph, String node) {
+        List<Graph.Edge<String, String>> edges = new ArrayList<>();
+        int id = graph.getId(node);
+
+        for (int k = graph.edgeStart(id); k < graph.edgeEnd(id); k++) {
+            edges.add(new Graph.Edge<>(graph.edgeLabel(k), node, graph.getNode(graph.edgeTarget(k))));
+        }
+
+        return edges;
+    }
+
+    /**
+     * Asserts that reading bytes as a Graph and as a CompactGraph both report a corrupt snapshot
+     */
+    private static void assertCorrupt(byte[] bytes) throws IOException {
+        try {
+            load(bytes, false);
+            fail("read accepted a corrupt snapshot");
+        } catch (StreamCorruptedException e) {
+            // expected
+        }
+
+        try {
+            loadCompact(bytes, null);
+            fail("readCompact accepted a corrupt snapshot");
+        } catch (StreamCorruptedException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testReadCompact() throws IOException {
+        CompactGraph<String, String> loaded = loadCompact(save(g, GraphSnapshot.Codec.STRING,
+                                                               GraphSnapshot.Codec.STRING), null);
+
+        assertEquals(4, loaded.nodeCount());
+        assertEquals(5, loaded.edgeCount());
+        assertNull(loaded.edgeOrder());
+
+        for (String node : g) {
+            assertEquals(new HashSet<>(g.getOutgoingEdges(node)), new HashSet<>(edgesOf(loaded, node)));
+        }
+    }
+
+    @Test
+    public void testReadCompactSortsEdges() throws IOException {
+        Comparator<Graph.Edge<String, String>> byLabel = Comparator.comparing(Graph.Edge::getLabel);
+        Comparator<Graph.Edge<String, String>> order = byLabel.reversed();
+        CompactGraph<String, String> loaded = loadCompact(save(g, GraphSnapshot.Codec.STRING,
+                                                               GraphSnapshot.Codec.STRING), order);
+
+        assertSame(order, loaded.edgeOrder());
+        assertEquals(List.of(new Graph.Edge<>("e2", "n1", "n2"), new Graph.Edge<>("e1", "n1", "n2")),
+                     edgesOf(loaded, "n1"));
+    }
+
+    @Test
+    public void testOrderedWrite() throws IOException {
+        Graph<String, String> graph = new Graph<>();
+
+        for (String node : List.of("d", "b", "a", "c")) {
+            graph.addNode(node);
+        }
+
+        graph.addEdge("y", "a", "d");
+        graph.addEdge("x", "a", "c");
+        graph.addEdge("z", "a", "b");
+        graph.addEdge("x", "a", "b");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GraphSnapshot.write(graph, out, GraphSnapshot.Codec.STRING, GraphSnapshot.Codec.STRING,
+                            Comparator.naturalOrder(), Comparator.naturalOrder());
+
+        CompactGraph<String, String> loaded = loadCompact(out.toByteArray(), null);
+
+        // Ids follow the node order, and edges are stored by dst and then label
+        assertEquals("a", loaded.getNode(0));
+        assertEquals("d", loaded.getNode(3));
+        assertEquals(List.of(new Graph.Edge<>("x", "a", "b"), new Graph.Edge<>("z", "a", "b"),
+                             new Graph.Edge<>("x", "a", "c"), new Graph.Edge<>("y", "a", "d")),
+                     edgesOf(loaded, "a"));
+    }
+
+    @Test
+    public void testReadRejectsTruncatedSnapshot() throws IOException {
+        byte[] bytes = save(g, GraphSnapshot.Codec.STRING, GraphSnapshot.Codec.STRING);
+
+        for (int length = 0; length < bytes.length; length++) {
+            assertCorrupt(Arrays.copyOf(bytes, length));
+        }
+    }
+
+    @Test
+    public void testReadRejectsBitFlips() throws IOException {
+        byte[] bytes = save(g, GraphSnapshot.Codec.STRING, GraphSnapshot.Codec.STRING);
+
+        for (int i = 0; i < bytes.length; i++) {
+            for (int bit = 0; bit < 8; bit++) {
+                byte[] flipped = bytes.clone();
+                flipped[i] ^= 1 << bit;
+
+                assertCorrupt(flipped);
+            }
+        }
+    }
+
+    @Test
+    public void testReadRejectsHugeCounts() throws IOException {
+        byte[] header = {0x47, 0x53, 0x4E, 0x50, 0, 0, 0, 1};
+
+        // A negative node count, a node count far beyond the data, and a string length far
+        // beyond the data
+        assertCorrupt(concat(header, new byte[] {-1, -1, -1, -1, 0x0F, 0}));
+        assertCorrupt(concat(header, new byte[] {-1, -1, -1, -1, 0x07, -1, -1, -1, -1, 0x07}));
+        assertCorrupt(concat(header, new byte[] {1, 0, -1, -1, -1, -1, 0x07, 'a'}));
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+
+        return result;
+    }
+}
@@ -0,0 +1,118 @@
+package graph.junitTests;
+
+import graph.FilteredGraph;
+import graph.Graph;
+import graph.GraphStats;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class GraphStatsTest {
+    private Graph<String, String> g;
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    // a has out-degree 3, b has 1, c and d have 0
+    @Before
+    public void setUp() {
+        g = new Graph<>();
+
+        for (String node : List.of("a", "b", "c", "d")) {
+            g.addNode(node);
+        }
+
+        g.addEdge("x", "a", "b");
+        g.addEdge("y", "a", "c");
+        g.addEdge("x", "a", "d");
+        g.addEdge("x", "b", "c");
+    }
+
+    @Test
+    public void testCounts() {
+        GraphStats stats = g.stats();
+
+        assertEquals(4, stats.nodeCount());
+        assertEquals(4, stats.edgeCount());
+        assertEquals(2, stats.labelCount());
+        assertEquals(3, stats.maxOutDegree());
+        assertEquals(2, stats.maxInDegree());
+    }
+
+    @Test
+    public void testDegreeHistograms() {
+        GraphStats stats = g.stats();
+
+        // Buckets are 0, 1, 2-3
+        assertArrayEquals(new int[] {2, 1, 1}, stats.outDegreeHistogram());
+        assertArrayEquals(new int[] {1, 2, 1}, stats.inDegreeHistogram());
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        GraphStats stats = new Graph<String, String>().stats();
+
+        assertEquals(0, stats.nodeCount());
+        assertArrayEquals(new int[] {0}, stats.outDegreeHistogram());
+    }
+
+    @Test
+    public void testEstimatedBytes() {
+        GraphStats stats = g.stats();
+        Map<String, Long> bytes = stats.estimatedBytes();
+
+        assertEquals(4L * 24, (long) bytes.get("edges"));
+        assertFalse(bytes.containsKey("label index"));
+
+        long total = 0;
+
+        for (long structure : bytes.values()) {
+            assertTrue(structure > 0);
+            total += structure;
+        }
+
+        assertEquals(total, stats.totalEstimatedBytes());
+    }
+
+    @Test
+    public void testLabelIndexBytes() {
+        Graph<String, String> indexed = new Graph<>(true);
+        indexed.addNode("a");
+        indexed.addEdge("x", "a", "a");
+
+        assertTrue(indexed.stats().estimatedBytes().get("label index") > 0);
+    }
+
+    @Test
+    public void testEstimateGrowsWithEdges() {
+        long before = g.stats().totalEstimatedBytes();
+        g.addEdge("z", "c", "d");
+
+        assertTrue(g.stats().totalEstimatedBytes() > before);
+    }
+
+    @Test
+    public void testOfView() {
+        GraphStats stats = GraphStats.of(FilteredGraph.ofLabels(g, label -> label.equals("x")));
+
+        assertEquals(4, stats.nodeCount());
+        assertEquals(3, stats.edgeCount());
+        assertEquals(1, stats.labelCount());
+        assertTrue(stats.estimatedBytes().isEmpty());
+        assertEquals(g.stats().estimatedBytes(), GraphStats.of(g).estimatedBytes());
+    }
+
+    @Test
+    public void testToString() {
+        String summary = g.stats().toString();
+
+        assertTrue(summary.contains("nodes: 4, edges: 4, labels: 2"));
+        assertTrue(summary.contains("2-3: 1"));
+        assertTrue(summary.contains("estimated bytes: "));
+    }
+}
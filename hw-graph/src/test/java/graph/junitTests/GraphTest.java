@@ -5,10 +5,13 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.Rule;
 import org.junit.rules.Timeout;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
 
 import static org.junit.Assert.*;
 
@@ -135,6 +138,21 @@ public class GraphTest {
         assertEquals(new Graph.Edge<>("e1", "n3", "n4"), edgesByLabel.get(1));
     }
 
+    @Test
+    public void testGetEdgesByLabelWithLabelIndex() {
+        Graph<String, String> indexed = new Graph<>(true);
+        indexed.addNode("n1");
+        indexed.addNode("n2");
+        indexed.addEdge("e1", "n1", "n2");
+        indexed.addEdge("e1", "n2", "n1");
+        indexed.addEdge("e2", "n1", "n2");
+
+        assertTrue(indexed.isLabelIndexed());
+        assertEquals(2, indexed.getEdgesByLabel("e1").size());
+        assertEquals(1, indexed.getEdgesByLabel("e2").size());
+        assertEquals(0, indexed.getEdgesByLabel("e3").size());
+    }
+
     @Test (expected = NullPointerException.class)
     public void testGetIncomingEdgesWithNullNode() {
         g.getIncomingEdges(null);
@@ -178,6 +196,19 @@ public class GraphTest {
         assertEquals(e2, incomingEdges.get(1));
     }
 
+    @Test
+    public void testGetIncomingEdgesIgnoresDuplicateEdge() {
+        g.addNode("n1");
+        g.addNode("n2");
+        g.addEdge("e1", "n1", "n2");
+        g.addEdge("e1", "n1", "n2");
+
+        List<Graph.Edge<String, String>> incomingEdges = g.getIncomingEdges("n2");
+
+        assertEquals(1, incomingEdges.size());
+        assertEquals(0, g.getIncomingEdges("n1").size());
+    }
+
     @Test (expected = NullPointerException.class)
     public void testGetOutgoingEdgesWithNullNode() {
         g.getOutgoingEdges(null);
@@ -221,6 +252,55 @@ public class GraphTest {
         assertEquals(e2, outgoingEdges.get(1));
     }
 
+    @Test (expected = UnsupportedOperationException.class)
+    public void testOutgoingEdgesViewIsReadOnly() {
+        g.addNode("n1");
+        g.addNode("n2");
+        g.addEdge("e1", "n1", "n2");
+
+        g.outgoingEdges("n1").clear();
+    }
+
+    @Test
+    public void testOutgoingEdgesViewReflectsChanges() {
+        g.addNode("n1");
+        g.addNode("n2");
+
+        Collection<Graph.Edge<String, String>> view = g.outgoingEdges("n1");
+        g.addEdge("e1", "n1", "n2");
+
+        assertEquals(1, view.size());
+        assertEquals(1, g.incomingEdges("n2").size());
+        assertTrue(g.outgoingEdges("n3").isEmpty());
+    }
+
+    @Test
+    public void testForEachOutgoing() {
+        g.addNode("n1");
+        g.addNode("n2");
+        g.addNode("n3");
+        g.addEdge("e1", "n1", "n2");
+        g.addEdge("e2", "n1", "n3");
+
+        List<String> children = new ArrayList<>();
+        g.forEachOutgoing("n1", edge -> children.add(edge.getDst()));
+        Collections.sort(children);
+
+        assertEquals(List.of("n2", "n3"), children);
+    }
+
+    @Test
+    public void testForEachChildId() {
+        g.addNode("n1");
+        g.addNode("n2");
+        g.addEdge("e1", "n1", "n2");
+
+        List<Integer> children = new ArrayList<>();
+        g.forEachChildId(g.nodeIds().getId("n1"), children::add);
+
+        assertEquals(List.of(g.nodeIds().getId("n2")), children);
+    }
+
     @Test (expected = NullPointerException.class)
     public void testContainsNodeWithNullNode() {
         g.containsNode(null);
@@ -263,6 +343,134 @@ public class GraphTest {
         assertFalse(g.containsEdge("e2", "n1", "n2"));
     }
 
+    @Test
+    public void testContainsEdgeWithReversedEdge() {
+        g.addNode("n1");
+        g.addNode("n2");
+        g.addEdge("e1", "n1", "n2");
+
+        assertFalse(g.containsEdge("e1", "n2", "n1"));
+        assertFalse(g.containsEdge("e1", "n3", "n1"));
+    }
+
+    @Test
+    public void testRemoveEdge() {
+        Graph<String, String> indexed = new Graph<>(true);
+        indexed.addNode("n1");
+        indexed.addNode("n2");
+        indexed.addEdge("e1", "n1", "n2");
+
+        assertTrue(indexed.removeEdge("e1", "n1", "n2"));
+        assertFalse(indexed.removeEdge("e1", "n1", "n2"));
+        assertFalse(indexed.containsEdge("e1", "n1", "n2"));
+        assertEquals(0, indexed.getIncomingEdges("n2").size());
+        assertEquals(0, indexed.getEdgesByLabel("e1").size());
+    }
+
+    @Test
+    public void testRemoveNodeRemovesItsEdges() {
+        Graph<String, String> indexed = new Graph<>(true);
+        indexed.addNode("n1");
+        indexed.addNode("n2");
+        indexed.addNode("n3");
+        indexed.addEdge("e1", "n1", "n2");
+        indexed.addEdge("e2", "n2", "n3");
+        indexed.addEdge("e3", "n2", "n2");
+
+        assertTrue(indexed.removeNode("n2"));
+        assertFalse(indexed.removeNode("n2"));
+        assertFalse(indexed.containsNode("n2"));
+        assertEquals(0, indexed.getOutgoingEdges("n1").size());
+        assertEquals(0, indexed.getIncomingEdges("n3").size());
+        assertEquals(0, indexed.getEdgesByLabel("e2").size());
+        assertEquals(0, indexed.getEdgesByLabel("e3").size());
+    }
+
+    @Test
+    public void testRemoveNodeKeepsIdsDense() {
+        g.addNode("n1");
+        g.addNode("n2");
+        g.addNode("n3");
+
+        g.removeNode("n1");
+
+        assertEquals(2, g.nodeIds().size());
+        assertEquals(0, g.nodeIds().getId("n3"));
+        assertEquals(1, g.nodeIds().getId("n2"));
+        assertEquals(-1, g.nodeIds().getId("n1"));
+    }
+
+    @Test
+    public void testReplaceEdgeLabel() {
+        g.addNode("n1");
+        g.addNode("n2");
+        g.addEdge("e1", "n1", "n2");
+        g.addEdge("e2", "n1", "n2");
+
+        assertFalse(g.replaceEdgeLabel("e1", "e2", "n1", "n2"));
+        assertTrue(g.replaceEdgeLabel("e1", "e3", "n1", "n2"));
+        assertFalse(g.containsEdge("e1", "n1", "n2"));
+        assertTrue(g.containsEdge("e3", "n1", "n2"));
+        assertEquals(2, g.getIncomingEdges("n2").size());
+    }
+
+    @Test
+    public void testEdgeCountTracksChanges() {
+        g.addNode("n1");
+        g.addNode("n2");
+        g.addEdge("e1", "n1", "n2");
+        g.addEdge("e2", "n1", "n2");
+        g.addEdge("e3", "n2", "n2");
+
+        assertEquals(3, g.edgeCount());
+
+        g.removeEdge("e1", "n1", "n2");
+        g.replaceEdgeLabel("e2", "e4", "n1", "n2");
+
+        assertEquals(2, g.edgeCount());
+
+        g.removeNode("n2");
+
+        assertEquals(0, g.edgeCount());
+    }
+
+    @Test
+    public void testNodesAndEdgesStreams() {
+        for (int i = 0; i < 100; i++) {
+            g.addNode("n" + i);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            for (int j = 0; j < i % 7; j++) {
+                g.addEdge("e" + j, "n" + i, "n" + (i + j) % 100);
+            }
+        }
+
+        assertEquals(100, g.nodes().count());
+        assertEquals(100, g.nodes().parallel().distinct().count());
+        assertEquals(g.edgeCount(), g.edges().count());
+        assertEquals(g.edgeCount(), g.edges().parallel().distinct().count());
+
+        long outDegrees = g.nodes().parallel().mapToLong(node -> g.outgoingEdges(node).size()).sum();
+
+        assertEquals(g.edgeCount(), outDegrees);
+    }
+
+    @Test
+    public void testStreamCharacteristics() {
+        g.addNode("n1");
+        g.addNode("n2");
+        g.addEdge("e1", "n1", "n2");
+
+        Spliterator<String> nodes = g.nodes().spliterator();
+        Spliterator<Graph.Edge<String, String>> edges = g.edges().spliterator();
+
+        assertTrue(nodes.hasCharacteristics(Spliterator.SIZED | Spliterator.DISTINCT));
+        assertEquals(2, nodes.getExactSizeIfKnown());
+        assertTrue(edges.hasCharacteristics(Spliterator.SIZED | Spliterator.DISTINCT));
+        assertEquals(1, edges.getExactSizeIfKnown());
+    }
+
     @Test (expected = UnsupportedOperationException.class)
     public void testRemoveFromReadOnlyIterator() {
         g.addNode("n1");
@@ -0,0 +1,186 @@
+package graph.junitTests;
+
+import graph.Graph;
+import graph.MappedGraph;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class MappedGraphTest {
+    private Graph<String, String> g;
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Before
+    public void setUp() {
+        g = new Graph<>();
+        g.addNode("n2");
+        g.addNode("n1");
+        g.addNode("n3");
+        g.addNode("\u00e9t\u00e9");
+        g.addEdge("e1", "n1", "n2");
+        g.addEdge("e2", "n1", "n3");
+        g.addEdge("e1", "n2", "n3");
+        g.addEdge("e3", "n3", "n3");
+        g.addEdge("\u00e9", "\u00e9t\u00e9", "n1");
+    }
+
+    private MappedGraph writeAndOpen(Graph<String, String> graph) throws IOException {
+        Path file = Files.createTempFile("graph", ".mgr");
+        file.toFile().deleteOnExit();
+        MappedGraph.write(graph, file);
+
+        return MappedGraph.open(file);
+    }
+
+    @Test
+    public void testCounts() throws IOException {
+        MappedGraph mapped = writeAndOpen(g);
+
+        assertEquals(4, mapped.nodeCount());
+        assertEquals(5, mapped.edgeCount());
+    }
+
+    @Test
+    public void testIdsInNameOrder() throws IOException {
+        MappedGraph mapped = writeAndOpen(g);
+        List<String> nodes = new ArrayList<>();
+
+        for (String node : mapped) {
+            nodes.add(node);
+        }
+
+        assertEquals(List.of("n1", "n2", "n3", "\u00e9t\u00e9"), nodes);
+
+        for (int i = 0; i < mapped.nodeCount(); i++) {
+            assertEquals(i, mapped.getId(mapped.getNode(i)));
+        }
+
+        assertEquals(-1, mapped.getId("n0"));
+        assertEquals(-1, mapped.getId("n"));
+    }
+
+    @Test
+    public void testContainsNode() throws IOException {
+        MappedGraph mapped = writeAndOpen(g);
+
+        assertTrue(mapped.containsNode("n1"));
+        assertTrue(mapped.containsNode("\u00e9t\u00e9"));
+        assertFalse(mapped.containsNode("n4"));
+    }
+
+    @Test
+    public void testSameEdgesAsGraph() throws IOException {
+        MappedGraph mapped = writeAndOpen(g);
+
+        for (String node : g) {
+            assertEquals(new HashSet<>(g.getOutgoingEdges(node)), new HashSet<>(mapped.outgoingEdges(node)));
+            assertEquals(new HashSet<>(g.getIncomingEdges(node)), new HashSet<>(mapped.incomingEdges(node)));
+        }
+    }
+
+    @Test
+    public void testEdgeIndices() throws IOException {
+        MappedGraph mapped = writeAndOpen(g);
+        int n1 = mapped.getId("n1");
+        Set<String> children = new HashSet<>();
+
+        for (int k = mapped.edgeStart(n1); k < mapped.edgeEnd(n1); k++) {
+            children.add(mapped.getNode(mapped.edgeTarget(k)) + " " + mapped.edgeLabel(k));
+        }
+
+        assertEquals(Set.of("n2 e1", "n3 e2"), children);
+    }
+
+    @Test
+    public void testGetEdgesByLabel() throws IOException {
+        MappedGraph mapped = writeAndOpen(g);
+
+        assertEquals(new HashSet<>(g.getEdgesByLabel("e1")), new HashSet<>(mapped.getEdgesByLabel("e1")));
+        assertEquals(1, mapped.getEdgesByLabel("\u00e9").size());
+        assertTrue(mapped.getEdgesByLabel("e4").isEmpty());
+    }
+
+    @Test
+    public void testMissingNodeHasNoEdges() throws IOException {
+        MappedGraph mapped = writeAndOpen(g);
+
+        assertTrue(mapped.outgoingEdges("n4").isEmpty());
+        assertTrue(mapped.incomingEdges("n4").isEmpty());
+    }
+
+    @Test
+    public void testEmptyGraph() throws IOException {
+        MappedGraph mapped = writeAndOpen(new Graph<>());
+
+        assertEquals(0, mapped.nodeCount());
+        assertFalse(mapped.iterator().hasNext());
+        assertFalse(mapped.containsNode("n1"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOpenRejectsOtherFiles() throws IOException {
+        Path file = Files.createTempFile("graph", ".txt");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, "not a graph file at all");
+
+        MappedGraph.open(file);
+    }
+
+    /**
+     * Writes g to a file, replaces the header int at index with value, and opens the file
+     */
+    private MappedGraph openWithHeaderInt(int index, int value) throws IOException {
+        Path file = Files.createTempFile("graph", ".mgr");
+        file.toFile().deleteOnExit();
+        MappedGraph.write(g, file);
+
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).putInt(index * Integer.BYTES, value);
+        Files.write(file, bytes);
+
+        return MappedGraph.open(file);
+    }
+
+    @Test
+    public void testOpenRejectsOverflowingCounts() throws IOException {
+        // Each of these makes count * Integer.BYTES wrap around to a small int
+        for (int index = 2; index <= 4; index++) {
+            for (int count : new int[] {0x40000001, 0x7FFFFFFF, Integer.MIN_VALUE / 4 + 1}) {
+                try {
+                    openWithHeaderInt(index, count);
+                    fail("Opened a file with header count " + count + " at " + index);
+                } catch (IllegalArgumentException e) {
+                    // expected
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOpenRejectsNegativeNodeCount() throws IOException {
+        openWithHeaderInt(2, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOpenRejectsCountsPastEndOfFile() throws IOException {
+        openWithHeaderInt(3, 1000);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetNodeOutOfBounds() throws IOException {
+        writeAndOpen(g).getNode(4);
+    }
+}
@@ -0,0 +1,84 @@
+package graph.junitTests;
+
+import graph.Graph;
+import graph.MultiGraph;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class MultiGraphTest {
+    private MultiGraph<String, String> g;
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Before
+    public void setUp() {
+        g = new MultiGraph<>();
+        g.addNode("n1");
+        g.addNode("n2");
+    }
+
+    @Test
+    public void testManyLabelsBetweenOnePair() {
+        for (int i = 0; i < 40; i++) {
+            assertTrue(g.addEdge("e" + i, "n1", "n2"));
+        }
+
+        assertFalse(g.addEdge("e7", "n1", "n2"));
+        assertEquals(40, g.edgeCount());
+        assertEquals(40, g.getOutgoingEdges("n1").size());
+        assertEquals(40, g.getIncomingEdges("n2").size());
+        assertTrue(g.containsEdge("e39", "n1", "n2"));
+        assertFalse(g.containsEdge("e39", "n2", "n1"));
+        assertEquals(40, g.getLabels("n1", "n2").size());
+    }
+
+    @Test
+    public void testEdgesMatchGraphEdges() {
+        g.addEdge("e1", "n1", "n2");
+        g.addEdge("e2", "n1", "n2");
+
+        assertTrue(g.outgoingEdges("n1").contains(new Graph.Edge<>("e2", "n1", "n2")));
+        assertEquals(1, g.getEdgesByLabel("e1").size());
+        assertEquals(new Graph.Edge<>("e1", "n1", "n2"), g.getEdgesByLabel("e1").get(0));
+        assertEquals(2, g.getParents("n2").size());
+    }
+
+    @Test
+    public void testRemoveEdgeAndReplaceLabel() {
+        g.addEdge("e1", "n1", "n2");
+        g.addEdge("e2", "n1", "n2");
+
+        assertTrue(g.removeEdge("e1", "n1", "n2"));
+        assertTrue(g.replaceEdgeLabel("e2", "e3", "n1", "n2"));
+        assertEquals(Set.of("e3"), g.getLabels("n1", "n2"));
+
+        assertTrue(g.removeEdge("e3", "n1", "n2"));
+        assertEquals(0, g.edgeCount());
+        assertTrue(g.getIncomingEdges("n2").isEmpty());
+    }
+
+    @Test
+    public void testRemoveNodeWithSelfLoop() {
+        g.addEdge("e1", "n1", "n1");
+        g.addEdge("e2", "n1", "n2");
+        g.addEdge("e3", "n2", "n1");
+
+        assertTrue(g.removeNode("n1"));
+        assertEquals(0, g.edgeCount());
+        assertTrue(g.getOutgoingEdges("n2").isEmpty());
+        assertTrue(g.getIncomingEdges("n2").isEmpty());
+    }
+
+    @Test (expected = UnsupportedOperationException.class)
+    public void testEdgeViewIsReadOnly() {
+        g.addEdge("e1", "n1", "n2");
+
+        g.outgoingEdges("n1").clear();
+    }
+}
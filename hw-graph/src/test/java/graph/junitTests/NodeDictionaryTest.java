@@ -0,0 +1,87 @@
+package graph.junitTests;
+
+import graph.Graph;
+import graph.NodeDictionary;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+public class NodeDictionaryTest {
+    private Graph<String, String> g;
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Before
+    public void setUp() {
+        g = new Graph<>();
+    }
+
+    @Test
+    public void testIdsAreDenseInInsertionOrder() {
+        g.addNode("n1");
+        g.addNode("n2");
+        g.addNode("n1");
+
+        NodeDictionary<String> ids = g.nodeIds();
+
+        assertEquals(2, ids.size());
+        assertEquals(0, ids.getId("n1"));
+        assertEquals(1, ids.getId("n2"));
+        assertEquals("n2", ids.getNode(1));
+    }
+
+    @Test
+    public void testGetIdWithNonexistentNode() {
+        assertEquals(-1, g.nodeIds().getId("n1"));
+    }
+
+    @Test
+    public void testManyNodesRoundTrip() {
+        for (int i = 0; i < 1000; i++) {
+            g.addNode("n" + i);
+        }
+
+        NodeDictionary<String> ids = g.nodeIds();
+
+        assertEquals(1000, ids.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, ids.getId("n" + i));
+            assertEquals("n" + i, ids.getNode(i));
+        }
+    }
+
+    @Test
+    public void testManyRemovalsRoundTrip() {
+        for (int i = 0; i < 1000; i++) {
+            g.addNode("n" + i);
+        }
+        for (int i = 0; i < 1000; i += 3) {
+            g.removeNode("n" + i);
+        }
+
+        NodeDictionary<String> ids = g.nodeIds();
+
+        assertEquals(666, ids.size());
+        for (int id = 0; id < ids.size(); id++) {
+            assertEquals(id, ids.getId(ids.getNode(id)));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 3 != 0, ids.getId("n" + i) != -1);
+        }
+    }
+
+    @Test (expected = NoSuchElementException.class)
+    public void testGetNodeWithInvalidId() {
+        g.nodeIds().getNode(0);
+    }
+
+    @Test (expected = NullPointerException.class)
+    public void testGetIdWithNullNode() {
+        g.nodeIds().getId(null);
+    }
+}
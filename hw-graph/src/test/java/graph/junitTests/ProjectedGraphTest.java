@@ -0,0 +1,181 @@
+package graph.junitTests;
+
+import graph.CompactGraph;
+import graph.Graph;
+import graph.ProjectedGraph;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ProjectedGraphTest {
+    private ProjectedGraph<String, String> g;
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Before
+    public void setUp() {
+        g = new ProjectedGraph<>();
+        g.addMembership("a", "b1");
+        g.addMembership("b", "b1");
+        g.addMembership("c", "b1");
+        g.addMembership("a", "b2");
+        g.addMembership("d", "b2");
+        g.addMembership("e", "b3");
+    }
+
+    @Test
+    public void testAddMembership() {
+        assertTrue(g.addMembership("e", "b2"));
+        assertFalse(g.addMembership("a", "b1"));
+        assertEquals(Set.of("b1", "b2"), g.groupsOf("a"));
+        assertEquals(Set.of("a", "d", "e"), g.membersOf("b2"));
+    }
+
+    @Test
+    public void testContainsNode() {
+        assertTrue(g.containsNode("a"));
+        assertTrue(g.containsNode("e"));
+        assertFalse(g.containsNode("b1"));
+    }
+
+    @Test
+    public void testOutgoingEdges() {
+        Set<Graph.Edge<String, String>> expected = Set.of(new Graph.Edge<>("b1", "a", "b"),
+                                                          new Graph.Edge<>("b1", "a", "c"),
+                                                          new Graph.Edge<>("b2", "a", "d"));
+
+        assertEquals(expected, new HashSet<>(g.outgoingEdges("a")));
+        assertEquals(3, g.outgoingEdges("a").size());
+    }
+
+    @Test
+    public void testIncomingEdges() {
+        Set<Graph.Edge<String, String>> expected = Set.of(new Graph.Edge<>("b1", "b", "a"),
+                                                          new Graph.Edge<>("b1", "c", "a"),
+                                                          new Graph.Edge<>("b2", "d", "a"));
+
+        assertEquals(expected, new HashSet<>(g.incomingEdges("a")));
+    }
+
+    @Test
+    public void testNoSelfEdges() {
+        assertTrue(g.outgoingEdges("e").isEmpty());
+        assertEquals(0, g.outgoingEdges("e").size());
+        assertFalse(g.containsEdge("b3", "e", "e"));
+    }
+
+    @Test
+    public void testContainsEdge() {
+        assertTrue(g.containsEdge("b1", "b", "c"));
+        assertTrue(g.outgoingEdges("b").contains(new Graph.Edge<>("b1", "b", "c")));
+        assertFalse(g.containsEdge("b2", "b", "c"));
+        assertFalse(g.outgoingEdges("b").contains(new Graph.Edge<>("b1", "c", "b")));
+    }
+
+    @Test
+    public void testGetEdgesByLabel() {
+        assertEquals(6, g.getEdgesByLabel("b1").size());
+        assertTrue(g.getEdgesByLabel("b3").isEmpty());
+        assertTrue(g.getEdgesByLabel("b4").isEmpty());
+    }
+
+    @Test
+    public void testMissingNode() {
+        assertTrue(g.outgoingEdges("f").isEmpty());
+        assertTrue(g.groupsOf("f").isEmpty());
+    }
+
+    @Test
+    public void testSameAsExpandedGraph() {
+        Graph<String, String> expanded = new Graph<>();
+
+        for (String node : g) {
+            expanded.addNode(node);
+        }
+
+        for (String node : g) {
+            for (String group : g.groupsOf(node)) {
+                for (String other : g.membersOf(group)) {
+                    if (!other.equals(node)) {
+                        expanded.addEdge(group, node, other);
+                    }
+                }
+            }
+        }
+
+        for (String node : g) {
+            assertEquals(new HashSet<>(expanded.getOutgoingEdges(node)), new HashSet<>(g.getOutgoingEdges(node)));
+            assertEquals(new HashSet<>(expanded.getIncomingEdges(node)), new HashSet<>(g.getIncomingEdges(node)));
+        }
+    }
+
+    @Test
+    public void testFreeze() {
+        CompactGraph<String, String> compact = g.freeze(null);
+
+        assertEquals(5, compact.nodeCount());
+        assertEquals(8, compact.edgeCount());
+        assertNull(compact.edgeOrder());
+
+        for (String node : g) {
+            assertEquals(new HashSet<>(g.getOutgoingEdges(node)), new HashSet<>(compact.getOutgoingEdges(node)));
+        }
+    }
+
+    @Test
+    public void testFreezeSorted() {
+        Comparator<Graph.Edge<String, String>> order =
+                Comparator.comparing((Graph.Edge<String, String> edge) -> edge.getDst())
+                          .thenComparing(Graph.Edge::getLabel);
+        g.addMembership("d", "b1");
+
+        CompactGraph<String, String> compact = g.freeze(order);
+
+        assertEquals(List.of(new Graph.Edge<>("b1", "a", "b"), new Graph.Edge<>("b1", "a", "c"),
+                             new Graph.Edge<>("b1", "a", "d"), new Graph.Edge<>("b2", "a", "d")),
+                     compact.getOutgoingEdges("a"));
+        assertTrue(compact.getOutgoingEdges("e").isEmpty());
+    }
+
+    @Test
+    public void testFreezeLargeGroups() {
+        ProjectedGraph<Integer, Integer> large = new ProjectedGraph<>();
+
+        // 200 overlapping groups of 50 members each, enough to be split across threads
+        for (int group = 0; group < 200; group++) {
+            for (int member = 0; member < 50; member++) {
+                large.addMembership(group * 10 + member, group);
+            }
+        }
+
+        CompactGraph<Integer, Integer> compact = large.freeze(Comparator.comparing(Graph.Edge::getDst));
+        int edges = 0;
+
+        for (Integer node : large) {
+            List<Graph.Edge<Integer, Integer>> outgoing = compact.getOutgoingEdges(node);
+
+            assertEquals(new HashSet<>(large.getOutgoingEdges(node)), new HashSet<>(outgoing));
+
+            for (int i = 1; i < outgoing.size(); i++) {
+                assertTrue(outgoing.get(i - 1).getDst() <= outgoing.get(i).getDst());
+            }
+
+            edges += outgoing.size();
+        }
+
+        assertEquals(200 * 50 * 49, edges);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testGroupsOfIsReadOnly() {
+        g.groupsOf("a").add("b3");
+    }
+}
@@ -0,0 +1,145 @@
+package graph.junitTests;
+
+import graph.Graph;
+import graph.StronglyConnectedComponents;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class StronglyConnectedComponentsTest {
+    private Graph<String, String> g;
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    // {a, b, c} through a -> b -> c -> a, then c -> d, {d, e} through d <-> e, and {f} -> a
+    @Before
+    public void setUp() {
+        g = new Graph<>();
+
+        for (String node : List.of("a", "b", "c", "d", "e", "f")) {
+            g.addNode(node);
+        }
+
+        g.addEdge("ab", "a", "b");
+        g.addEdge("bc", "b", "c");
+        g.addEdge("ca", "c", "a");
+        g.addEdge("cd", "c", "d");
+        g.addEdge("de", "d", "e");
+        g.addEdge("ed", "e", "d");
+        g.addEdge("fa", "f", "a");
+    }
+
+    @Test
+    public void testComponents() {
+        StronglyConnectedComponents<String> components = new StronglyConnectedComponents<>(g);
+
+        assertEquals(3, components.componentCount());
+        assertTrue(components.stronglyConnected("a", "c"));
+        assertTrue(components.stronglyConnected("e", "d"));
+        assertFalse(components.stronglyConnected("c", "d"));
+        assertFalse(components.stronglyConnected("f", "a"));
+    }
+
+    @Test
+    public void testComponentsInTopologicalOrder() {
+        StronglyConnectedComponents<String> components = new StronglyConnectedComponents<>(g);
+
+        assertTrue(components.componentOf("f") < components.componentOf("a"));
+        assertTrue(components.componentOf("a") < components.componentOf("d"));
+    }
+
+    @Test
+    public void testReachableComponents() {
+        StronglyConnectedComponents<String> components = new StronglyConnectedComponents<>(g);
+        BitSet fromA = components.reachableComponents(components.componentOf("a"));
+        BitSet fromD = components.reachableComponents(components.componentOf("d"));
+
+        assertTrue(fromA.get(components.componentOf("e")));
+        assertFalse(fromA.get(components.componentOf("f")));
+        assertEquals(2, fromA.cardinality());
+        assertEquals(1, fromD.cardinality());
+        assertTrue(fromD.get(components.componentOf("d")));
+    }
+
+    @Test
+    public void testTopologicalOrder() {
+        Graph<String, String> dag = new Graph<>();
+
+        for (String node : List.of("shirt", "tie", "jacket", "belt", "pants", "shoes")) {
+            dag.addNode(node);
+        }
+
+        dag.addEdge("", "shirt", "tie");
+        dag.addEdge("", "tie", "jacket");
+        dag.addEdge("", "shirt", "belt");
+        dag.addEdge("", "belt", "jacket");
+        dag.addEdge("", "pants", "belt");
+        dag.addEdge("", "pants", "shoes");
+
+        StronglyConnectedComponents<String> components = new StronglyConnectedComponents<>(dag);
+        List<String> order = components.topologicalOrder();
+
+        assertTrue(components.isAcyclic());
+        assertEquals(6, order.size());
+
+        for (String src : dag) {
+            for (Graph.Edge<String, String> edge : dag.outgoingEdges(src)) {
+                assertTrue(order.indexOf(src) < order.indexOf(edge.getDst()));
+            }
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testTopologicalOrderOfCycle() {
+        new StronglyConnectedComponents<>(g).topologicalOrder();
+    }
+
+    @Test
+    public void testSelfEdgeIsCycle() {
+        Graph<String, String> loop = new Graph<>();
+        loop.addNode("a");
+        loop.addEdge("aa", "a", "a");
+
+        StronglyConnectedComponents<String> components = new StronglyConnectedComponents<>(loop);
+
+        assertEquals(1, components.componentCount());
+        assertFalse(components.isAcyclic());
+    }
+
+    @Test
+    public void testLongChainDoesNotOverflow() {
+        Graph<Integer, String> chain = new Graph<>();
+
+        for (int i = 0; i < 100000; i++) {
+            chain.addNode(i);
+
+            if (i > 0) {
+                chain.addEdge("next", i - 1, i);
+            }
+        }
+
+        chain.addEdge("back", 99999, 0);
+
+        assertEquals(1, new StronglyConnectedComponents<>(chain).componentCount());
+    }
+
+    @Test
+    public void testUnchangedByLaterChanges() {
+        StronglyConnectedComponents<String> components = new StronglyConnectedComponents<>(g);
+        g.removeNode("a");
+
+        assertTrue(components.stronglyConnected("a", "b"));
+        assertEquals(6, components.nodeIds().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingNode() {
+        new StronglyConnectedComponents<>(g).componentOf("z");
+    }
+}
@@ -0,0 +1,84 @@
+package graph.junitTests;
+
+import graph.Graph;
+import graph.WeightedGraph;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class WeightedGraphTest {
+    private Graph<String, Double> g;
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Before
+    public void setUp() {
+        g = new Graph<>();
+        g.addNode("n1");
+        g.addNode("n2");
+        g.addNode("n3");
+        g.addEdge(1.5, "n1", "n2");
+        g.addEdge(2.0, "n1", "n3");
+        g.addEdge(0.5, "n2", "n3");
+    }
+
+    @Test
+    public void testCounts() {
+        WeightedGraph<String> weighted = new WeightedGraph<>(g);
+
+        assertEquals(3, weighted.nodeCount());
+        assertEquals(3, weighted.edgeCount());
+    }
+
+    @Test
+    public void testIdsMatchGraph() {
+        WeightedGraph<String> weighted = new WeightedGraph<>(g);
+
+        for (String node : g) {
+            assertEquals(g.nodeIds().getId(node), weighted.getId(node));
+        }
+
+        assertEquals(-1, weighted.getId("n4"));
+        assertFalse(weighted.containsNode("n4"));
+    }
+
+    @Test
+    public void testWeights() {
+        WeightedGraph<String> weighted = new WeightedGraph<>(g);
+        int id = weighted.getId("n1");
+        Map<String, Double> weights = new HashMap<>();
+
+        for (int k = weighted.edgeStart(id); k < weighted.edgeEnd(id); k++) {
+            weights.put(weighted.getNode(weighted.edgeTarget(k)), weighted.edgeWeight(k));
+        }
+
+        assertEquals(Map.of("n2", 1.5, "n3", 2.0), weights);
+    }
+
+    @Test
+    public void testNodeWithoutEdges() {
+        WeightedGraph<String> weighted = new WeightedGraph<>(g);
+        int id = weighted.getId("n3");
+
+        assertEquals(weighted.edgeStart(id), weighted.edgeEnd(id));
+    }
+
+    @Test
+    public void testUnaffectedByLaterChanges() {
+        WeightedGraph<String> weighted = new WeightedGraph<>(g);
+        g.addEdge(3.0, "n3", "n1");
+
+        assertEquals(3, weighted.edgeCount());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testEdgeStartOutOfBounds() {
+        new WeightedGraph<>(g).edgeStart(3);
+    }
+}
@@ -0,0 +1,129 @@
+package graph.junitTests.algorithms;
+
+import graph.CompactGraph;
+import graph.Graph;
+import graph.algorithms.BreadthFirstSearch;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BreadthFirstSearchTest {
+    private Graph<String, String> g;
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    // a -> b -> d -> e, a -> c -> d, e -> a, f is unreachable
+    @Before
+    public void setUp() {
+        g = new Graph<>();
+
+        for (String node : List.of("a", "b", "c", "d", "e", "f")) {
+            g.addNode(node);
+        }
+
+        g.addEdge("ab", "a", "b");
+        g.addEdge("ac", "a", "c");
+        g.addEdge("bd", "b", "d");
+        g.addEdge("cd", "c", "d");
+        g.addEdge("de", "d", "e");
+        g.addEdge("ea", "e", "a");
+    }
+
+    @Test
+    public void testFindPath() {
+        BreadthFirstSearch<String, String> search = new BreadthFirstSearch<>(g.freeze());
+        List<Graph.Edge<String, String>> path = search.findPath("a", "e");
+
+        assertEquals(3, path.size());
+        assertEquals("a", path.get(0).getSrc());
+        assertEquals("e", path.get(2).getDst());
+
+        // Consecutive edges meet
+        assertEquals(path.get(0).getDst(), path.get(1).getSrc());
+        assertEquals(new Graph.Edge<>("de", "d", "e"), path.get(2));
+    }
+
+    @Test
+    public void testPathToSelf() {
+        BreadthFirstSearch<String, String> search = new BreadthFirstSearch<>(g.freeze());
+
+        assertEquals(List.of(), search.findPath("d", "d"));
+        assertEquals(0, search.distance("d", "d"));
+    }
+
+    @Test
+    public void testNoPath() {
+        BreadthFirstSearch<String, String> search = new BreadthFirstSearch<>(g.freeze());
+
+        assertNull(search.findPath("a", "f"));
+        assertEquals(-1, search.distance("f", "a"));
+    }
+
+    @Test
+    public void testFirstPathInEdgeOrder() {
+        CompactGraph<String, String> compact = g.freeze();
+        BreadthFirstSearch<String, String> search = new BreadthFirstSearch<>(compact);
+        int a = compact.getId("a");
+
+        // The first edge of a in index order decides which of the two shortest paths is found
+        String first = compact.getNode(compact.edgeTarget(compact.edgeStart(a)));
+
+        assertEquals(first, search.findPath("a", "d").get(0).getDst());
+    }
+
+    @Test
+    public void testLeastPathOnSortedGraph() {
+        Comparator<Graph.Edge<String, String>> byDst = Comparator.comparing(Graph.Edge::getDst);
+        BreadthFirstSearch<String, String> search = new BreadthFirstSearch<>(g.freeze(byDst));
+        BreadthFirstSearch<String, String> reversed = new BreadthFirstSearch<>(g.freeze(byDst.reversed()));
+
+        assertEquals("b", search.findPath("a", "d").get(0).getDst());
+        assertEquals("c", reversed.findPath("a", "d").get(0).getDst());
+    }
+
+    @Test
+    public void testRepeatedSearches() {
+        BreadthFirstSearch<String, String> search = new BreadthFirstSearch<>(g.freeze());
+
+        // Nodes reached by one search must not count as reached by the next
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(3, search.distance("a", "e"));
+            assertEquals(1, search.distance("e", "a"));
+            assertEquals(-1, search.distance("b", "f"));
+            assertEquals(3, search.distance("d", "b"));
+        }
+    }
+
+    @Test
+    public void testLongChain() {
+        Graph<Integer, String> chain = new Graph<>();
+
+        for (int i = 0; i < 100000; i++) {
+            chain.addNode(i);
+
+            if (i > 0) {
+                chain.addEdge("next", i - 1, i);
+            }
+        }
+
+        BreadthFirstSearch<Integer, String> search = new BreadthFirstSearch<>(chain.freeze());
+
+        assertEquals(99999, search.findPath(0, 99999).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingNode() {
+        new BreadthFirstSearch<>(g.freeze()).findPath("a", "z");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullGraph() {
+        new BreadthFirstSearch<String, String>(null);
+    }
+}
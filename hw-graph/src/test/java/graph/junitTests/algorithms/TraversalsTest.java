@@ -0,0 +1,142 @@
+package graph.junitTests.algorithms;
+
+import graph.Graph;
+import graph.algorithms.Traversals;
+import graph.algorithms.Visit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class TraversalsTest {
+    private Graph<String, String> g;
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    // a -> b -> d -> e, a -> c -> d, f is unreachable
+    @Before
+    public void setUp() {
+        g = new Graph<>();
+
+        for (String node : List.of("a", "b", "c", "d", "e", "f")) {
+            g.addNode(node);
+        }
+
+        g.addEdge("ab", "a", "b");
+        g.addEdge("ac", "a", "c");
+        g.addEdge("bd", "b", "d");
+        g.addEdge("cd", "c", "d");
+        g.addEdge("de", "d", "e");
+        g.addEdge("ea", "e", "a");
+    }
+
+    private static Map<String, Integer> depths(Iterator<Visit<String, String>> traversal) {
+        Map<String, Integer> depths = new LinkedHashMap<>();
+
+        while (traversal.hasNext()) {
+            Visit<String, String> visit = traversal.next();
+            assertNull(depths.put(visit.getNode(), visit.getDepth()));
+        }
+
+        return depths;
+    }
+
+    @Test
+    public void testBreadthFirstDepths() {
+        Map<String, Integer> depths = depths(Traversals.breadthFirst(g, "a"));
+
+        assertEquals(Map.of("a", 0, "b", 1, "c", 1, "d", 2, "e", 3), depths);
+        assertEquals(List.of(0, 1, 1, 2, 3), new ArrayList<>(depths.values()));
+    }
+
+    @Test
+    public void testBreadthFirstDiscoveryEdges() {
+        Iterator<Visit<String, String>> traversal = Traversals.breadthFirst(g, "a");
+
+        assertNull(traversal.next().getEdge());
+
+        while (traversal.hasNext()) {
+            Visit<String, String> visit = traversal.next();
+            assertEquals(visit.getNode(), visit.getEdge().getDst());
+            assertTrue(g.containsEdge(visit.getEdge().getLabel(), visit.getEdge().getSrc(), visit.getNode()));
+        }
+    }
+
+    @Test
+    public void testBreadthFirstMaxDepth() {
+        assertEquals(Map.of("a", 0, "b", 1, "c", 1), depths(Traversals.breadthFirst(g, "a", 1)));
+        assertEquals(Map.of("a", 0), depths(Traversals.breadthFirst(g, "a", 0)));
+    }
+
+    @Test
+    public void testDepthFirstPreorder() {
+        Iterator<Visit<String, String>> traversal = Traversals.depthFirst(g, "a");
+        Set<String> seen = new HashSet<>();
+
+        while (traversal.hasNext()) {
+            Visit<String, String> visit = traversal.next();
+
+            if (visit.getEdge() != null) {
+                // In preorder, the src of a discovery edge has always been visited already
+                assertTrue(seen.contains(visit.getEdge().getSrc()));
+            }
+
+            seen.add(visit.getNode());
+        }
+
+        assertEquals(Set.of("a", "b", "c", "d", "e"), seen);
+    }
+
+    @Test
+    public void testDepthFirstGoesDeep() {
+        Graph<String, String> chain = new Graph<>();
+
+        for (String node : List.of("a", "b", "c", "d")) {
+            chain.addNode(node);
+        }
+
+        chain.addEdge("ab", "a", "b");
+        chain.addEdge("bc", "b", "c");
+        chain.addEdge("ad", "a", "d");
+
+        Map<String, Integer> depths = depths(Traversals.depthFirst(chain, "a"));
+
+        assertEquals(Map.of("a", 0, "b", 1, "c", 2, "d", 1), depths);
+        assertTrue(List.of(List.of("a", "b", "c", "d"), List.of("a", "d", "b", "c"))
+                       .contains(new ArrayList<>(depths.keySet())));
+    }
+
+    @Test
+    public void testStreamStopsEarly() {
+        List<String> firstTwo = Traversals.stream(Traversals.breadthFirst(g, "a"))
+                                          .limit(2)
+                                          .map(Visit::getNode)
+                                          .collect(Collectors.toList());
+
+        assertEquals(2, firstTwo.size());
+        assertEquals("a", firstTwo.get(0));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNextPastEnd() {
+        Iterator<Visit<String, String>> traversal = Traversals.breadthFirst(g, "f");
+
+        assertEquals("f", traversal.next().getNode());
+        traversal.next();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingStart() {
+        Traversals.depthFirst(g, "z");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeMaxDepth() {
+        Traversals.breadthFirst(g, "a", -1);
+    }
+}
@@ -12,10 +12,13 @@
 package marvel;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 /**
@@ -48,6 +51,237 @@ public class MarvelParser {
         return parsedData;
     }
 
+    /**
+     * Streams the Marvel Universe dataset to appearance, one line at a time, without holding
+     * its lines in memory. The file is read in large blocks of bytes and split on the bytes
+     * of commas and line breaks, and each distinct name is decoded into a String only the first
+     * time it is seen, so repeated names are the same String object and cost no allocation.
+     *
+     * @spec.requires filename is a valid file in the resources/data folder.
+     * @param filename the file that will be read
+     * @param appearance the action to perform on the character name and comic book of each
+     * line of the file, in the order of the lines. Empty lines are skipped.
+     * @throws IllegalArgumentException if the file doesn't exist, can't be read, or has a
+     * non-empty line without a comma
+     */
+    public static void parseAppearances(String filename, BiConsumer<String, String> appearance) {
+        InputStream stream = MarvelParser.class.getResourceAsStream("/data/" + filename);
+        if (stream == null) {
+            throw new IllegalArgumentException("No such file: " + filename);
+        }
+
+        try (stream) {
+            parseAppearances(stream, appearance);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Can't read file: " + filename, e);
+        }
+    }
+
+    /**
+     * Streams a dataset in the format of the Marvel Universe dataset to appearance, as
+     * parseAppearances(String, BiConsumer) does for a file in the resources/data folder
+     *
+     * @param stream the UTF-8 bytes of the dataset, which are read to the end but not closed
+     * @param appearance the action to perform on the character name and comic book of each
+     * line of the dataset, in the order of the lines. Empty lines are skipped.
+     * @throws IOException if stream can't be read
+     * @throws IllegalArgumentException if the dataset has a non-empty line without a comma
+     * @spec.requires stream != null &amp;&amp; appearance != null
+     */
+    public static void parseAppearances(InputStream stream, BiConsumer<String, String> appearance)
+            throws IOException {
+        NameTable names = new NameTable();
+        byte[] buffer = new byte[1 << 16];
+        int filled = 0;
+        int read;
+
+        // Inv: buffer[0..filled-1] is the start of a line that hasn't been passed to
+        // appearance, and all lines before it have been
+        do {
+            if (filled == buffer.length) {
+                // A line longer than the buffer
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+
+            read = stream.read(buffer, filled, buffer.length - filled);
+
+            int end = filled + Math.max(read, 0);
+            int lineStart = 0;
+
+            // Inv: the lines starting before lineStart have been passed to appearance
+            for (int i = filled; i < end; i++) {
+                if (buffer[i] == '\n') {
+                    parseLine(buffer, lineStart, i, names, appearance);
+                    lineStart = i + 1;
+                }
+            }
+
+            if (read == -1 && lineStart < end) {
+                // The last line has no line break
+                parseLine(buffer, lineStart, end, names, appearance);
+                lineStart = end;
+            }
+
+            filled = end - lineStart;
+            System.arraycopy(buffer, lineStart, buffer, 0, filled);
+        } while (read != -1);
+    }
+
+    /**
+     * Passes the character and book of one line to appearance
+     *
+     * @param bytes the bytes of the file
+     * @param start the index of the first byte of the line
+     * @param end the index of the line break, or one past the last byte of the line
+     * @param names the names seen so far
+     * @param appearance the action to perform on the character name and comic book of the line
+     * @throws IllegalArgumentException if the line is not empty and has no comma
+     */
+    private static void parseLine(byte[] bytes, int start, int end, NameTable names,
+                                  BiConsumer<String, String> appearance) {
+        if (end > start && bytes[end - 1] == '\r') {
+            end--;
+        }
+
+        if (end == start) {
+            return;
+        }
+
+        int comma = start;
+
+        // Inv: there is no comma from start to comma-1
+        while (comma < end && bytes[comma] != ',') {
+            comma++;
+        }
+
+        if (comma == end) {
+            throw new IllegalArgumentException("Malformed line: " +
+                                               new String(bytes, start, end - start, StandardCharsets.UTF_8));
+        }
+
+        // Like parseData, only the first two fields of a line are used
+        int bookEnd = comma + 1;
+
+        // Inv: there is no comma from comma+1 to bookEnd-1
+        while (bookEnd < end && bytes[bookEnd] != ',') {
+            bookEnd++;
+        }
+
+        appearance.accept(names.intern(bytes, start, comma), names.intern(bytes, comma + 1, bookEnd));
+    }
+
+    /**
+     * NameTable is a mutable set of names keyed by their UTF-8 bytes, so a name that is already
+     * present can be found from a slice of a byte buffer without decoding it
+     */
+    private static class NameTable {
+        private byte[][] keys;
+        private String[] names;
+        private int size;
+
+        // Abstraction Function:
+        // The names in the set are the non-null elements of names, and keys[j]
+        // holds the UTF-8 bytes of names[j]
+        //
+        // Rep Invariant:
+        // keys.length == names.length && keys.length is a power of two &&
+        // size < keys.length / 2 && keys[j] == null if and only if names[j] == null
+
+        /**
+         * @spec.effects Constructs a new empty NameTable
+         */
+        NameTable() {
+            keys = new byte[1024][];
+            names = new String[1024];
+            size = 0;
+        }
+
+        /**
+         * Returns the name whose UTF-8 bytes are bytes[from..to-1], adding it if not present
+         *
+         * @param bytes the buffer holding the name
+         * @param from the index of the first byte of the name
+         * @param to the index one past the last byte of the name
+         * @return the String in this equal to the decoded name
+         * @spec.modifies this
+         */
+        String intern(byte[] bytes, int from, int to) {
+            int mask = keys.length - 1;
+            int slot = hash(bytes, from, to) & mask;
+
+            // Inv: the slots probed so far hold names other than the one being looked up
+            while (keys[slot] != null) {
+                if (Arrays.equals(keys[slot], 0, keys[slot].length, bytes, from, to)) {
+                    return names[slot];
+                }
+
+                slot = (slot + 1) & mask;
+            }
+
+            byte[] key = Arrays.copyOfRange(bytes, from, to);
+            String name = new String(key, StandardCharsets.UTF_8);
+
+            keys[slot] = key;
+            names[slot] = name;
+            size++;
+
+            if (size >= keys.length / 2) {
+                resize();
+            }
+
+            return name;
+        }
+
+        /**
+         * Returns the hash of a name
+         *
+         * @param bytes the buffer holding the name
+         * @param from the index of the first byte of the name
+         * @param to the index one past the last byte of the name
+         * @return the hash of bytes[from..to-1], with its high bits spread into its low bits
+         */
+        private static int hash(byte[] bytes, int from, int to) {
+            int hash = 0;
+
+            // Inv: hash is the hash of the bytes from from to i-1
+            for (int i = from; i < to; i++) {
+                hash = 31 * hash + bytes[i];
+            }
+
+            return hash ^ (hash >>> 16);
+        }
+
+        /**
+         * Doubles the capacity of this
+         *
+         * @spec.modifies this
+         */
+        private void resize() {
+            byte[][] oldKeys = keys;
+            String[] oldNames = names;
+
+            keys = new byte[oldKeys.length * 2][];
+            names = new String[oldNames.length * 2];
+
+            int mask = keys.length - 1;
+
+            // Inv: keys and names hold all names from oldNames[0..j-1]
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] != null) {
+                    int slot = hash(oldKeys[j], 0, oldKeys[j].length) & mask;
+
+                    // Inv: the slots probed so far are taken
+                    while (keys[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+
+                    keys[slot] = oldKeys[j];
+                    names[slot] = oldNames[j];
+                }
+            }
+        }
+    }
+
     /**
      * Reads all lines contained within the provided data file, which is located
      * relative to the data/ folder in this parser's classpath.
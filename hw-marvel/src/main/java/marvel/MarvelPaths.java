@@ -1,7 +1,16 @@
 package marvel;
 
+import graph.CompactGraph;
+import graph.ConnectedComponents;
 import graph.Graph;
+import graph.GraphBuilder;
+import graph.GraphSnapshot;
+import graph.GraphView;
+import graph.MultiGraph;
+import graph.ProjectedGraph;
+import graph.algorithms.BreadthFirstSearch;
 
+import java.io.*;
 import java.util.*;
 
 /**
@@ -11,15 +20,43 @@ import java.util.*;
 public class MarvelPaths {
     private static final String marvelFile = "marvel.csv";
 
+    // The order in which findPath explores the outgoing edges of a node, by dst and then label
+    private static final Comparator<Graph.Edge<String, String>> EDGE_ORDER = new Comparator<>() {
+        @Override
+        public int compare(Graph.Edge<String, String> e1, Graph.Edge<String, String> e2) {
+            int dstComparison = e1.getDst().compareTo(e2.getDst());
+
+            if (dstComparison != 0) {
+                return dstComparison;
+            }
+
+            return e1.getLabel().compareTo(e2.getLabel());
+        }
+    };
+
     // This is a container for related functionality, not an ADT
 
     /**
      * Runs a program that allows for finding paths between Marvel characters
      *
-     * @param args command-line arguments
+     * @param args command-line arguments, which may name a snapshot file to start from
+     *             instead of building the graph; the file is created if it doesn't exist.
+     *             Without one, the graph is projected from the character-book relation
+     * @throws IOException if the snapshot file can't be read or written
      */
-    public static void main(String[] args) {
-        Graph<String, String> graph = buildGraph(marvelFile);
+    public static void main(String[] args) throws IOException {
+        CompactGraph<String, String> graph = args.length > 0 ? loadGraph(new File(args[0]), marvelFile)
+                                                             : buildCompactGraph(marvelFile);
+
+        // Logged to stderr, apart from the conversation on stdout
+        System.err.println("Marvel graph loaded\n" + graph.stats());
+
+        // Characters in different weakly connected components have no path in any graph, so
+        // those queries are answered without a search. components is not a view: a change to
+        // a graph, such as Graph.addEdge, must also be applied to components by its caller.
+        // graph is a CompactGraph, which never changes
+        ConnectedComponents<String> components = new ConnectedComponents<>(graph);
+        BreadthFirstSearch<String, String> search = new BreadthFirstSearch<>(graph);
 
         System.out.println("Welcome to the Marvel universe!");
 
@@ -36,8 +73,10 @@ public class MarvelPaths {
 
                 if (!graph.containsNode(src) || !graph.containsNode(dst)) {
                     System.out.println("The Marvel graph doesn't contain one or more of these characters");
+                } else if (!components.connected(src, dst)) {
+                    System.out.println("No path exists between " + src + " and " + dst);
                 } else {
-                    List<Graph.Edge<String, String>> path = findPath(graph, src, dst);
+                    List<Graph.Edge<String, String>> path = search.findPath(src, dst);
 
                     if (path == null) {
                         System.out.println("No path exists between " + src + " and " + dst);
@@ -75,7 +114,120 @@ public class MarvelPaths {
      * @spec.requires filename is a valid file in the resources/data folder
      */
     public static Graph<String, String> buildGraph(String fileName) {
-        Graph<String, String> graph = new Graph<>();
+        Map<String, List<String>> parsedData = MarvelParser.parseData(fileName);
+
+        Set<String> characters = new HashSet<>();
+        long expectedEdges = 0;
+
+        // Inv: characters contains all characters in books from 0 to i-1, and expectedEdges
+        // is the number of edges their cliques would have without duplicate characters
+        for (List<String> bookCharacters : parsedData.values()) {
+            characters.addAll(bookCharacters);
+            expectedEdges += (long) bookCharacters.size() * (bookCharacters.size() - 1);
+        }
+
+        // Index labels so characters connected through a given book can be looked up directly
+        GraphBuilder<String, String> builder =
+                new GraphBuilder<>(characters.size(), (int) Math.min(expectedEdges, Integer.MAX_VALUE), true);
+        builder.addNodes(characters);
+
+        // All characters in books from 0 to i-1 have edges to and from
+        // all other characters in the same book
+        for (String book : parsedData.keySet()) {
+            List<String> bookCharacters = parsedData.get(book);
+            List<Graph.Edge<String, String>> edges = new ArrayList<>();
+
+            // Inv: edges contains edges to and from all characters from 0 to i-1
+            // and all other characters
+            for (int i = 0; i < bookCharacters.size() - 1; i++) {
+                // Inv: edges contains edges to and from the ith character and all
+                // characters from i+1 to j-1
+                for (int j = i + 1; j < bookCharacters.size(); j++) {
+                    String src = bookCharacters.get(i);
+                    String dst = bookCharacters.get(j);
+
+                    if (!src.equals(dst)) {
+                        edges.add(new Graph.Edge<>(book, src, dst));
+                        edges.add(new Graph.Edge<>(book, dst, src));
+                    }
+                }
+            }
+
+            builder.addEdges(edges);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Loads the compact graph from a snapshot, first building it and saving the snapshot if there
+     * is none. The snapshot numbers characters and books in alphabetical order, so the edges of
+     * each character are stored in the order findPath explores them and are restored without
+     * sorting or building a Graph.
+     *
+     * @param snapshot the snapshot file
+     * @param fileName the file to build the graph from if snapshot doesn't exist
+     * @return a compact graph of the data with the same nodes and edges as buildGraph(fileName),
+     * with the outgoing edges of each node in the order findPath explores them
+     * @throws IOException if snapshot can't be read or written
+     * @spec.requires filename is a valid file in the resources/data folder &&
+     * snapshot doesn't exist or was saved from fileName
+     */
+    public static CompactGraph<String, String> loadGraph(File snapshot, String fileName) throws IOException {
+        if (!snapshot.exists()) {
+            ProjectedGraph<String, String> graph = buildProjectedGraph(fileName);
+
+            try (OutputStream out = new FileOutputStream(snapshot)) {
+                GraphSnapshot.write(graph, out, GraphSnapshot.Codec.STRING, GraphSnapshot.Codec.STRING,
+                                    Comparator.naturalOrder(), Comparator.naturalOrder());
+            }
+        }
+
+        try (InputStream in = new FileInputStream(snapshot)) {
+            return GraphSnapshot.readCompact(in, GraphSnapshot.Codec.STRING, GraphSnapshot.Codec.STRING, EDGE_ORDER);
+        }
+    }
+
+    /**
+     * Builds a graph from the data in the file that stores only which books each character
+     * appears in, and creates the edges between characters in the same book as they are read
+     *
+     * @param fileName the file to build the graph
+     * @return a graph of the data with the same nodes and edges as buildGraph(fileName)
+     * @spec.requires filename is a valid file in the resources/data folder
+     */
+    public static ProjectedGraph<String, String> buildProjectedGraph(String fileName) {
+        ProjectedGraph<String, String> graph = new ProjectedGraph<>();
+
+        // Memberships are added as the file is read, without collecting its lines first
+        MarvelParser.parseAppearances(fileName, graph::addMembership);
+
+        return graph;
+    }
+
+    /**
+     * Builds a compact graph from the data in the file, expanding the characters of each book
+     * into edges in parallel on the threads of the common fork-join pool
+     *
+     * @param fileName the file to build the graph
+     * @return a compact graph of the data with the same nodes and edges as buildGraph(fileName),
+     * with the outgoing edges of each node in the order findPath explores them
+     * @spec.requires filename is a valid file in the resources/data folder
+     */
+    public static CompactGraph<String, String> buildCompactGraph(String fileName) {
+        return buildProjectedGraph(fileName).freeze(EDGE_ORDER);
+    }
+
+    /**
+     * Builds a multigraph from the data in the file, which stores each pair of characters
+     * that share books once with the set of their shared books, rather than one edge per book
+     *
+     * @param fileName the file to build the graph
+     * @return a multigraph of the data with the same nodes and edges as buildGraph(fileName)
+     * @spec.requires filename is a valid file in the resources/data folder
+     */
+    public static MultiGraph<String, String> buildMultiGraph(String fileName) {
+        MultiGraph<String, String> graph = new MultiGraph<>();
         Map<String, List<String>> parsedData = MarvelParser.parseData(fileName);
 
         // All characters in books from 0 to i-1 have edges to and from
@@ -88,20 +240,17 @@ public class MarvelPaths {
                 graph.addNode(character);
             }
 
-            if (characters.size() > 1) {
-                // Inv: All characters from 0 to j-1 have edges to and
-                // from all other characters
-                for (int i = 0; i < characters.size() - 1; i++) {
-                    // Inv: All characters from j+1 to k-1, where j < k,
-                    // have edges to and from the jth character
-                    for (int j = i + 1; j < characters.size(); j++) {
-                        String src = characters.get(i);
-                        String dst = characters.get(j);
-
-                        if (!src.equals(dst)) {
-                            graph.addEdge(book, src, dst);
-                            graph.addEdge(book, dst, src);
-                        }
+            // Inv: All characters from 0 to i-1 have edges to and
+            // from all other characters
+            for (int i = 0; i < characters.size() - 1; i++) {
+                // Inv: All characters from i+1 to j-1 have edges to and from the ith character
+                for (int j = i + 1; j < characters.size(); j++) {
+                    String src = characters.get(i);
+                    String dst = characters.get(j);
+
+                    if (!src.equals(dst)) {
+                        graph.addEdge(book, src, dst);
+                        graph.addEdge(book, dst, src);
                     }
                 }
             }
@@ -110,6 +259,26 @@ public class MarvelPaths {
         return graph;
     }
 
+    /**
+     * Returns a search engine for paths in graph whose findPath finds the same paths as findPath.
+     * The outgoing edges of each node are sorted by dst and then label once, in a snapshot of
+     * graph, so searches with the engine never sort. The snapshot of a ProjectedGraph is built
+     * in parallel.
+     *
+     * @param graph the graph to search for paths
+     * @return a BreadthFirstSearch of a snapshot of graph with its edges in the order findPath
+     * explores them. Later changes to graph are not reflected in it.
+     * @spec.requires graph != null
+     */
+    public static BreadthFirstSearch<String, String> pathSearch(GraphView<String, String> graph) {
+        if (graph instanceof ProjectedGraph) {
+            // Projections expand their groups into a snapshot in parallel
+            return new BreadthFirstSearch<>(((ProjectedGraph<String, String>) graph).freeze(EDGE_ORDER));
+        }
+
+        return new BreadthFirstSearch<>(CompactGraph.sortedOf(graph, EDGE_ORDER));
+    }
+
     /**
      * Finds the shortest path between src and dst in the graph
      *
@@ -120,12 +289,15 @@ public class MarvelPaths {
      * @spec.requires graph != null, src != null, dst != null,
      * src and dst are existing nodes within graph
      */
-    public static List<Graph.Edge<String, String>> findPath(Graph<String, String> graph, String src, String dst) {
-        Queue<String> workList = new LinkedList<>();
-        Map<String, List<Graph.Edge<String, String>>> visited = new HashMap<>();
+    public static List<Graph.Edge<String, String>> findPath(GraphView<String, String> graph,
+                                                            String src, String dst) {
+        Queue<String> workList = new ArrayDeque<>();
+        // Maps each node reached to the edge through which it was first reached, or to
+        // null for src, so that the path is built only once dst is reached
+        Map<String, Graph.Edge<String, String>> visited = new HashMap<>();
 
         workList.add(src);
-        visited.put(src, new ArrayList<>());
+        visited.put(src, null);
 
         // Inv: All paths from edges of src from 0 to i-1
         // have been examined for a path to dst
@@ -133,31 +305,17 @@ public class MarvelPaths {
             String node = workList.remove();
 
             if (node.equals(dst)) {
-                return visited.get(node);
+                return pathTo(visited, dst);
             }
 
             List<Graph.Edge<String, String>> outgoingEdges = graph.getOutgoingEdges(node);
 
-            Collections.sort(outgoingEdges, new Comparator<>() {
-                @Override
-                public int compare(Graph.Edge<String, String> e1, Graph.Edge<String, String> e2) {
-                    int dstComparison = e1.getDst().compareTo(e2.getDst());
-
-                    if (dstComparison != 0) {
-                        return dstComparison;
-                    }
-
-                    return e1.getLabel().compareTo(e2.getLabel());
-                }
-            });
+            Collections.sort(outgoingEdges, EDGE_ORDER);
 
             // Inv: All dst nodes of edges from 0 to j-1 have been visited
             for (Graph.Edge<String, String> edge : outgoingEdges) {
                 if (!visited.containsKey(edge.getDst())) {
-                    List<Graph.Edge<String, String>> copy = new ArrayList<>(visited.get(node));
-                    copy.add(edge);
-
-                    visited.put(edge.getDst(), copy);
+                    visited.put(edge.getDst(), edge);
                     workList.add(edge.getDst());
                 }
             }
@@ -165,4 +323,176 @@ public class MarvelPaths {
 
         return null;
     }
+
+    /**
+     * Builds the path to dst from the edges through which a search first reached each node
+     *
+     * @param parents a map of each node reached to the edge through which it was first
+     * reached, or to null for the start of the search
+     * @param dst the node at the end of the path
+     * @return the edges of the path from the start of the search to dst
+     * @spec.requires dst is a key of parents
+     */
+    private static List<Graph.Edge<String, String>> pathTo(Map<String, Graph.Edge<String, String>> parents,
+                                                           String dst) {
+        List<Graph.Edge<String, String>> path = new ArrayList<>();
+
+        // Inv: path holds, in reverse, the edges of the path from edge.getDst() to dst
+        for (Graph.Edge<String, String> edge = parents.get(dst); edge != null; edge = parents.get(edge.getSrc())) {
+            path.add(edge);
+        }
+
+        Collections.reverse(path);
+
+        return path;
+    }
+
+    /**
+     * Finds the same shortest path between src and dst in the graph as findPath, by searching
+     * from both ends at once. The search expands whole levels of whichever frontier is smaller
+     * until the two meet, which on a small-world graph such as the Marvel graph reaches far
+     * fewer nodes than searching from src alone. The path is then rebuilt one edge at a time,
+     * taking the least edge by dst and label that stays on a shortest path, which gives the
+     * path that findPath finds.
+     *
+     * @param graph the graph to search for the path
+     * @param src the source node to start the path
+     * @param dst the destination node to end the path
+     * @return shortest path of edges from the src to dst, which is the least by the dst and
+     * then the label of each edge in turn among all shortest paths, or null if there is no path
+     * @spec.requires graph != null, src != null, dst != null,
+     * src and dst are existing nodes within graph
+     */
+    public static List<Graph.Edge<String, String>> findPathBidirectional(GraphView<String, String> graph,
+                                                                         String src, String dst) {
+        if (src.equals(dst)) {
+            return new ArrayList<>();
+        }
+
+        // forward maps each node reached from src to its distance from src, and backward maps
+        // each node that reaches dst to its distance to dst
+        Map<String, Integer> forward = new HashMap<>();
+        Map<String, Integer> backward = new HashMap<>();
+        List<String> forwardFrontier = new ArrayList<>();
+        List<String> backwardFrontier = new ArrayList<>();
+        Set<String> meeting = new HashSet<>();
+        int forwardDepth = 0;
+        int backwardDepth = 0;
+
+        forward.put(src, 0);
+        backward.put(dst, 0);
+        forwardFrontier.add(src);
+        backwardFrontier.add(dst);
+
+        // Inv: forward and backward hold the exact distances of the nodes within forwardDepth
+        // of src and within backwardDepth of dst, and no node is in both unless meeting isn't empty
+        while (meeting.isEmpty()) {
+            if (forwardFrontier.isEmpty() || backwardFrontier.isEmpty()) {
+                return null;
+            }
+
+            if (forwardFrontier.size() <= backwardFrontier.size()) {
+                forwardDepth++;
+                forwardFrontier = expand(graph, forwardFrontier, forward, forwardDepth, true, backward, meeting);
+            } else {
+                backwardDepth++;
+                backwardFrontier = expand(graph, backwardFrontier, backward, backwardDepth, false, forward, meeting);
+            }
+        }
+
+        // Every meeting node is forwardDepth from src and backwardDepth from dst, and every
+        // node on a shortest path at that distance from src is a meeting node
+        int length = forwardDepth + backwardDepth;
+        Set<String> onPath = new HashSet<>(meeting);
+        Set<String> layer = meeting;
+
+        // Inv: onPath contains every node on a shortest path whose distance from src is
+        // between depth and forwardDepth, and layer contains those at distance depth
+        for (int depth = forwardDepth; depth > 1; depth--) {
+            Set<String> previous = new HashSet<>();
+
+            for (String node : layer) {
+                for (Graph.Edge<String, String> edge : graph.incomingEdges(node)) {
+                    Integer distance = forward.get(edge.getSrc());
+
+                    if (distance != null && distance == depth - 1) {
+                        previous.add(edge.getSrc());
+                    }
+                }
+            }
+
+            onPath.addAll(previous);
+            layer = previous;
+        }
+
+        List<Graph.Edge<String, String>> path = new ArrayList<>();
+        String node = src;
+
+        // Inv: path is the least shortest path prefix of step edges from src to node
+        for (int step = 1; step <= length; step++) {
+            Graph.Edge<String, String> best = null;
+
+            for (Graph.Edge<String, String> edge : graph.outgoingEdges(node)) {
+                boolean onShortestPath;
+
+                if (step <= forwardDepth) {
+                    onShortestPath = onPath.contains(edge.getDst()) && forward.get(edge.getDst()) == step;
+                } else {
+                    Integer distance = backward.get(edge.getDst());
+                    onShortestPath = distance != null && distance == length - step;
+                }
+
+                if (onShortestPath && (best == null || EDGE_ORDER.compare(edge, best) < 0)) {
+                    best = edge;
+                }
+            }
+
+            path.add(best);
+            node = best.getDst();
+        }
+
+        return path;
+    }
+
+    /**
+     * Expands one level of a breadth-first search from one end of a bidirectional search
+     *
+     * @param graph the graph being searched
+     * @param frontier the nodes at depth - 1 from this end
+     * @param distances the distances from this end of the nodes reached so far
+     * @param depth the distance from this end of the nodes reached by this level
+     * @param outgoing whether this end follows outgoing edges, rather than incoming edges
+     * @param otherDistances the distances from the other end of the nodes it has reached
+     * @param meeting the set of nodes reached from both ends
+     * @return the nodes first reached at depth from this end
+     * @spec.modifies distances, meeting
+     * @spec.effects adds the nodes first reached at depth to distances, and those of them
+     * in otherDistances to meeting
+     */
+    private static List<String> expand(GraphView<String, String> graph, List<String> frontier,
+                                       Map<String, Integer> distances, int depth, boolean outgoing,
+                                       Map<String, Integer> otherDistances, Set<String> meeting) {
+        List<String> next = new ArrayList<>();
+
+        // Inv: next contains the new nodes reached from the nodes of frontier from 0 to i-1
+        for (String node : frontier) {
+            Collection<Graph.Edge<String, String>> edges = outgoing ? graph.outgoingEdges(node)
+                                                                    : graph.incomingEdges(node);
+
+            for (Graph.Edge<String, String> edge : edges) {
+                String other = outgoing ? edge.getDst() : edge.getSrc();
+
+                if (!distances.containsKey(other)) {
+                    distances.put(other, depth);
+                    next.add(other);
+
+                    if (otherDistances.containsKey(other)) {
+                        meeting.add(other);
+                    }
+                }
+            }
+        }
+
+        return next;
+    }
 }
@@ -0,0 +1,132 @@
+package marvel.junitTests;
+
+import marvel.MarvelParser;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class MarvelParserTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /**
+     * Parses text with parseAppearances and returns each appearance as "character|book"
+     */
+    private static List<String> parse(String text) throws IOException {
+        List<String> appearances = new ArrayList<>();
+
+        MarvelParser.parseAppearances(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)),
+                                      (character, book) -> appearances.add(character + "|" + book));
+
+        return appearances;
+    }
+
+    @Test
+    public void testLines() throws IOException {
+        assertEquals(List.of("A|X", "B|X", "A|Y"), parse("A,X\nB,X\nA,Y\n"));
+    }
+
+    @Test
+    public void testCrlfLines() throws IOException {
+        assertEquals(List.of("A|X", "B|Y"), parse("A,X\r\nB,Y\r\n"));
+    }
+
+    @Test
+    public void testEmptyLines() throws IOException {
+        assertEquals(List.of("A|X", "B|Y"), parse("\nA,X\n\n\r\nB,Y\n\n"));
+        assertEquals(List.of(), parse(""));
+    }
+
+    @Test
+    public void testLastLineWithoutLineBreak() throws IOException {
+        assertEquals(List.of("A|X", "B|Y"), parse("A,X\nB,Y"));
+        assertEquals(List.of("A|X", "B|Y"), parse("A,X\r\nB,Y\r"));
+    }
+
+    @Test
+    public void testExtraFieldsIgnored() throws IOException {
+        assertEquals(List.of("A|X", "B|"), parse("A,X,Z\nB,\n"));
+    }
+
+    @Test
+    public void testLineLongerThanBuffer() throws IOException {
+        String longName = "N".repeat(200000);
+
+        assertEquals(List.of("A|X", longName + "|Y", "B|" + longName),
+                     parse("A,X\n" + longName + ",Y\nB," + longName));
+    }
+
+    @Test
+    public void testLinesAcrossBufferBoundaries() throws IOException {
+        StringBuilder text = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+
+        // Lines of varied lengths so that some are split between two reads
+        for (int i = 0; i < 20000; i++) {
+            String character = "C" + i % 700;
+            String book = "B" + (i * 7919) % 1000;
+
+            text.append(character).append(',').append(book).append(i % 3 == 0 ? "\r\n" : "\n");
+            expected.add(character + "|" + book);
+        }
+
+        assertEquals(expected, parse(text.toString()));
+    }
+
+    @Test
+    public void testNonAsciiNames() throws IOException {
+        assertEquals(List.of("\u00c9LODIE|\u65e5\u672c", "Z\u00dcRICH|\u65e5\u672c"),
+                     parse("\u00c9LODIE,\u65e5\u672c\nZ\u00dcRICH,\u65e5\u672c\n"));
+    }
+
+    @Test
+    public void testRepeatedNamesAreShared() throws IOException {
+        List<String> books = new ArrayList<>();
+
+        // More distinct names than the initial capacity of the name table
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            text.append("C").append(i).append(",BOOK\n");
+        }
+
+        MarvelParser.parseAppearances(new ByteArrayInputStream(text.toString().getBytes(StandardCharsets.UTF_8)),
+                                      (character, book) -> books.add(book));
+
+        assertEquals(5000, books.size());
+        for (String book : books) {
+            assertSame(books.get(0), book);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLineWithoutComma() throws IOException {
+        parse("A,X\nB\n");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingFile() {
+        MarvelParser.parseAppearances("missing.csv", (character, book) -> { });
+    }
+
+    @Test
+    public void testSameAsParseData() {
+        for (String file : List.of("marvel.csv", "small.csv", "smallWithDuplicates.csv", "staffSuperheroes.csv")) {
+            Map<String, List<String>> streamed = new HashMap<>();
+
+            MarvelParser.parseAppearances(file, (character, book) ->
+                    streamed.computeIfAbsent(book, b -> new ArrayList<>()).add(character));
+
+            assertEquals(MarvelParser.parseData(file), streamed);
+        }
+    }
+}
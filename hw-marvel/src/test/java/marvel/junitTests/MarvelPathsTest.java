@@ -0,0 +1,178 @@
+package marvel.junitTests;
+
+import graph.Graph;
+import marvel.MarvelPaths;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MarvelPathsTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /**
+     * Builds a graph of layers of width nodes each, where every node of a layer has an edge to
+     * every node of the next layer under each of labels labels, added in a shuffled order, so
+     * that there are width^(layers - 2) * labels^(layers - 1) shortest paths from the only node
+     * of the first layer to the only node of the last
+     */
+    private static Graph<String, String> layeredGraph(int layers, int width, int labels, long seed) {
+        Graph<String, String> graph = new Graph<>();
+        Random random = new Random(seed);
+
+        graph.addNode("SRC");
+        graph.addNode("DST");
+
+        for (int layer = 1; layer < layers - 1; layer++) {
+            for (int i = 0; i < width; i++) {
+                graph.addNode(layer + "-" + (char) ('A' + random.nextInt(26)) + i);
+            }
+        }
+
+        for (int label = 0; label < labels; label++) {
+            for (String src : graph) {
+                for (String dst : graph) {
+                    if (layerOf(dst, layers) == layerOf(src, layers) + 1) {
+                        graph.addEdge("book" + random.nextInt(1000), src, dst);
+                    }
+                }
+            }
+        }
+
+        return graph;
+    }
+
+    private static int layerOf(String node, int layers) {
+        if (node.equals("SRC")) {
+            return 0;
+        }
+
+        if (node.equals("DST")) {
+            return layers - 1;
+        }
+
+        return Integer.parseInt(node.substring(0, node.indexOf('-')));
+    }
+
+    /**
+     * Builds a random multigraph in which every edge has a reverse edge with the same label,
+     * as in the Marvel graph
+     */
+    private static Graph<String, String> randomSymmetricGraph(int nodes, int edges, long seed) {
+        Graph<String, String> graph = new Graph<>();
+        Random random = new Random(seed);
+
+        for (int i = 0; i < nodes; i++) {
+            graph.addNode("C" + i);
+        }
+
+        for (int i = 0; i < edges; i++) {
+            String label = "B" + random.nextInt(5);
+            String src = "C" + random.nextInt(nodes);
+            String dst = "C" + random.nextInt(nodes);
+
+            graph.addEdge(label, src, dst);
+            graph.addEdge(label, dst, src);
+        }
+
+        return graph;
+    }
+
+    @Test
+    public void testTiedShortestPaths() {
+        for (long seed = 0; seed < 20; seed++) {
+            Graph<String, String> graph = layeredGraph(5, 4, 3, seed);
+            List<Graph.Edge<String, String>> expected = MarvelPaths.findPath(graph, "SRC", "DST");
+
+            assertEquals(4, expected.size());
+            assertEquals(expected, MarvelPaths.findPathBidirectional(graph, "SRC", "DST"));
+            assertEquals(MarvelPaths.findPath(graph, "DST", "SRC"),
+                         MarvelPaths.findPathBidirectional(graph, "DST", "SRC"));
+        }
+    }
+
+    @Test
+    public void testTiedPathsMeetingInTheMiddle() {
+        // Even and odd lengths make the two frontiers meet at a node and across an edge
+        for (int layers = 2; layers <= 7; layers++) {
+            Graph<String, String> graph = layeredGraph(layers, 3, 2, layers);
+
+            assertEquals(MarvelPaths.findPath(graph, "SRC", "DST"),
+                         MarvelPaths.findPathBidirectional(graph, "SRC", "DST"));
+        }
+    }
+
+    @Test
+    public void testRandomGraphsAgreeWithFindPath() {
+        for (long seed = 0; seed < 50; seed++) {
+            Graph<String, String> graph = randomSymmetricGraph(30, 40, seed);
+
+            for (String src : graph) {
+                for (String dst : graph) {
+                    assertEquals(MarvelPaths.findPath(graph, src, dst),
+                                 MarvelPaths.findPathBidirectional(graph, src, dst));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDirectedGraphsAgreeWithFindPath() {
+        Random random = new Random(0);
+
+        for (int trial = 0; trial < 50; trial++) {
+            Graph<String, String> graph = new Graph<>();
+
+            for (int i = 0; i < 15; i++) {
+                graph.addNode("C" + i);
+            }
+
+            for (int i = 0; i < 30; i++) {
+                graph.addEdge("B" + random.nextInt(3), "C" + random.nextInt(15), "C" + random.nextInt(15));
+            }
+
+            for (String src : graph) {
+                for (String dst : graph) {
+                    assertEquals(MarvelPaths.findPath(graph, src, dst),
+                                 MarvelPaths.findPathBidirectional(graph, src, dst));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPathToSelf() {
+        Graph<String, String> graph = layeredGraph(3, 2, 2, 0);
+
+        assertEquals(List.of(), MarvelPaths.findPathBidirectional(graph, "SRC", "SRC"));
+        assertEquals(MarvelPaths.findPath(graph, "SRC", "SRC"),
+                     MarvelPaths.findPathBidirectional(graph, "SRC", "SRC"));
+    }
+
+    @Test
+    public void testUnreachableDst() {
+        Graph<String, String> graph = layeredGraph(4, 2, 1, 0);
+        graph.addNode("ALONE");
+
+        assertNull(MarvelPaths.findPathBidirectional(graph, "SRC", "ALONE"));
+        assertNull(MarvelPaths.findPathBidirectional(graph, "ALONE", "SRC"));
+
+        // Edges only go from SRC towards DST
+        assertNull(MarvelPaths.findPath(graph, "DST", "SRC"));
+        assertNull(MarvelPaths.findPathBidirectional(graph, "DST", "SRC"));
+    }
+
+    @Test
+    public void testUnknownNodes() {
+        Graph<String, String> graph = layeredGraph(3, 2, 1, 0);
+
+        assertNull(MarvelPaths.findPath(graph, "SRC", "NOBODY"));
+        assertNull(MarvelPaths.findPathBidirectional(graph, "SRC", "NOBODY"));
+        assertNull(MarvelPaths.findPathBidirectional(graph, "NOBODY", "DST"));
+    }
+}
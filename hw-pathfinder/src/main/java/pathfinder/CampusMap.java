@@ -12,15 +12,21 @@
 package pathfinder;
 
 import graph.Graph;
+import graph.GraphStats;
+import graph.StronglyConnectedComponents;
+import graph.WeightedGraph;
 import pathfinder.datastructures.Path;
 import pathfinder.datastructures.Point;
 import pathfinder.parser.CampusBuilding;
 import pathfinder.parser.CampusPath;
 import pathfinder.parser.CampusPathsParser;
 
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * CampusMap is an immutable model of buildings around UW campus.
@@ -30,25 +36,31 @@ import java.util.Map;
 public class CampusMap implements ModelAPI {
     public static final boolean DEBUG = false;
 
-    private final Graph<Point, Double> campusMap;
+    private final WeightedGraph<Point> campusMap;
     private final Map<String, CampusBuilding> campusBuildings;
+    private final Map<String, Set<String>> reachableBuildings;
+    private final GraphStats campusStats;
 
     // Abstraction Function:
-    // A graph of points as coordinates of paths leading to buildings and
-    // doubles as distances between points. Points of buildings are amongst
+    // A weighted graph of points as coordinates of paths leading to buildings
+    // and doubles as distances between points. Points of buildings are amongst
     // these points, but use a map of key/value pairs where keys are short
     // names of buildings and values are campus buildings to identify them
-    // with their point in the graph
+    // with their point in the graph. reachableBuildings maps the short name of
+    // each building to the short names of the buildings its point has a path to.
+    // campusStats summarizes the graph of paths campusMap was built from
 
     // Rep Invariant:
     // campusMap != null &&
     // campusBuildings != null &&
     // campusMap doesn't contain null points
-    // campusMap doesn't contain null distances
     // campusMap doesn't contain negative distances
     // campusBuildings doesn't contain null short names
     // campusBuildings doesn't contain null campus buildings
     // campusBuildings doesn't contain duplicate short names
+    // reachableBuildings != null &&
+    // reachableBuildings.keySet().equals(campusBuildings.keySet()) &&
+    // campusStats != null
 
     /**
      * Checks that the rep is maintained
@@ -56,14 +68,18 @@ public class CampusMap implements ModelAPI {
     private void checkRep() {
         assert campusMap != null;
         assert campusBuildings != null;
+        assert reachableBuildings != null;
+        assert campusStats != null;
 
         if (DEBUG) {
+            assert reachableBuildings.keySet().equals(campusBuildings.keySet());
+
             for (Point point : campusMap) {
                 assert point != null;
+            }
 
-                for (Graph.Edge<Point, Double> edge : campusMap.getOutgoingEdges(point)) {
-                    assert edge.getLabel() >= 0;
-                }
+            for (int k = 0; k < campusMap.edgeCount(); k++) {
+                assert campusMap.edgeWeight(k) >= 0;
             }
 
             for (String shortName : campusBuildings.keySet()) {
@@ -78,41 +94,115 @@ public class CampusMap implements ModelAPI {
      * @spec.effects Constructs a new CampusMap
      */
     public CampusMap() {
-        campusMap = new Graph<>();
-        campusBuildings = new HashMap<>();
+        this(CampusPathsParser.parseCampusBuildings("campus_buildings.csv"),
+             CampusPathsParser.parseCampusPaths("campus_paths.csv"));
+    }
 
-        List<CampusBuilding> buildings = CampusPathsParser.parseCampusBuildings("campus_buildings.csv");
-        List<CampusPath> paths = CampusPathsParser.parseCampusPaths("campus_paths.csv");
+    /**
+     * @param buildings the buildings of the campus
+     * @param paths the paths between points of the campus
+     * @spec.requires buildings != null && paths != null && no two buildings have
+     * the same short name && no path has a negative distance
+     * @spec.effects Constructs a new CampusMap of buildings and paths
+     */
+    public CampusMap(List<CampusBuilding> buildings, List<CampusPath> paths) {
+        campusBuildings = new HashMap<>();
 
         // Inv: campusBuildings contains all buildings from 0 to i-1
         for (CampusBuilding building : buildings) {
             campusBuildings.put(building.getShortName(), building);
         }
 
-        populateCampusMap(paths);
+        Graph<Point, Double> campusGraph = buildCampusGraph(paths);
+
+        campusMap = new WeightedGraph<>(campusGraph);
+        reachableBuildings = findReachableBuildings(campusGraph, campusBuildings);
+        campusStats = campusGraph.stats();
 
         checkRep();
     }
 
     /**
-     * Populates the map with edge data of paths between buildings
+     * Builds a graph of the paths between buildings
      *
      * @param paths data of the edges between buildings
-     * @spec.effects populates the map with paths
+     * @return a graph of the points and distances of paths
      */
-    private void populateCampusMap(List<CampusPath> paths) {
-        // Inv: campusMap contains all points of coordinates and
+    private static Graph<Point, Double> buildCampusGraph(List<CampusPath> paths) {
+        Graph<Point, Double> campusGraph = new Graph<>();
+
+        // Inv: campusGraph contains all points of coordinates and
         // edges between points of all paths from 0 to i-1
         for (CampusPath path : paths) {
             Point src = new Point(path.getX1(), path.getY1());
             Point dst = new Point(path.getX2(), path.getY2());
 
-            campusMap.addNode(src);
-            campusMap.addNode(dst);
+            campusGraph.addNode(src);
+            campusGraph.addNode(dst);
+
+            campusGraph.addEdge(path.getDistance(), src, dst);
+        }
+
+        return campusGraph;
+    }
+
+    /**
+     * Finds the buildings that each building has a path to, from the strongly connected
+     * components of the graph of paths
+     *
+     * @param campusGraph the graph of the points and distances of paths
+     * @param buildings a map of short names of buildings to buildings
+     * @return a map of the short name of each building to the short names of the buildings
+     * that have a path to them from it
+     */
+    private static Map<String, Set<String>> findReachableBuildings(Graph<Point, Double> campusGraph,
+                                                                   Map<String, CampusBuilding> buildings) {
+        StronglyConnectedComponents<Point> components = new StronglyConnectedComponents<>(campusGraph);
+        Map<String, Integer> componentOf = new HashMap<>();
+
+        // Inv: componentOf contains the components of the points of all buildings from 0 to i-1
+        // that are on a path; a building on no path has no component
+        for (CampusBuilding building : buildings.values()) {
+            Point point = new Point(building.getX(), building.getY());
+
+            if (campusGraph.containsNode(point)) {
+                componentOf.put(building.getShortName(), components.componentOf(point));
+            }
+        }
+
+        Map<String, Set<String>> reachable = new HashMap<>();
+
+        // Inv: reachable contains the reachable buildings of all buildings from 0 to i-1
+        for (String start : buildings.keySet()) {
+            Set<String> ends = new HashSet<>();
+            ends.add(start);
+
+            if (componentOf.containsKey(start)) {
+                BitSet reached = components.reachableComponents(componentOf.get(start));
 
-            campusMap.addEdge(path.getDistance(), src, dst);
+                // Inv: ends contains the buildings from 0 to j-1 whose component is reached
+                for (String end : componentOf.keySet()) {
+                    if (reached.get(componentOf.get(end))) {
+                        ends.add(end);
+                    }
+                }
+            }
+
+            reachable.put(start, ends);
         }
 
+        return reachable;
+    }
+
+    /**
+     * Returns the statistics of the graph of paths this was built from
+     *
+     * @return the node, edge and degree counts and estimated memory use of the graph of paths
+     */
+    public GraphStats graphStats() {
+        checkRep();
+
+        return campusStats;
     }
 
     @Override
@@ -169,12 +259,18 @@ public class CampusMap implements ModelAPI {
             throw new IllegalArgumentException();
         }
 
+        if (!reachableBuildings.get(startShortName).contains(endShortName)) {
+            checkRep();
+            return null;
+        }
+
         Point src = new Point(campusBuildings.get(startShortName).getX(),
                               campusBuildings.get(startShortName).getY());
         Point dst = new Point(campusBuildings.get(endShortName).getX(),
                               campusBuildings.get(endShortName).getY());
 
-        Path<Point> path = PathFinderPaths.findPath(campusMap, src, dst);
+        // A building on no path has no point in campusMap to search from, but has a path to itself
+        Path<Point> path = src.equals(dst) ? new Path<>(src) : PathFinderPaths.findPath(campusMap, src, dst);
 
         checkRep();
 
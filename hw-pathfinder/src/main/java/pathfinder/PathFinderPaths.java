@@ -1,6 +1,9 @@
 package pathfinder;
 
 import graph.Graph;
+import graph.GraphView;
+import graph.NodeDictionary;
+import graph.WeightedGraph;
 import pathfinder.datastructures.Path;
 
 import java.util.*;
@@ -23,7 +26,7 @@ public class PathFinderPaths {
      * @spec.requires no negative edges in graph && graph != null && src != null &&
      * dst != null && src is in graph && dst is in graph
      */
-    public static <N> Path<N> findPath(Graph<N, Double> graph, N src, N dst) {
+    public static <N> Path<N> findPath(GraphView<N, Double> graph, N src, N dst) {
         // Uses Dijkstra's shortest path algorithm
 
         PriorityQueue<Path<N>> active = new PriorityQueue<>(new Comparator<>() {
@@ -33,7 +36,11 @@ public class PathFinderPaths {
             }
         });
 
-        Set<N> finished = new HashSet<>();
+        // Indexed by node id when graph has ids, so marking a node finished allocates no set
+        // entry; finding the id of a node still hashes it once per lookup
+        NodeDictionary<N> nodeIds = graph.nodeIds();
+        boolean[] finished = nodeIds == null ? null : new boolean[nodeIds.size()];
+        Set<N> finishedNodes = nodeIds == null ? new HashSet<>() : null;
 
         active.add(new Path<>(src));
 
@@ -47,22 +54,234 @@ public class PathFinderPaths {
                 return minPath;
             }
 
-            if (finished.contains(minDest)) {
+            if (isFinished(minDest, nodeIds, finished, finishedNodes)) {
                 continue;
             }
 
             // Inv: All edges from 0 to j-1 have had their minimum-cost
             // path from src examined
-            for (Graph.Edge<N, Double> edge : graph.getOutgoingEdges(minDest)) {
-                if (!finished.contains(edge.getDst())) {
+            for (Graph.Edge<N, Double> edge : graph.outgoingEdges(minDest)) {
+                if (!isFinished(edge.getDst(), nodeIds, finished, finishedNodes)) {
                     Path<N> newPath = minPath.extend(edge.getDst(), edge.getLabel());
                     active.add(newPath);
                 }
             }
 
-            finished.add(minDest);
+            if (nodeIds == null) {
+                finishedNodes.add(minDest);
+            } else {
+                finished[nodeIds.getId(minDest)] = true;
+            }
         }
 
         return null;
     }
+
+    /**
+     * Returns whether the least-cost path to node has been found
+     *
+     * @param node the node to check
+     * @param nodeIds the ids of the nodes of the graph, or null if it has none
+     * @param finished whether each node is finished, indexed by id, if nodeIds != null
+     * @param finishedNodes the finished nodes, if nodeIds == null
+     * @param <N> the type of nodes
+     * @return true if and only if node is finished
+     */
+    private static <N> boolean isFinished(N node, NodeDictionary<N> nodeIds,
+                                          boolean[] finished, Set<N> finishedNodes) {
+        return nodeIds == null ? finishedNodes.contains(node) : finished[nodeIds.getId(node)];
+    }
+
+    /**
+     * Finds the least-cost path from src to dst, reading edge weights as primitive doubles
+     *
+     * @param graph the graph to search for a path
+     * @param src the source node to start the path
+     * @param dst the destination node to end the path
+     * @param <N> the type of nodes
+     * @return the least-cost path from src to dst, or null if no path exists
+     * @spec.requires no negative edges in graph && graph != null && src != null &&
+     * dst != null && src is in graph && dst is in graph
+     */
+    public static <N> Path<N> findPath(WeightedGraph<N> graph, N src, N dst) {
+        // Uses Dijkstra's shortest path algorithm on node ids, with the best known cost
+        // and last edge of each node kept in arrays instead of in Path objects
+
+        int n = graph.nodeCount();
+        double[] cost = new double[n];
+        int[] lastEdge = new int[n];
+        int[] previous = new int[n];
+        boolean[] finished = new boolean[n];
+        IdHeap active = new IdHeap();
+
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+
+        int srcId = graph.getId(src);
+        int dstId = graph.getId(dst);
+
+        cost[srcId] = 0;
+        previous[srcId] = -1;
+        active.add(srcId, 0);
+
+        // Inv: All nodes marked finished have their least cost from src in cost,
+        // and every other node reached so far has a queued entry with its cost
+        while (!active.isEmpty()) {
+            int minDest = active.remove();
+
+            if (minDest == dstId) {
+                return buildPath(graph, src, dstId, lastEdge, previous);
+            }
+
+            if (finished[minDest]) {
+                continue;
+            }
+
+            finished[minDest] = true;
+
+            // Inv: All edges from edgeStart(minDest) to k-1 have been relaxed
+            for (int k = graph.edgeStart(minDest); k < graph.edgeEnd(minDest); k++) {
+                int target = graph.edgeTarget(k);
+                double newCost = cost[minDest] + graph.edgeWeight(k);
+
+                if (!finished[target] && newCost < cost[target]) {
+                    cost[target] = newCost;
+                    lastEdge[target] = k;
+                    previous[target] = minDest;
+                    active.add(target, newCost);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Builds the Path from src that follows the recorded last edges back from the node with dstId
+     *
+     * @param graph the graph that was searched
+     * @param src the source node of the path
+     * @param dstId the id of the destination node of the path
+     * @param lastEdge the index of the last edge of the best path to each node
+     * @param previous the id of the node before each node on its best path, or -1 for src
+     * @param <N> the type of nodes
+     * @return the path from src to the node with dstId
+     */
+    private static <N> Path<N> buildPath(WeightedGraph<N> graph, N src, int dstId,
+                                         int[] lastEdge, int[] previous) {
+        List<Integer> edges = new ArrayList<>();
+
+        // Inv: edges holds the last edges of the path from id to dstId, in reverse order
+        for (int id = dstId; previous[id] != -1; id = previous[id]) {
+            edges.add(lastEdge[id]);
+        }
+
+        Path<N> path = new Path<>(src);
+
+        // Inv: path is the path from src through the edges from the end of edges to i+1
+        for (int i = edges.size() - 1; i >= 0; i--) {
+            int edge = edges.get(i);
+            path = path.extend(graph.getNode(graph.edgeTarget(edge)), graph.edgeWeight(edge));
+        }
+
+        return path;
+    }
+
+    /**
+     * IdHeap is a mutable binary min-heap of node ids keyed by primitive double costs.
+     * An id may be added more than once; stale entries are skipped by the caller.
+     */
+    private static final class IdHeap {
+        private int[] ids;
+        private double[] keys;
+        private int size;
+
+        // Abstraction Function:
+        // The heap holds the pairs (ids[i], keys[i]) for i from 0 to size-1
+        //
+        // Rep Invariant:
+        // ids.length == keys.length && size <= ids.length &&
+        // keys[(i-1)/2] <= keys[i] for all 0 < i < size
+
+        /**
+         * @spec.effects Constructs a new empty IdHeap
+         */
+        IdHeap() {
+            ids = new int[16];
+            keys = new double[16];
+            size = 0;
+        }
+
+        /**
+         * Returns whether this is empty
+         *
+         * @return true if and only if this holds no ids
+         */
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Adds id with key to this
+         *
+         * @param id the id to add
+         * @param key the cost of id
+         * @spec.modifies this
+         */
+        void add(int id, double key) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+
+            int i = size++;
+
+            // Inv: the heap order holds everywhere except possibly between i and its parent
+            while (i > 0 && keys[(i - 1) / 2] > key) {
+                ids[i] = ids[(i - 1) / 2];
+                keys[i] = keys[(i - 1) / 2];
+                i = (i - 1) / 2;
+            }
+
+            ids[i] = id;
+            keys[i] = key;
+        }
+
+        /**
+         * Removes an id with the least key from this
+         *
+         * @return an id with the least key
+         * @spec.requires !isEmpty()
+         * @spec.modifies this
+         */
+        int remove() {
+            int result = ids[0];
+            size--;
+
+            int id = ids[size];
+            double key = keys[size];
+            int i = 0;
+
+            // Inv: the heap order holds everywhere except possibly between i and its children
+            while (2 * i + 1 < size) {
+                int child = 2 * i + 1;
+
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+
+                if (keys[child] >= key) {
+                    break;
+                }
+
+                ids[i] = ids[child];
+                keys[i] = keys[child];
+                i = child;
+            }
+
+            ids[i] = id;
+            keys[i] = key;
+
+            return result;
+        }
+    }
 }
@@ -0,0 +1,95 @@
+package pathfinder.junitTests;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import pathfinder.CampusMap;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusBuilding;
+import pathfinder.parser.CampusPath;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestCampusMap {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    private CampusMap campus;
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    // A and B are joined both ways, B has a one-way path to C, and D and E are joined both
+    // ways but to nothing else, so {A, B}, {C} and {D, E} are strongly connected components.
+    // F is on no path at all
+    @Before
+    public void setUp() {
+        List<CampusBuilding> buildings = List.of(
+                new CampusBuilding("A", "Building A", 0, 0),
+                new CampusBuilding("B", "Building B", 1, 0),
+                new CampusBuilding("C", "Building C", 2, 0),
+                new CampusBuilding("D", "Building D", 5, 5),
+                new CampusBuilding("E", "Building E", 6, 5),
+                new CampusBuilding("F", "Building F", 9, 9));
+        List<CampusPath> paths = List.of(
+                new CampusPath(0, 0, 1, 0, 1.0),
+                new CampusPath(1, 0, 0, 0, 1.0),
+                new CampusPath(1, 0, 2, 0, 2.0),
+                new CampusPath(5, 5, 6, 5, 1.5),
+                new CampusPath(6, 5, 5, 5, 1.5));
+
+        campus = new CampusMap(buildings, paths);
+    }
+
+    @Test
+    public void testPathWithinComponent() {
+        Path<Point> path = campus.findShortestPath("B", "A");
+
+        assertEquals(1.0, path.getCost(), EPSILON);
+        assertEquals(new Point(0, 0), path.getEnd());
+    }
+
+    @Test
+    public void testPathAcrossComponents() {
+        Path<Point> path = campus.findShortestPath("A", "C");
+
+        assertEquals(3.0, path.getCost(), EPSILON);
+        assertEquals(new Point(2, 0), path.getEnd());
+    }
+
+    @Test
+    public void testDstInOtherComponent() {
+        assertNull(campus.findShortestPath("A", "D"));
+        assertNull(campus.findShortestPath("E", "B"));
+    }
+
+    @Test
+    public void testDstReachableInOneDirection() {
+        assertNotNull(campus.findShortestPath("B", "C"));
+        assertNull(campus.findShortestPath("C", "B"));
+        assertNull(campus.findShortestPath("C", "A"));
+    }
+
+    @Test
+    public void testBuildingOnNoPath() {
+        assertNull(campus.findShortestPath("A", "F"));
+        assertNull(campus.findShortestPath("F", "A"));
+        assertEquals(0.0, campus.findShortestPath("F", "F").getCost(), EPSILON);
+    }
+
+    @Test
+    public void testPathToSelf() {
+        Path<Point> path = campus.findShortestPath("C", "C");
+
+        assertEquals(0.0, path.getCost(), EPSILON);
+        assertEquals(new Point(2, 0), path.getStart());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownBuilding() {
+        campus.findShortestPath("A", "Z");
+    }
+}
@@ -0,0 +1,189 @@
+package pathfinder.junitTests;
+
+import graph.Graph;
+import graph.WeightedGraph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import pathfinder.PathFinderPaths;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusBuilding;
+import pathfinder.parser.CampusPath;
+import pathfinder.parser.CampusPathsParser;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestPathFinderPaths {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /**
+     * Asserts that path is a path from src to dst along edges of graph whose cost is the sum
+     * of the weights of those edges
+     */
+    private static <N> void assertValidPath(Graph<N, Double> graph, Path<N> path, N src, N dst) {
+        assertEquals(src, path.getStart());
+        assertEquals(dst, path.getEnd());
+
+        double cost = 0;
+        for (Path<N>.Segment segment : path) {
+            assertTrue(graph.containsEdge(segment.getCost(), segment.getStart(), segment.getEnd()));
+            cost += segment.getCost();
+        }
+
+        assertEquals(cost, path.getCost(), EPSILON);
+    }
+
+    /**
+     * Asserts that findPath on a WeightedGraph of graph finds a path of the same cost as the
+     * Graph-based findPath, or no path when it finds none
+     */
+    private static <N> void assertSameCost(Graph<N, Double> graph, WeightedGraph<N> weighted, N src, N dst) {
+        Path<N> expected = PathFinderPaths.findPath(graph, src, dst);
+        Path<N> actual = PathFinderPaths.findPath(weighted, src, dst);
+
+        if (expected == null) {
+            assertNull(actual);
+        } else {
+            assertNotNull(actual);
+            assertEquals(expected.getCost(), actual.getCost(), EPSILON);
+            assertValidPath(graph, actual, src, dst);
+        }
+    }
+
+    // a -> b -> d and a -> c -> d both cost 2, a -> d costs 3
+    private static Graph<String, Double> diamond() {
+        Graph<String, Double> graph = new Graph<>();
+
+        for (String node : List.of("a", "b", "c", "d", "e")) {
+            graph.addNode(node);
+        }
+
+        graph.addEdge(1.0, "a", "b");
+        graph.addEdge(1.0, "a", "c");
+        graph.addEdge(1.0, "b", "d");
+        graph.addEdge(1.0, "c", "d");
+        graph.addEdge(3.0, "a", "d");
+        graph.addEdge(0.5, "e", "a");
+
+        return graph;
+    }
+
+    @Test
+    public void testEqualCostTies() {
+        Graph<String, Double> graph = diamond();
+        Path<String> path = PathFinderPaths.findPath(new WeightedGraph<>(graph), "a", "d");
+
+        assertEquals(2.0, path.getCost(), EPSILON);
+        assertValidPath(graph, path, "a", "d");
+        assertSameCost(graph, new WeightedGraph<>(graph), "e", "d");
+    }
+
+    @Test
+    public void testZeroCostTies() {
+        Graph<String, Double> graph = new Graph<>();
+
+        for (String node : List.of("a", "b", "c")) {
+            graph.addNode(node);
+        }
+
+        graph.addEdge(0.0, "a", "b");
+        graph.addEdge(0.0, "b", "c");
+        graph.addEdge(0.0, "a", "c");
+
+        Path<String> path = PathFinderPaths.findPath(new WeightedGraph<>(graph), "a", "c");
+
+        assertEquals(0.0, path.getCost(), EPSILON);
+        assertValidPath(graph, path, "a", "c");
+    }
+
+    @Test
+    public void testUnreachableDst() {
+        Graph<String, Double> graph = diamond();
+        WeightedGraph<String> weighted = new WeightedGraph<>(graph);
+
+        // e only has an outgoing edge
+        assertNull(PathFinderPaths.findPath(weighted, "a", "e"));
+        assertNull(PathFinderPaths.findPath(weighted, "d", "a"));
+        assertNull(PathFinderPaths.findPath(graph, "d", "a"));
+    }
+
+    @Test
+    public void testPathToSelf() {
+        Graph<String, Double> graph = diamond();
+        Path<String> path = PathFinderPaths.findPath(new WeightedGraph<>(graph), "b", "b");
+
+        assertEquals(0.0, path.getCost(), EPSILON);
+        assertEquals("b", path.getStart());
+        assertFalse(path.iterator().hasNext());
+        assertEquals(PathFinderPaths.findPath(graph, "b", "b"), path);
+    }
+
+    @Test
+    public void testCheaperLongerPath() {
+        Graph<String, Double> graph = diamond();
+        graph.addEdge(0.25, "a", "d");
+
+        Path<String> path = PathFinderPaths.findPath(new WeightedGraph<>(graph), "a", "d");
+
+        assertEquals(0.25, path.getCost(), EPSILON);
+        assertEquals(PathFinderPaths.findPath(graph, "a", "d"), path);
+    }
+
+    @Test
+    public void testRandomGraphsAgreeWithGraphFindPath() {
+        Random random = new Random(0);
+
+        for (int trial = 0; trial < 30; trial++) {
+            Graph<Integer, Double> graph = new Graph<>();
+
+            for (int i = 0; i < 20; i++) {
+                graph.addNode(i);
+            }
+
+            // Small integer weights make many paths tie
+            for (int i = 0; i < 60; i++) {
+                graph.addEdge((double) random.nextInt(4), random.nextInt(20), random.nextInt(20));
+            }
+
+            WeightedGraph<Integer> weighted = new WeightedGraph<>(graph);
+
+            for (int src = 0; src < 20; src++) {
+                for (int dst = 0; dst < 20; dst++) {
+                    assertSameCost(graph, weighted, src, dst);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCampusAgreesWithGraphFindPath() {
+        Graph<Point, Double> graph = new Graph<>();
+
+        for (CampusPath path : CampusPathsParser.parseCampusPaths("campus_paths.csv")) {
+            Point src = new Point(path.getX1(), path.getY1());
+            Point dst = new Point(path.getX2(), path.getY2());
+
+            graph.addNode(src);
+            graph.addNode(dst);
+            graph.addEdge(path.getDistance(), src, dst);
+        }
+
+        WeightedGraph<Point> weighted = new WeightedGraph<>(graph);
+        List<CampusBuilding> buildings = CampusPathsParser.parseCampusBuildings("campus_buildings.csv");
+
+        for (int i = 0; i < buildings.size(); i += 7) {
+            Point src = new Point(buildings.get(i).getX(), buildings.get(i).getY());
+
+            for (CampusBuilding building : buildings) {
+                assertSameCost(graph, weighted, src, new Point(building.getX(), building.getY()));
+            }
+        }
+    }
+}